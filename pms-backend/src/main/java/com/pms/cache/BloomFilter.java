@@ -0,0 +1,78 @@
+package com.pms.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings, safe for concurrent adds and reads. Sized at ten bits per
+ * expected entry with seven hashes, which gives about 1% false positives at capacity; it never
+ * gives a false negative. Bits are set with CAS, so adding never takes a lock.
+ *
+ * The seed changes which values collide, so a filter rebuilt with a fresh seed does not keep
+ * giving the same false positive.
+ */
+public final class BloomFilter {
+    private static final int HASHES = 7;
+    private static final int BITS_PER_ENTRY = 10;
+
+    private final int capacity;
+    private final long seed;
+    private final AtomicLongArray words;
+    private final int bits;
+
+    public BloomFilter(int capacity) {
+        this(capacity, 0);
+    }
+
+    public BloomFilter(int capacity, long seed) {
+        this.capacity = capacity;
+        this.seed = seed;
+        this.bits = (int) Math.min(Integer.MAX_VALUE, Math.max(64L, (long) capacity * BITS_PER_ENTRY));
+        this.words = new AtomicLongArray((int) ((bits + 63L) / 64));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void add(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with a 64-bit mix
+    private long hash64(String value) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,255 @@
+package com.pms.cache;
+
+import com.pms.entity.BudgetCentreProjectCode;
+import com.pms.repository.BudgetCentreProjectCodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of bmsgeneric.budgetcentreprojectcodes for validation and name resolution.
+ *
+ * Rows are addressed by a packed long of the two-character centre project code and the
+ * one-character centre project, held in a sorted primitive array so that a lookup is a binary
+ * search and all rows of one centre code sit next to each other. Short names map back to
+ * their row. The index is loaded on first use and kept current by write-through from
+ * {@code BudgetCentreProjectCodeService}; updates are applied once the writing transaction commits.
+ * Returned entities are shared and must not be modified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetCentreProjectCodeIndex {
+
+    private final BudgetCentreProjectCodeRepository budgetCentreProjectCodeRepository;
+
+    private volatile Snapshot snapshot;
+
+    public Optional<BudgetCentreProjectCode> find(String centreProjectCode, String centreProject) {
+        if (!isValidKey(centreProjectCode, centreProject)) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot();
+        int i = Arrays.binarySearch(current.keys, pack(centreProjectCode, centreProject));
+        return i >= 0 ? Optional.of(current.rows[i]) : Optional.empty();
+    }
+
+    // All rows sharing a centre project code, ordered by centre project
+    public List<BudgetCentreProjectCode> findByCentreProjectCode(String centreProjectCode) {
+        if (!isValidKey(centreProjectCode, "")) {
+            return List.of();
+        }
+        Snapshot current = snapshot();
+        int from = current.lowerBound(pack(centreProjectCode, ""));
+        int to = current.lowerBound(pack(centreProjectCode, "") + 0x10000L);
+        return Collections.unmodifiableList(Arrays.asList(current.rows).subList(from, to));
+    }
+
+    public Optional<BudgetCentreProjectCode> findByShortName(String shortName) {
+        if (shortName == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot();
+        Integer i = current.byShortName.get(shortName);
+        return i != null ? Optional.of(current.rows[i]) : Optional.empty();
+    }
+
+    // True when at least one row of the centre project code is active today
+    public boolean isActiveCentre(String centreProjectCode) {
+        for (BudgetCentreProjectCode row : findByCentreProjectCode(centreProjectCode)) {
+            if (row.isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Centre project code -> full name; the active row wins when a code has several
+    public Map<String, String> getCentreNameIndex() {
+        Snapshot current = snapshot();
+        if (!LocalDate.now().equals(current.builtOn)) {
+            current = rebuildForToday();
+        }
+        return current.centreNames;
+    }
+
+    // Write-through after a save; deferred to commit when called inside a transaction
+    public void put(BudgetCentreProjectCode row) {
+        BudgetCentreProjectCode copy = copy(row);
+        afterCommit(() -> apply(copy.getCentreProjectCode(), copy.getCentreProject(), copy));
+    }
+
+    public void remove(String centreProjectCode, String centreProject) {
+        afterCommit(() -> apply(centreProjectCode, centreProject, null));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Copy-on-write: the table is small and written rarely, so readers never lock
+    private synchronized void apply(String centreProjectCode, String centreProject, BudgetCentreProjectCode row) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Not loaded yet; the first read will see the committed row
+            return;
+        }
+        long key = pack(centreProjectCode, centreProject);
+        int i = Arrays.binarySearch(current.keys, key);
+        long[] keys;
+        BudgetCentreProjectCode[] rows;
+        if (row == null && i < 0) {
+            return;
+        } else if (row == null) {
+            keys = new long[current.keys.length - 1];
+            rows = new BudgetCentreProjectCode[keys.length];
+            System.arraycopy(current.keys, 0, keys, 0, i);
+            System.arraycopy(current.keys, i + 1, keys, i, keys.length - i);
+            System.arraycopy(current.rows, 0, rows, 0, i);
+            System.arraycopy(current.rows, i + 1, rows, i, rows.length - i);
+        } else if (i >= 0) {
+            keys = current.keys;
+            rows = current.rows.clone();
+            rows[i] = row;
+        } else {
+            int at = -i - 1;
+            keys = new long[current.keys.length + 1];
+            rows = new BudgetCentreProjectCode[keys.length];
+            System.arraycopy(current.keys, 0, keys, 0, at);
+            System.arraycopy(current.keys, at, keys, at + 1, current.keys.length - at);
+            System.arraycopy(current.rows, 0, rows, 0, at);
+            System.arraycopy(current.rows, at, rows, at + 1, current.rows.length - at);
+            keys[at] = key;
+            rows[at] = row;
+        }
+        replace(keys, rows);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private synchronized Snapshot load() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        List<BudgetCentreProjectCode> all = new ArrayList<>();
+        for (BudgetCentreProjectCode row : budgetCentreProjectCodeRepository.findAll()) {
+            if (isValidKey(row.getCentreProjectCode(), row.getCentreProject())) {
+                all.add(copy(row));
+            }
+        }
+        all.sort((a, b) -> Long.compare(pack(a.getCentreProjectCode(), a.getCentreProject()),
+                pack(b.getCentreProjectCode(), b.getCentreProject())));
+        long[] keys = new long[all.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = pack(all.get(i).getCentreProjectCode(), all.get(i).getCentreProject());
+        }
+        Snapshot loaded = replace(keys, all.toArray(new BudgetCentreProjectCode[0]));
+        log.debug("Loaded budget centre project code index with {} rows", keys.length);
+        return loaded;
+    }
+
+    // Active rows can change overnight, which changes which name wins
+    private synchronized Snapshot rebuildForToday() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return load();
+        }
+        return LocalDate.now().equals(current.builtOn) ? current : replace(current.keys, current.rows);
+    }
+
+    private synchronized Snapshot replace(long[] keys, BudgetCentreProjectCode[] rows) {
+        Snapshot next = new Snapshot(keys, rows);
+        snapshot = next;
+        return next;
+    }
+
+    // Detached copy, so later changes to a managed entity never leak into the index before commit
+    private static BudgetCentreProjectCode copy(BudgetCentreProjectCode row) {
+        return BudgetCentreProjectCode.builder()
+                .centreProjectCode(row.getCentreProjectCode())
+                .centreProject(row.getCentreProject())
+                .budgetCentreProjectFullName(row.getBudgetCentreProjectFullName())
+                .budgetCentreProjectShortName(row.getBudgetCentreProjectShortName())
+                .fromDate(row.getFromDate())
+                .toDate(row.getToDate())
+                .userId(row.getUserId())
+                .regStatus(row.getRegStatus())
+                .regTime(row.getRegTime())
+                .activeFlag(row.getActiveFlag())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    // Two 16-bit chars of the centre project code, then the centre project char
+    private static long pack(String centreProjectCode, String centreProject) {
+        long key = (long) centreProjectCode.charAt(0) << 32;
+        if (centreProjectCode.length() > 1) {
+            key |= (long) centreProjectCode.charAt(1) << 16;
+        }
+        if (!centreProject.isEmpty()) {
+            key |= centreProject.charAt(0);
+        }
+        return key;
+    }
+
+    private static boolean isValidKey(String centreProjectCode, String centreProject) {
+        return centreProjectCode != null && !centreProjectCode.isEmpty() && centreProjectCode.length() <= 2
+                && centreProject != null && centreProject.length() <= 1;
+    }
+
+    private static final class Snapshot {
+        final long[] keys;
+        final BudgetCentreProjectCode[] rows;
+        final Map<String, Integer> byShortName;
+        final Map<String, String> centreNames;
+        final LocalDate builtOn = LocalDate.now();
+
+        Snapshot(long[] keys, BudgetCentreProjectCode[] rows) {
+            this.keys = keys;
+            this.rows = rows;
+            Map<String, Integer> shortNames = new HashMap<>();
+            Map<String, String> names = new HashMap<>();
+            for (int i = 0; i < rows.length; i++) {
+                BudgetCentreProjectCode row = rows[i];
+                if (row.getBudgetCentreProjectShortName() != null) {
+                    shortNames.put(row.getBudgetCentreProjectShortName(), i);
+                }
+                if (row.isActive() || !names.containsKey(row.getCentreProjectCode())) {
+                    names.put(row.getCentreProjectCode(), row.getBudgetCentreProjectFullName());
+                }
+            }
+            this.byShortName = shortNames;
+            this.centreNames = Collections.unmodifiableMap(names);
+        }
+
+        // First position whose key is >= the given key
+        int lowerBound(long key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? i : -i - 1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.pms.cache;
+
+/**
+ * Published after any create / update / deactivate / delete on a lookup table.
+ * Listeners use it to drop whatever they derived from that table.
+ */
+public class LookupChangedEvent {
+    private final LookupTable table;
+
+    public LookupChangedEvent(LookupTable table) {
+        this.table = table;
+    }
+
+    public LookupTable getTable() {
+        return table;
+    }
+
+    @Override
+    public String toString() {
+        return "LookupChangedEvent{" + table + "}";
+    }
+}
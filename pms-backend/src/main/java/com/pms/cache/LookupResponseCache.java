@@ -0,0 +1,63 @@
+package com.pms.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialised GET responses of the lookup endpoints, grouped by the table they were read from.
+ * A write to a table drops every cached response for that table.
+ */
+@Component
+@Slf4j
+public class LookupResponseCache {
+
+    // Distinct path + query combinations kept per table; anything beyond is served uncached
+    private static final int MAX_ENTRIES_PER_TABLE = 256;
+
+    private final Map<LookupTable, Map<String, SerializedPayload>> responses = new EnumMap<>(LookupTable.class);
+    private final Map<LookupTable, AtomicLong> versions = new EnumMap<>(LookupTable.class);
+
+    public LookupResponseCache() {
+        for (LookupTable table : LookupTable.values()) {
+            responses.put(table, new ConcurrentHashMap<>());
+            versions.put(table, new AtomicLong());
+        }
+    }
+
+    public SerializedPayload get(LookupTable table, String key) {
+        return responses.get(table).get(key);
+    }
+
+    // Read before producing a response; pass back to put() so a write in between wins
+    public long version(LookupTable table) {
+        return versions.get(table).get();
+    }
+
+    public void put(LookupTable table, String key, long version, SerializedPayload payload) {
+        Map<String, SerializedPayload> entries = responses.get(table);
+        if (entries.size() >= MAX_ENTRIES_PER_TABLE) {
+            return;
+        }
+        entries.put(key, payload);
+        // A change landed while the response was being produced: don't keep it
+        if (versions.get(table).get() != version) {
+            entries.remove(key, payload);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLookupChanged(LookupChangedEvent event) {
+        versions.get(event.getTable()).incrementAndGet();
+        Map<String, SerializedPayload> entries = responses.get(event.getTable());
+        if (!entries.isEmpty()) {
+            log.debug("Evicting {} cached responses for {}", entries.size(), event.getTable());
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.pms.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Serves GET requests on the lookup endpoints from {@link LookupResponseCache}, writing the
+ * stored JSON (or its gzip copy) straight to the output stream. On a miss the controller runs
+ * as usual and a 200 JSON body is captured for the next caller.
+ * Runs after the security filter chain, so access rules still apply to cached responses.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LookupResponseCacheFilter extends OncePerRequestFilter {
+
+    private final LookupResponseCache cache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Typeahead queries are answered from their own index and would only churn the cache
+        return !"GET".equals(request.getMethod()) || request.getServletPath().endsWith("/search")
+                || tableFor(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LookupTable table = tableFor(request.getServletPath());
+        String key = request.getQueryString() == null
+                ? request.getServletPath()
+                : request.getServletPath() + "?" + request.getQueryString();
+
+        SerializedPayload cached = cache.get(table, key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long version = cache.version(table);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && isJson(wrapper.getContentType())
+                && wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+            cache.put(table, key, version, SerializedPayload.of(wrapper.getContentAsByteArray()));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void write(SerializedPayload payload, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, payload.getEtag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (payload.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = payload.getJson();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = payload.getGzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    // "/project-categories/active" and "/lookups/project-categories/active" both map to PROJECT_CATEGORY
+    private static LookupTable tableFor(String servletPath) {
+        if (servletPath == null || servletPath.length() < 2) {
+            return null;
+        }
+        String path = servletPath.startsWith("/lookups/") ? servletPath.substring("/lookups".length()) : servletPath;
+        int end = path.indexOf('/', 1);
+        return LookupTable.fromPath(end < 0 ? path.substring(1) : path.substring(1, end));
+    }
+}
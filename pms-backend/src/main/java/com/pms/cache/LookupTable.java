@@ -0,0 +1,45 @@
+package com.pms.cache;
+
+/**
+ * Lookup / master tables whose contents are cached in serialised form.
+ * Services publish a {@link LookupChangedEvent} for the matching constant on every write.
+ */
+public enum LookupTable {
+    PROGRAMME_OFFICE("pmsgeneric.programmeoffice", "programme-offices"),
+    PROGRAMME_TYPE("pmsgeneric.programmetypes", "programme-types"),
+    PROJECT_CATEGORY("pmsgeneric.projectcategory", "project-categories"),
+    PROJECT_ACTIVITY("pmsgeneric.projectactivities", "project-activities"),
+    PROJECT_MILESTONE("pmsgeneric.projectmilestones", "project-milestones"),
+    PROJECT_PHASE_GENERIC("pmsgeneric.projectphases", "project-phases-generic"),
+    PROJECT_TYPE("pmsgeneric.projecttypes", "project-types"),
+    PROJECT_STATUS_CODE("pmsgeneric.projectstatuscode", "project-status-codes"),
+    SANCTIONING_AUTHORITY("pmsgeneric.sanctioningauthority", "sanctioning-authorities"),
+    BUDGET_CENTRE_PROJECT_CODE("bmsgeneric.budgetcentreprojectcodes", "budget-centre-project-codes"),
+    EMPLOYEE_DETAILS("pmsgeneric.employeedetails", "employee-details");
+
+    private final String tableName;
+    // REST resource the table is exposed under, without the leading slash
+    private final String path;
+
+    LookupTable(String tableName, String path) {
+        this.tableName = tableName;
+        this.path = path;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static LookupTable fromPath(String path) {
+        for (LookupTable table : values()) {
+            if (table.path.equals(path)) {
+                return table;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.pms.cache;
+
+import com.pms.entity.Programme;
+import com.pms.entity.ProgrammeLevel;
+import com.pms.repository.ProgrammeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The programme hierarchy held in memory as an immutable tree, for dropdowns, breadcrumbs and
+ * "what is under X" questions that need no project data.
+ *
+ * The tree is small and changes only when a lookup table or a node's parent changes, so it is
+ * rebuilt whole: {@link #invalidate()} drops it once the writing transaction commits and the
+ * next read loads it again. Readers never lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgrammeTree {
+
+    private static final Comparator<Node> ORDER = Comparator
+            .comparing((Node n) -> n.hierarchyOrder() != null ? n.hierarchyOrder() : Integer.MAX_VALUE)
+            .thenComparing(Node::name);
+
+    private final ProgrammeRepository programmeRepository;
+
+    private volatile Snapshot snapshot;
+
+    public Optional<Node> get(Long id) {
+        return Optional.ofNullable(snapshot().byId.get(id));
+    }
+
+    public Optional<Node> find(ProgrammeLevel level, String code) {
+        return Optional.ofNullable(snapshot().byCode.get(level).get(code));
+    }
+
+    public List<Node> roots() {
+        return snapshot().roots;
+    }
+
+    // Every node of one level, in hierarchy order
+    public List<Node> level(ProgrammeLevel level) {
+        return snapshot().byLevel.get(level);
+    }
+
+    // Path from the root down to the node itself
+    public List<Node> path(Long id) {
+        Snapshot current = snapshot();
+        List<Node> path = new ArrayList<>();
+        for (Node node = current.byId.get(id); node != null; node = current.byId.get(node.parentId())) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // Drop the tree now and again after commit, so no reader keeps the pre-commit shape
+    public void invalidate() {
+        snapshot = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshot = null;
+                }
+            });
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private synchronized Snapshot load() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        List<Programme> rows = programmeRepository.findAll();
+        Map<Long, List<Programme>> childRows = new HashMap<>();
+        List<Programme> rootRows = new ArrayList<>();
+        for (Programme row : rows) {
+            if (row.getParentId() == null) {
+                rootRows.add(row);
+            } else {
+                childRows.computeIfAbsent(row.getParentId(), k -> new ArrayList<>()).add(row);
+            }
+        }
+        Snapshot loaded = new Snapshot();
+        for (Programme row : rootRows) {
+            loaded.roots.add(build(row, childRows, loaded));
+        }
+        loaded.finish();
+        snapshot = loaded;
+        log.debug("Loaded programme tree with {} nodes", loaded.byId.size());
+        return loaded;
+    }
+
+    // Rows whose parent is missing are unreachable and left out
+    private Node build(Programme row, Map<Long, List<Programme>> childRows, Snapshot into) {
+        List<Node> children = new ArrayList<>();
+        for (Programme child : childRows.getOrDefault(row.getId(), List.of())) {
+            children.add(build(child, childRows, into));
+        }
+        children.sort(ORDER);
+        Node node = new Node(row.getId(), row.getLevel(), row.getCode(), row.getName(), row.getParentId(),
+                row.getHierarchyOrder(), Boolean.TRUE.equals(row.getActive()), Collections.unmodifiableList(children));
+        into.byId.put(node.id(), node);
+        into.byCode.get(node.level()).put(node.code(), node);
+        into.byLevel.get(node.level()).add(node);
+        return node;
+    }
+
+    public record Node(Long id, ProgrammeLevel level, String code, String name, Long parentId,
+                       Integer hierarchyOrder, boolean active, List<Node> children) {
+    }
+
+    private static final class Snapshot {
+        List<Node> roots = new ArrayList<>();
+        final Map<Long, Node> byId = new HashMap<>();
+        final Map<ProgrammeLevel, Map<String, Node>> byCode = new EnumMap<>(ProgrammeLevel.class);
+        final Map<ProgrammeLevel, List<Node>> byLevel = new EnumMap<>(ProgrammeLevel.class);
+
+        Snapshot() {
+            for (ProgrammeLevel level : ProgrammeLevel.values()) {
+                byCode.put(level, new HashMap<>());
+                byLevel.put(level, new ArrayList<>());
+            }
+        }
+
+        void finish() {
+            roots.sort(ORDER);
+            roots = Collections.unmodifiableList(roots);
+            byLevel.replaceAll((level, nodes) -> {
+                nodes.sort(ORDER);
+                return Collections.unmodifiableList(nodes);
+            });
+        }
+    }
+}
@@ -4,10 +4,13 @@ import com.pms.dto.ApiResponse;
 import com.pms.dto.AuthResponse;
 import com.pms.dto.LoginRequest;
 import com.pms.dto.SignupRequest;
+import com.pms.security.LoginRejectedException;
 import com.pms.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,21 +26,56 @@ public class AuthController {
     @PostMapping("/signup")
     public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignupRequest request) {
         log.info("Signup request for employee code: {}", request.getEmployeeCode());
-        AuthResponse response = authService.signup(request);
+        AuthResponse response;
+        try {
+            response = authService.signup(request);
+        } catch (LoginRejectedException e) {
+            return tooManyRequests(e);
+        }
         return response.getSuccess()
                 ? ResponseEntity.status(HttpStatus.CREATED).body(response)
                 : ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request for employee code: {}", request.getEmployeeCode());
-        AuthResponse response = authService.login(request);
+        AuthResponse response;
+        try {
+            response = authService.login(request, httpRequest.getRemoteAddr());
+        } catch (LoginRejectedException e) {
+            log.warn("Login rejected for employee code {}: {}", request.getEmployeeCode(), e.getMessage());
+            return tooManyRequests(e);
+        }
         return response.getSuccess()
                 ? ResponseEntity.ok(response)
                 : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    private ResponseEntity<AuthResponse> tooManyRequests(LoginRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(AuthResponse.builder()
+                        .success(false)
+                        .message(e.getMessage())
+                        .token("")
+                        .userId(0L)
+                        .employeeCode("")
+                        .fullName("")
+                        .role("")
+                        .build());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "Bearer token is required"));
+        }
+        return authService.logout(authorization.substring(7))
+                ? ResponseEntity.ok(new ApiResponse(true, "Logged out"))
+                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiResponse(false, "Invalid token"));
+    }
+
     @GetMapping("/health")
     public ResponseEntity<ApiResponse> health() {
         return ResponseEntity.ok(new ApiResponse(true, "Backend is running"));
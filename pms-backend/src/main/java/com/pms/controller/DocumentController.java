@@ -0,0 +1,220 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.DocumentSearchResultDTO;
+import com.pms.entity.StoredDocument;
+import com.pms.security.ProjectAccessPolicy;
+import com.pms.service.DocumentSearchService;
+import com.pms.service.DocumentStoreService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves stored documents by content hash (the last segment of a document path). Content under
+ * an id never changes, so responses carry the hash as a strong ETag and may be cached forever.
+ *
+ * Single byte ranges are answered with 206 for PDF viewers; several ranges get the whole file.
+ * Bytes are copied with FileChannel.transferTo on the request thread, so the "documents" slot
+ * RateLimitFilter holds for the request covers the whole transfer and the route's cap really
+ * bounds concurrent downloads. Tomcat's sendfile is deliberately not used: it returns the thread,
+ * and with it the slot, before the first byte is sent.
+ *
+ * A document is served only to callers whose project scope covers a record that names it; anyone
+ * else gets the same 404 as for a document that does not exist. PDFs and raster images are shown
+ * inline under their stored type; everything else, including SVG, is sent as an octet-stream
+ * attachment, so an uploaded HTML or script file never renders in the application's origin.
+ *
+ * Search runs over the text the document processing pipeline extracted.
+ */
+@RestController
+@RequestMapping("/documents")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true",
+        exposedHeaders = {"ETag", "Content-Range", "Accept-Ranges", "Content-Disposition"})
+public class DocumentController {
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    private final DocumentStoreService documentStoreService;
+    private final DocumentSearchService documentSearchService;
+    private final ProjectAccessPolicy projectAccessPolicy;
+
+    // Documents whose extracted text matches, with the visible projects that name them
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        log.info("Searching documents for '{}'", query);
+        List<DocumentSearchResultDTO> results =
+                documentSearchService.search(query, limit, projectAccessPolicy.scopeOf(authentication));
+        return ResponseEntity.ok(new ApiResponse(true, results.size() + " documents found", results));
+    }
+
+    @GetMapping("/{id}")
+    public void download(@PathVariable String id, Authentication authentication,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredDocument document = readable(id, authentication);
+        if (document == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "Document not found: " + id);
+            return;
+        }
+        boolean inline = isInlineType(document.getContentType());
+        serve(documentStoreService.locate(document), document.getSize(), "\"" + document.getSha256() + "\"",
+                inline ? document.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE, inline,
+                document.getOriginalFilename(), request, response);
+    }
+
+    // First-page PNG, once the document has been processed
+    @GetMapping("/{id}/thumbnail")
+    public void thumbnail(@PathVariable String id, Authentication authentication,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredDocument document = readable(id, authentication);
+        Path file = document != null ? documentStoreService.thumbnailOf(document.getSha256()) : null;
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "No thumbnail for document: " + id);
+            return;
+        }
+        serve(file, Files.size(file), "\"" + document.getSha256() + "-thumbnail\"", MediaType.IMAGE_PNG_VALUE,
+                true, null, request, response);
+    }
+
+    // The stored document, or null when it does not exist or the caller's scope does not cover it
+    private StoredDocument readable(String id, Authentication authentication) {
+        StoredDocument document = documentStoreService.find(id).orElse(null);
+        if (document == null || !documentSearchService.canRead(document.getSha256(),
+                projectAccessPolicy.scopeOf(authentication))) {
+            return null;
+        }
+        return document;
+    }
+
+    // Types a browser displays without running anything; SVG is an image that can carry script
+    private static boolean isInlineType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MediaType.APPLICATION_PDF.equalsTypeAndSubtype(type)
+                || ("image".equals(type.getType()) && !type.getSubtype().startsWith("svg"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+    }
+
+    private void serve(Path file, long size, String etag, String contentType, boolean inline, String filename,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(contentType);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        ContentDisposition.Builder disposition = inline ? ContentDisposition.inline() : ContentDisposition.attachment();
+        if (filename != null) {
+            disposition.filename(filename, StandardCharsets.UTF_8);
+        }
+        if (filename != null || !inline) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && size > 0 && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            if (ranges.size() == 1) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        transfer(file, start, length, response);
+    }
+
+    // Readers often cancel ranges they no longer need, so a dropped connection is not an error
+    private void transfer(Path file, long start, long length, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            // Push out the last buffered bytes while the download slot is still held
+            response.flushBuffer();
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                log.debug("Download of {} ended early: {}", file.getFileName(), e.getMessage());
+                return;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -28,6 +28,14 @@ public class EmployeeDetailsController {
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeDetailsResponse>> searchEmployeeDetails(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<EmployeeDetailsResponse> employees = employeeDetailsService.searchEmployeeDetails(query, Math.min(limit, 100));
+        return ResponseEntity.ok(employees);
+    }
+
     @GetMapping("/{code}")
     public ResponseEntity<EmployeeDetailsResponse> getEmployeeDetailsByCode(@PathVariable String code) {
         log.info("Fetching employee details for code: {}", code);
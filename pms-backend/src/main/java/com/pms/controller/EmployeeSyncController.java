@@ -0,0 +1,47 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.EmployeeSyncReport;
+import com.pms.service.EmployeeSyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/employee-sync")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true")
+public class EmployeeSyncController {
+
+    private final EmployeeSyncService employeeSyncService;
+
+    /**
+     * Refresh the employee master from an HR extract (CSV with a header row)
+     * POST /api/admin/employee-sync
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> sync(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "true") boolean deactivateMissing) {
+        log.info("Employee sync requested: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        try (InputStream in = file.getInputStream()) {
+            EmployeeSyncReport report = employeeSyncService.sync(in, deactivateMissing);
+            return ResponseEntity.ok(new ApiResponse(true, "Employee sync completed", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (IOException | RuntimeException e) {
+            log.error("Employee sync failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Employee sync failed: " + e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.KeysetPage;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Response shape shared by the keyset-paged lists: the page's items in the usual ApiResponse
+ * body, and the cursor for the next page, if any, in X-Next-Cursor.
+ */
+final class KeysetResponses {
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private KeysetResponses() {
+    }
+
+    static ResponseEntity<ApiResponse> ok(KeysetPage<?> page, String message) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(new ApiResponse(true, message, page.getItems()));
+    }
+}
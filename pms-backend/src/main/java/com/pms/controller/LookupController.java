@@ -0,0 +1,106 @@
+package com.pms.controller;
+
+import com.pms.cache.LookupTable;
+import com.pms.dto.ApiResponse;
+import com.pms.lookup.LookupEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Generic read and bulk endpoints for every table registered with the lookup engine,
+ * addressed by the table's resource path, e.g. /lookups/project-categories/active.
+ */
+@RestController
+@RequestMapping("/lookups")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true")
+public class LookupController {
+
+    private final LookupEngine lookupEngine;
+
+    // Resource paths of all registered lookup tables
+    @GetMapping
+    public ResponseEntity<List<String>> getLookupTables() {
+        return ResponseEntity.ok(lookupEngine.getRegisteredTables().stream().map(LookupTable::getPath).toList());
+    }
+
+    @GetMapping("/{table}")
+    public ResponseEntity<List<Object>> getAll(@PathVariable String table) {
+        return ResponseEntity.ok(lookupEngine.findAll(resolve(table)));
+    }
+
+    @GetMapping("/{table}/active")
+    public ResponseEntity<List<Object>> getActive(@PathVariable String table) {
+        return ResponseEntity.ok(lookupEngine.findActive(resolve(table)));
+    }
+
+    @GetMapping("/{table}/inactive")
+    public ResponseEntity<List<Object>> getInactive(@PathVariable String table) {
+        return ResponseEntity.ok(lookupEngine.findInactive(resolve(table)));
+    }
+
+    @GetMapping("/{table}/{code}")
+    public ResponseEntity<Object> getByCode(@PathVariable String table, @PathVariable String code) {
+        return lookupEngine.findByCode(resolve(table), code)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Reorder rows with a single batched UPDATE
+    @PutMapping("/{table}/reorder")
+    public ResponseEntity<ApiResponse> reorder(@PathVariable String table, @RequestBody List<String> orderedCodes) {
+        try {
+            int count = lookupEngine.reorder(resolve(table), orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Deactivate many rows in one transaction with a single cache invalidation
+    @PostMapping("/{table}/bulk-deactivate")
+    public ResponseEntity<ApiResponse> bulkDeactivate(@PathVariable String table, @RequestBody List<String> codes) {
+        try {
+            int count = lookupEngine.deactivateAll(resolve(table), codes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows deactivated", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Delete many rows in one batched statement with a single cache invalidation
+    @PostMapping("/{table}/bulk-delete")
+    public ResponseEntity<ApiResponse> bulkDelete(@PathVariable String table, @RequestBody List<String> codes) {
+        try {
+            int count = lookupEngine.deleteAll(resolve(table), codes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows deleted", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    private LookupTable resolve(String path) {
+        LookupTable table = LookupTable.fromPath(path);
+        if (table == null || !lookupEngine.isRegistered(table)) {
+            throw new LookupNotFoundException(path);
+        }
+        return table;
+    }
+
+    @ExceptionHandler(LookupNotFoundException.class)
+    public ResponseEntity<ApiResponse> handleUnknownLookup(LookupNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, e.getMessage(), null));
+    }
+
+    static class LookupNotFoundException extends RuntimeException {
+        LookupNotFoundException(String path) {
+            super("Unknown lookup table: " + path);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.pms.controller;
+
+import com.pms.cache.ProgrammeTree;
+import com.pms.dto.ApiResponse;
+import com.pms.dto.ProgrammeDTO;
+import com.pms.dto.ProgrammeDetailsDTO;
+import com.pms.dto.ProjectDefinitionResponse;
+import com.pms.dto.ProjectDetailResponse;
+import com.pms.security.ProjectAccessPolicy;
+import com.pms.service.ProgrammeService;
+import com.pms.service.ProjectDefinitionService;
+import com.pms.service.ProjectDetailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/programmes")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true")
+public class ProgrammeController {
+
+    private final ProgrammeService programmeService;
+    private final ProjectDefinitionService projectDefinitionService;
+    private final ProjectDetailService projectDetailService;
+    private final ProjectAccessPolicy projectAccessPolicy;
+
+    // Whole hierarchy: offices, their categories, and the programmes under each category
+    @GetMapping("/tree")
+    public ResponseEntity<List<ProgrammeTree.Node>> getTree() {
+        return ResponseEntity.ok(programmeService.getTree());
+    }
+
+    // Active programmes only, flat, for assignment dropdowns
+    @GetMapping
+    public ResponseEntity<List<ProgrammeDTO>> getAllProgrammes() {
+        return ResponseEntity.ok(programmeService.getAllProgrammes());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ProgrammeDetailsDTO> getProgramme(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(programmeService.getProgrammeDetails(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Project definitions attached to this node or anything below it
+    @GetMapping("/{id}/projects")
+    public ResponseEntity<List<ProjectDefinitionResponse>> getProjectsUnder(@PathVariable Long id) {
+        log.info("Fetching projects under programme node {}", id);
+        return ResponseEntity.ok(projectDefinitionService.getProjectsUnderProgramme(id));
+    }
+
+    // Project details whose programme type is this node or below it
+    @GetMapping("/{id}/project-details")
+    public ResponseEntity<List<ProjectDetailResponse>> getProjectDetailsUnder(@PathVariable Long id, Authentication authentication) {
+        log.info("Fetching project details under programme node {}", id);
+        return ResponseEntity.ok(projectDetailService.getProjectDetailsUnderProgramme(id, projectAccessPolicy.scopeOf(authentication)));
+    }
+
+    // Place a project category under a programme office; omit officeId to detach it
+    @PutMapping("/{id}/office")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> moveCategory(@PathVariable Long id,
+                                                    @RequestParam(required = false) Long officeId) {
+        try {
+            programmeService.moveCategory(id, officeId);
+            return ResponseEntity.ok(new ApiResponse(true, "Project category moved successfully", programmeService.getNode(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+}
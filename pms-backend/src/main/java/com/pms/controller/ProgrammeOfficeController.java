@@ -67,6 +67,21 @@ public class ProgrammeOfficeController {
         }
     }
     
+    // Apply a drag-and-drop order in one round trip
+    @PutMapping("/reorder")
+    public ResponseEntity<ApiResponse> reorderProgrammeOffices(@RequestBody List<String> orderedCodes) {
+        try {
+            int count = programmeOfficeService.reorderProgrammeOffices(orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            log.error("Failed to reorder programme offices", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to reorder programme offices", null));
+        }
+    }
+    
     @PutMapping("/{code}")
     @PermitAll
     public ResponseEntity<ProgrammeOfficeResponse> updateProgrammeOffice(
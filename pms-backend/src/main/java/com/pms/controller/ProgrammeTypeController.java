@@ -1,8 +1,10 @@
 package com.pms.controller;
 
+import com.pms.dto.ApiResponse;
 import com.pms.dto.ProgrammeTypeRequest;
 import com.pms.dto.ProgrammeTypeResponse;
 import com.pms.service.ProgrammeTypeService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Slf4j
 @RequestMapping("/programme-types")
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true")
 public class ProgrammeTypeController {
@@ -56,6 +59,21 @@ public class ProgrammeTypeController {
         }
     }
     
+    // Apply a drag-and-drop order in one round trip
+    @PutMapping("/reorder")
+    public ResponseEntity<ApiResponse> reorderProgrammeTypes(@RequestBody List<String> orderedCodes) {
+        try {
+            int count = programmeTypeService.reorderProgrammeTypes(orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            log.error("Failed to reorder programme types", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to reorder programme types", null));
+        }
+    }
+    
     @PutMapping("/{code}")
     public ResponseEntity<ProgrammeTypeResponse> updateProgrammeType(@PathVariable String code, @RequestBody ProgrammeTypeRequest request) {
         try {
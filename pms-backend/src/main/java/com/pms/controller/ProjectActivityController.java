@@ -1,8 +1,10 @@
 package com.pms.controller;
 
+import com.pms.dto.ApiResponse;
 import com.pms.dto.ProjectActivityRequest;
 import com.pms.dto.ProjectActivityResponse;
 import com.pms.service.ProjectActivityService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Slf4j
 @RequestMapping("/project-activities")
 public class ProjectActivityController {
     
@@ -55,6 +58,21 @@ public class ProjectActivityController {
         }
     }
     
+    // Apply a drag-and-drop order in one round trip
+    @PutMapping("/reorder")
+    public ResponseEntity<ApiResponse> reorderProjectActivities(@RequestBody List<String> orderedCodes) {
+        try {
+            int count = projectActivityService.reorderProjectActivities(orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            log.error("Failed to reorder project activities", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to reorder project activities", null));
+        }
+    }
+    
     @PutMapping("/{code}")
     public ResponseEntity<ProjectActivityResponse> updateProjectActivity(@PathVariable String code, @RequestBody ProjectActivityRequest request) {
         try {
@@ -1,8 +1,10 @@
 package com.pms.controller;
 
+import com.pms.dto.ApiResponse;
 import com.pms.dto.ProjectCategoryRequest;
 import com.pms.dto.ProjectCategoryResponse;
 import com.pms.service.ProjectCategoryService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Slf4j
 @RequestMapping("/project-categories")
 public class ProjectCategoryController {
     
@@ -61,6 +64,21 @@ public class ProjectCategoryController {
         }
     }
     
+    // Apply a drag-and-drop order in one round trip
+    @PutMapping("/reorder")
+    public ResponseEntity<ApiResponse> reorderProjectCategories(@RequestBody List<String> orderedCodes) {
+        try {
+            int count = projectCategoryService.reorderProjectCategories(orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            log.error("Failed to reorder project categories", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to reorder project categories", null));
+        }
+    }
+    
     @PutMapping("/{code}")
     public ResponseEntity<ProjectCategoryResponse> updateProjectCategory(@PathVariable String code, @RequestBody ProjectCategoryRequest request) {
         try {
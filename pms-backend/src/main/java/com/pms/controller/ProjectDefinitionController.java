@@ -5,11 +5,14 @@ import com.pms.dto.ProjectDefinitionRequest;
 import com.pms.dto.ProjectDefinitionResponse;
 import com.pms.entity.User;
 import com.pms.repository.UserRepository;
+import com.pms.service.ChunkedUploadService;
 import com.pms.service.ProjectDefinitionService;
 import com.pms.service.FileUploadService;
+import com.pms.service.UploadRejectedException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -29,6 +32,7 @@ import java.util.Map;
 public class ProjectDefinitionController {
     private final ProjectDefinitionService projectDefinitionService;
     private final FileUploadService fileUploadService;
+    private final ChunkedUploadService chunkedUploadService;
     private final UserRepository userRepository;
 
     private User getCurrentUser() {
@@ -96,16 +100,20 @@ public class ProjectDefinitionController {
     @PostMapping
     public ResponseEntity<ProjectDefinitionResponse> createProject(
             @RequestParam("projectData") String projectDataJson,
-            @RequestParam(value = "projectDocument", required = false) MultipartFile projectDocument) {
+            @RequestParam(value = "projectDocument", required = false) MultipartFile projectDocument,
+            @RequestParam(value = "projectDocumentUploadId", required = false) String projectDocumentUploadId) {
         try {
             log.info("Creating new project with file upload");
             User currentUser = getCurrentUser();
             
-            // Handle file upload
+            // Handle file upload, either in this request or as a finished resumable upload
             String documentPath = null;
             if (projectDocument != null && !projectDocument.isEmpty()) {
                 documentPath = fileUploadService.saveFile(projectDocument);
                 log.info("Project document uploaded: {}", documentPath);
+            } else if (projectDocumentUploadId != null && !projectDocumentUploadId.isEmpty()) {
+                documentPath = chunkedUploadService.claim(projectDocumentUploadId, currentUser.getEmployeeCode());
+                log.info("Project document attached from upload {}: {}", projectDocumentUploadId, documentPath);
             }
             
             ProjectDefinitionResponse project = projectDefinitionService.createProjectWithFile(
@@ -121,15 +129,19 @@ public class ProjectDefinitionController {
     public ResponseEntity<ProjectDefinitionResponse> updateProject(
             @PathVariable Long id,
             @RequestParam("projectData") String projectDataJson,
-            @RequestParam(value = "projectDocument", required = false) MultipartFile projectDocument) {
+            @RequestParam(value = "projectDocument", required = false) MultipartFile projectDocument,
+            @RequestParam(value = "projectDocumentUploadId", required = false) String projectDocumentUploadId) {
         try {
             log.info("Updating project with id: {}", id);
             
-            // Handle file upload
+            // Handle file upload, either in this request or as a finished resumable upload
             String documentPath = null;
             if (projectDocument != null && !projectDocument.isEmpty()) {
                 documentPath = fileUploadService.saveFile(projectDocument);
                 log.info("Project document updated: {}", documentPath);
+            } else if (projectDocumentUploadId != null && !projectDocumentUploadId.isEmpty()) {
+                documentPath = chunkedUploadService.claim(projectDocumentUploadId, getCurrentUser().getEmployeeCode());
+                log.info("Project document attached from upload {}: {}", projectDocumentUploadId, documentPath);
             }
             
             ProjectDefinitionResponse project = projectDefinitionService.updateProjectWithFile(
@@ -147,4 +159,14 @@ public class ProjectDefinitionController {
         projectDefinitionService.deleteProject(id);
         return ResponseEntity.ok(new ApiResponse(true, "Project deleted successfully"));
     }
+
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<ApiResponse> handleRejectedUpload(UploadRejectedException e) {
+        log.warn("Upload rejected: {}", e.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return response.body(new ApiResponse(false, e.getMessage(), null));
+    }
 }
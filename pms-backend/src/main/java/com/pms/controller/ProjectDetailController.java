@@ -3,6 +3,8 @@ package com.pms.controller;
 import com.pms.dto.ApiResponse;
 import com.pms.dto.ProjectDetailRequest;
 import com.pms.dto.ProjectDetailResponse;
+import com.pms.security.ProjectAccessPolicy;
+import com.pms.service.CodeResolutionService;
 import com.pms.service.ProjectDetailService;
 import jakarta.annotation.security.PermitAll;
 import lombok.RequiredArgsConstructor;
@@ -22,69 +24,84 @@ import java.util.List;
 public class ProjectDetailController {
     
     private final ProjectDetailService projectDetailService;
+    private final CodeResolutionService codeResolutionService;
+    private final ProjectAccessPolicy projectAccessPolicy;
     
     @GetMapping
     @PermitAll
-    public ResponseEntity<List<ProjectDetailResponse>> getAllProjectDetails() {
+    public ResponseEntity<List<ProjectDetailResponse>> getAllProjectDetails(
+            @RequestParam(defaultValue = "false") boolean includeNames,
+            Authentication authentication) {
         log.info("Fetching all project details");
-        List<ProjectDetailResponse> projects = projectDetailService.getAllProjectDetails();
-        return ResponseEntity.ok(projects);
+        List<ProjectDetailResponse> projects = projectDetailService.getAllProjectDetails(projectAccessPolicy.scopeOf(authentication));
+        return ResponseEntity.ok(includeNames ? codeResolutionService.embedNames(projects) : projects);
     }
     
     @GetMapping("/active")
     @PermitAll
-    public ResponseEntity<List<ProjectDetailResponse>> getActiveProjectDetails() {
+    public ResponseEntity<List<ProjectDetailResponse>> getActiveProjectDetails(
+            @RequestParam(defaultValue = "false") boolean includeNames,
+            Authentication authentication) {
         log.info("Fetching active project details");
-        List<ProjectDetailResponse> projects = projectDetailService.getActiveProjectDetails();
-        return ResponseEntity.ok(projects);
+        List<ProjectDetailResponse> projects = projectDetailService.getActiveProjectDetails(projectAccessPolicy.scopeOf(authentication));
+        return ResponseEntity.ok(includeNames ? codeResolutionService.embedNames(projects) : projects);
     }
     
     @GetMapping("/by-director/{directorId}")
     @PermitAll
     public ResponseEntity<List<ProjectDetailResponse>> getProjectDetailsByDirector(
-            @PathVariable String directorId) {
+            @PathVariable String directorId,
+            @RequestParam(defaultValue = "false") boolean includeNames,
+            Authentication authentication) {
         log.info("Fetching project details for director: {}", directorId);
-        List<ProjectDetailResponse> projects = projectDetailService.getProjectDetailsByDirector(directorId);
-        return ResponseEntity.ok(projects);
+        List<ProjectDetailResponse> projects = projectDetailService.getProjectDetailsByDirector(directorId, projectAccessPolicy.scopeOf(authentication));
+        return ResponseEntity.ok(includeNames ? codeResolutionService.embedNames(projects) : projects);
     }
     
     @GetMapping("/by-programme-director/{programmeDirectorId}")
     @PermitAll
     public ResponseEntity<List<ProjectDetailResponse>> getProjectDetailsByProgrammeDirector(
-            @PathVariable String programmeDirectorId) {
+            @PathVariable String programmeDirectorId,
+            @RequestParam(defaultValue = "false") boolean includeNames,
+            Authentication authentication) {
         log.info("Fetching project details for programme director: {}", programmeDirectorId);
-        List<ProjectDetailResponse> projects = projectDetailService.getProjectDetailsByProgrammeDirector(programmeDirectorId);
-        return ResponseEntity.ok(projects);
+        List<ProjectDetailResponse> projects = projectDetailService.getProjectDetailsByProgrammeDirector(programmeDirectorId, projectAccessPolicy.scopeOf(authentication));
+        return ResponseEntity.ok(includeNames ? codeResolutionService.embedNames(projects) : projects);
     }
     
     @GetMapping("/my-projects")
-    public ResponseEntity<List<ProjectDetailResponse>> getMyProjects(Authentication authentication) {
+    public ResponseEntity<List<ProjectDetailResponse>> getMyProjects(
+            @RequestParam(defaultValue = "false") boolean includeNames,
+            Authentication authentication) {
         String employeeCode = authentication != null ? authentication.getName() : "";
         log.info("Fetching projects for user: {} (as project or programme director)", employeeCode);
         List<ProjectDetailResponse> projects = projectDetailService.getProjectDetailsByDirectorOrProgrammeDirector(employeeCode);
-        return ResponseEntity.ok(projects);
+        return ResponseEntity.ok(includeNames ? codeResolutionService.embedNames(projects) : projects);
     }
     
     @GetMapping("/category-stats")
     @PermitAll
-    public ResponseEntity<?> getCategoryStats() {
+    public ResponseEntity<?> getCategoryStats(Authentication authentication) {
         log.info("Fetching category statistics");
-        return ResponseEntity.ok(projectDetailService.getCategoryStats());
+        return ResponseEntity.ok(projectDetailService.getCategoryStats(projectAccessPolicy.scopeOf(authentication)));
     }
     
     @GetMapping("/category-stats-by-director/{employeeCode}")
     @PermitAll
-    public ResponseEntity<?> getCategoryStatsByDirector(@PathVariable String employeeCode) {
+    public ResponseEntity<?> getCategoryStatsByDirector(@PathVariable String employeeCode, Authentication authentication) {
         log.info("Fetching category statistics for director: {}", employeeCode);
-        return ResponseEntity.ok(projectDetailService.getCategoryStatsByDirector(employeeCode));
+        return ResponseEntity.ok(projectDetailService.getCategoryStatsByDirector(employeeCode, projectAccessPolicy.scopeOf(authentication)));
     }
     
     @GetMapping("/{code}")
     @PermitAll
-    public ResponseEntity<ProjectDetailResponse> getProjectDetailByCode(@PathVariable String code) {
+    public ResponseEntity<ProjectDetailResponse> getProjectDetailByCode(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "false") boolean includeNames,
+            Authentication authentication) {
         log.info("Fetching project detail with code: {}", code);
-        ProjectDetailResponse project = projectDetailService.getProjectDetailByCode(code);
-        return ResponseEntity.ok(project);
+        ProjectDetailResponse project = projectDetailService.getProjectDetailByCode(code, projectAccessPolicy.scopeOf(authentication));
+        return ResponseEntity.ok(includeNames ? codeResolutionService.embedNames(project) : project);
     }
     
     @PostMapping
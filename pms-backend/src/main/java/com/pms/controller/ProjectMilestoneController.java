@@ -1,8 +1,10 @@
 package com.pms.controller;
 
+import com.pms.dto.ApiResponse;
 import com.pms.dto.ProjectMilestoneRequest;
 import com.pms.dto.ProjectMilestoneResponse;
 import com.pms.service.ProjectMilestoneService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Slf4j
 @RequestMapping("/project-milestones")
 public class ProjectMilestoneController {
     
@@ -47,6 +50,21 @@ public class ProjectMilestoneController {
         }
     }
     
+    // Apply a drag-and-drop order in one round trip
+    @PutMapping("/reorder")
+    public ResponseEntity<ApiResponse> reorderProjectMilestones(@RequestBody List<String> orderedCodes) {
+        try {
+            int count = projectMilestoneService.reorderProjectMilestones(orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            log.error("Failed to reorder project milestones", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to reorder project milestones", null));
+        }
+    }
+    
     @PutMapping("/{code}")
     public ResponseEntity<ProjectMilestoneResponse> updateProjectMilestone(@PathVariable String code, @RequestBody ProjectMilestoneRequest request) {
         try {
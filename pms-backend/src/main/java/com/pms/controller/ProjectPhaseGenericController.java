@@ -1,8 +1,10 @@
 package com.pms.controller;
 
+import com.pms.dto.ApiResponse;
 import com.pms.dto.ProjectPhaseGenericRequest;
 import com.pms.dto.ProjectPhaseGenericResponse;
 import com.pms.service.ProjectPhaseGenericService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@Slf4j
 @RequestMapping("/project-phases-generic")
 public class ProjectPhaseGenericController {
     
@@ -47,6 +50,21 @@ public class ProjectPhaseGenericController {
         }
     }
     
+    // Apply a drag-and-drop order in one round trip
+    @PutMapping("/reorder")
+    public ResponseEntity<ApiResponse> reorderProjectPhases(@RequestBody List<String> orderedCodes) {
+        try {
+            int count = projectPhaseGenericService.reorderProjectPhases(orderedCodes);
+            return ResponseEntity.ok(new ApiResponse(true, count + " rows reordered", count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            log.error("Failed to reorder project phases", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "Failed to reorder project phases", null));
+        }
+    }
+    
     @PutMapping("/{code}")
     public ResponseEntity<ProjectPhaseGenericResponse> updateProjectPhase(@PathVariable String code, @RequestBody ProjectPhaseGenericRequest request) {
         try {
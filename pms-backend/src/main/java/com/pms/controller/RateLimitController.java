@@ -0,0 +1,27 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.security.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/rate-limits")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true")
+public class RateLimitController {
+
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Admitted, queued and rejected counts per limited route
+     * GET /api/admin/rate-limits
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> metrics() {
+        return ResponseEntity.ok(new ApiResponse(true, "Rate limit metrics", rateLimiter.metrics()));
+    }
+}
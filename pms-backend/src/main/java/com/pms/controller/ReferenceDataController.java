@@ -0,0 +1,70 @@
+package com.pms.controller;
+
+import com.pms.cache.SerializedPayload;
+import com.pms.dto.ApiResponse;
+import com.pms.service.CodeResolutionService;
+import com.pms.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/reference-data")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true")
+public class ReferenceDataController {
+
+    private final ReferenceDataService referenceDataService;
+    private final CodeResolutionService codeResolutionService;
+
+    /**
+     * All lookup sets needed by the project forms in one pre-serialised payload.
+     * Clients revalidate with If-None-Match and get 304 while nothing has changed.
+     */
+    @GetMapping("/bundle")
+    public ResponseEntity<byte[]> getBundle(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        SerializedPayload bundle = referenceDataService.getBundle();
+        if (bundle.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(bundle.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(bundle.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(bundle.getGzip());
+        }
+        return response.body(bundle.getJson());
+    }
+
+    /**
+     * Resolve codes to names in one round trip, e.g.
+     * {"programmeTypeCode": ["01"], "missionProjectDirector": ["1234567"]}.
+     * Unknown codes are omitted from the result.
+     */
+    @PostMapping("/resolve")
+    public ResponseEntity<?> resolveCodes(@RequestBody Map<String, Set<String>> request) {
+        try {
+            return ResponseEntity.ok(codeResolutionService.resolve(request));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected code resolution request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+}
@@ -4,8 +4,14 @@ import com.pms.dto.ApiResponse;
 import com.pms.dto.PendingRoleRequestDTO;
 import com.pms.dto.RegisteredEmployeeDTO;
 import com.pms.dto.ApproveRoleRequest;
+import com.pms.dto.BulkRoleDecisionRequest;
+import com.pms.dto.BulkRoleDecisionResult;
 import com.pms.dto.RejectRoleRequest;
 import com.pms.dto.ProgrammeDTO;
+import com.pms.dto.ProgrammeDetailsDTO;
+import com.pms.dto.KeysetPage;
+import com.pms.dto.UserListSort;
+import com.pms.service.ProgrammeService;
 import com.pms.service.RoleApprovalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -13,26 +19,33 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 
 @RestController
 @RequestMapping("/api/admin/role-management")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = "X-Next-Cursor")
 public class RoleApprovalController {
 
     @Autowired
     private RoleApprovalService roleApprovalService;
 
+    @Autowired
+    private ProgrammeService programmeService;
+
     /**
      * Get all pending role requests
-     * GET /api/admin/role-management/pending-requests
+     * GET /api/admin/role-management/pending-requests?afterId=&size=&sort=oldest|newest|name
      */
     @GetMapping("/pending-requests")
-    public ResponseEntity<ApiResponse> getPendingRoleRequests() {
+    public ResponseEntity<ApiResponse> getPendingRoleRequests(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         try {
-            List<PendingRoleRequestDTO> pendingRequests = roleApprovalService.getPendingRoleRequests();
-            return ResponseEntity.ok(new ApiResponse(true, "Pending role requests retrieved successfully", pendingRequests));
+            KeysetPage<PendingRoleRequestDTO> pendingRequests = roleApprovalService.getPendingRoleRequests(afterId, size, UserListSort.parse(sort));
+            return KeysetResponses.ok(pendingRequests, "Pending role requests retrieved successfully");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving pending requests: " + e.getMessage(), null));
@@ -41,13 +54,19 @@ public class RoleApprovalController {
 
     /**
      * Get all approved employees
-     * GET /api/admin/role-management/approved-employees
+     * GET /api/admin/role-management/approved-employees?afterId=&size=&sort=oldest|newest|name
      */
     @GetMapping("/approved-employees")
-    public ResponseEntity<ApiResponse> getApprovedEmployees() {
+    public ResponseEntity<ApiResponse> getApprovedEmployees(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
         try {
-            List<RegisteredEmployeeDTO> approvedEmployees = roleApprovalService.getApprovedEmployees();
-            return ResponseEntity.ok(new ApiResponse(true, "Approved employees retrieved successfully", approvedEmployees));
+            KeysetPage<RegisteredEmployeeDTO> approvedEmployees = roleApprovalService.getApprovedEmployees(afterId, size, UserListSort.parse(sort));
+            return KeysetResponses.ok(approvedEmployees, "Approved employees retrieved successfully");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving approved employees: " + e.getMessage(), null));
@@ -130,6 +149,42 @@ public class RoleApprovalController {
         }
     }
 
+    /**
+     * Approve and reject many pending role requests in one call
+     * POST /api/admin/role-management/pending-requests/bulk
+     */
+    @PostMapping("/pending-requests/bulk")
+    public ResponseEntity<ApiResponse> bulkDecide(@RequestBody BulkRoleDecisionRequest request) {
+        try {
+            // Validation 1: Request body should not be null
+            if (request == null) {
+                return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Request body is required", null));
+            }
+
+            // Validation 2: Rejection reason must have minimum length, as for a single rejection
+            if (request.getRejections() != null && !request.getRejections().isEmpty()
+                    && request.getRejectionReason() != null && request.getRejectionReason().trim().length() < 5) {
+                return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Rejection reason must be at least 5 characters", null));
+            }
+
+            List<BulkRoleDecisionResult> results = roleApprovalService.bulkDecide(request);
+            long failed = results.stream().filter(result -> "FAILED".equals(result.getOutcome())).count();
+            return ResponseEntity.ok(new ApiResponse(true,
+                "Processed " + results.size() + " role requests, " + failed + " failed", results));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Error processing requests: " + e.getMessage(), null));
+        }
+    }
+
     /**
      * Get all available programmes
      * GET /api/admin/role-management/programmes
@@ -158,49 +213,14 @@ public class RoleApprovalController {
                     .body(new ApiResponse(false, "Invalid programme ID", null));
             }
 
-            // For now, returning mock programme details
-            // TODO: Once Programme entity is created, fetch from database
-            Map<String, Object> programmeDetails = getProgrammeDetailsMap(programmeId);
-            
-            if (programmeDetails == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ApiResponse(false, "Programme not found", null));
-            }
-
+            ProgrammeDetailsDTO programmeDetails = programmeService.getProgrammeDetails(programmeId);
             return ResponseEntity.ok(new ApiResponse(true, "Programme details retrieved successfully", programmeDetails));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse(false, "Programme not found", null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving programme details: " + e.getMessage(), null));
         }
     }
-
-    /**
-     * Mock method to return programme details
-     * TODO: Replace with database query once Programme entity is created
-     */
-    private Map<String, Object> getProgrammeDetailsMap(Long programmeId) {
-        Map<String, Object> details = new HashMap<>();
-        
-        // Mock programme data
-        String[] programmeNames = {
-            "GSLV", "PSLV", "SSLV", "GAGANYAAN", 
-            "COMMUNICATION SATELLITES", "EARTH OBSERVATION SATELLITES",
-            "SCIENCE MISSIONS", "NAVIGATION SATELLITES",
-            "SPACE EXPLORATION MISSIONS", "TECHNOLOGY DEMONSTRATION MISSIONS",
-            "USER FUNDED SATTELITES"
-        };
-
-        if (programmeId > 0 && programmeId <= programmeNames.length) {
-            details.put("id", programmeId);
-            details.put("programmeName", programmeNames[Math.toIntExact(programmeId - 1)]);
-            details.put("description", "Programme for " + programmeNames[Math.toIntExact(programmeId - 1)] + " projects");
-            details.put("budget", 1000000000L); // Mock budget
-            details.put("status", "ACTIVE");
-            details.put("totalProjects", Math.random() * 10);
-            details.put("activeProjects", Math.random() * 5);
-            return details;
-        }
-        
-        return null;
-    }
 }
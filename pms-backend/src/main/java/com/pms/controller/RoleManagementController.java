@@ -4,6 +4,7 @@ import com.pms.dto.ApiResponse;
 import com.pms.dto.RegisteredEmployeeDTO;
 import com.pms.dto.AssignProgrammeRequest;
 import com.pms.dto.ProgrammeDTO;
+import com.pms.dto.KeysetPage;
 import com.pms.service.RoleManagementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -14,7 +15,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/role-management")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = "X-Next-Cursor")
 public class RoleManagementController {
 
     @Autowired
@@ -22,13 +23,15 @@ public class RoleManagementController {
 
     /**
      * Get all registered employees with their roles and programme assignments
-     * GET /api/admin/role-management/employees
+     * GET /api/admin/role-management/employees?afterId=&size=
      */
     @GetMapping("/employees")
-    public ResponseEntity<ApiResponse> getAllEmployees() {
+    public ResponseEntity<ApiResponse> getAllEmployees(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<RegisteredEmployeeDTO> employees = roleManagementService.getAllRegisteredEmployees();
-            return ResponseEntity.ok(new ApiResponse(true, "Employees retrieved successfully", employees));
+            KeysetPage<RegisteredEmployeeDTO> employees = roleManagementService.getAllRegisteredEmployees(afterId, size);
+            return KeysetResponses.ok(employees, "Employees retrieved successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving employees: " + e.getMessage(), null));
@@ -37,13 +40,15 @@ public class RoleManagementController {
 
     /**
      * Get all approved/active employees
-     * GET /api/admin/role-management/employees/approved
+     * GET /api/admin/role-management/employees/approved?afterId=&size=
      */
     @GetMapping("/employees/approved")
-    public ResponseEntity<ApiResponse> getApprovedEmployees() {
+    public ResponseEntity<ApiResponse> getApprovedEmployees(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<RegisteredEmployeeDTO> employees = roleManagementService.getApprovedEmployees();
-            return ResponseEntity.ok(new ApiResponse(true, "Approved employees retrieved successfully", employees));
+            KeysetPage<RegisteredEmployeeDTO> employees = roleManagementService.getApprovedEmployees(afterId, size);
+            return KeysetResponses.ok(employees, "Approved employees retrieved successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving approved employees: " + e.getMessage(), null));
@@ -52,10 +57,13 @@ public class RoleManagementController {
 
     /**
      * Get employees by specific role
-     * GET /api/admin/role-management/employees/role/{roleName}
+     * GET /api/admin/role-management/employees/role/{roleName}?afterId=&size=
      */
     @GetMapping("/employees/role/{roleName}")
-    public ResponseEntity<ApiResponse> getEmployeesByRole(@PathVariable String roleName) {
+    public ResponseEntity<ApiResponse> getEmployeesByRole(
+            @PathVariable String roleName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
         try {
             // Validation: Role name cannot be empty
             if (roleName == null || roleName.trim().isEmpty()) {
@@ -63,8 +71,8 @@ public class RoleManagementController {
                     .body(new ApiResponse(false, "Role name is required", null));
             }
 
-            List<RegisteredEmployeeDTO> employees = roleManagementService.getEmployeesByRole(roleName);
-            return ResponseEntity.ok(new ApiResponse(true, "Employees by role retrieved successfully", employees));
+            KeysetPage<RegisteredEmployeeDTO> employees = roleManagementService.getEmployeesByRole(roleName, afterId, size);
+            return KeysetResponses.ok(employees, "Employees by role retrieved successfully");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(new ApiResponse(false, e.getMessage(), null));
@@ -76,13 +84,15 @@ public class RoleManagementController {
 
     /**
      * Get all Programme Directors
-     * GET /api/admin/role-management/programme-directors
+     * GET /api/admin/role-management/programme-directors?afterId=&size=
      */
     @GetMapping("/programme-directors")
-    public ResponseEntity<ApiResponse> getProgrammeDirectors() {
+    public ResponseEntity<ApiResponse> getProgrammeDirectors(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<RegisteredEmployeeDTO> directors = roleManagementService.getProgrammeDirectors();
-            return ResponseEntity.ok(new ApiResponse(true, "Programme Directors retrieved successfully", directors));
+            KeysetPage<RegisteredEmployeeDTO> directors = roleManagementService.getProgrammeDirectors(afterId, size);
+            return KeysetResponses.ok(directors, "Programme Directors retrieved successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving Programme Directors: " + e.getMessage(), null));
@@ -91,13 +101,15 @@ public class RoleManagementController {
 
     /**
      * Get all Project Directors
-     * GET /api/admin/role-management/project-directors
+     * GET /api/admin/role-management/project-directors?afterId=&size=
      */
     @GetMapping("/project-directors")
-    public ResponseEntity<ApiResponse> getProjectDirectors() {
+    public ResponseEntity<ApiResponse> getProjectDirectors(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<RegisteredEmployeeDTO> directors = roleManagementService.getProjectDirectors();
-            return ResponseEntity.ok(new ApiResponse(true, "Project Directors retrieved successfully", directors));
+            KeysetPage<RegisteredEmployeeDTO> directors = roleManagementService.getProjectDirectors(afterId, size);
+            return KeysetResponses.ok(directors, "Project Directors retrieved successfully");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ApiResponse(false, "Error retrieving Project Directors: " + e.getMessage(), null));
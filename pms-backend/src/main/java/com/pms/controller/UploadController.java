@@ -0,0 +1,131 @@
+package com.pms.controller;
+
+import com.pms.dto.ApiResponse;
+import com.pms.dto.UploadStatusDTO;
+import com.pms.service.ChunkedUploadService;
+import com.pms.service.UploadRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Resumable uploads following the tus 1.0 core protocol with the creation and termination
+ * extensions: POST creates an upload, HEAD reports its offset, PATCH appends a chunk at that
+ * offset and DELETE abandons it. A completed upload is attached by passing its id where a
+ * document is expected.
+ */
+@RestController
+@RequestMapping("/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"}, allowCredentials = "true",
+        exposedHeaders = {"Location", "Upload-Offset", "Upload-Length", "Tus-Resumable"})
+public class UploadController {
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String OFFSET_OCTET_STREAM = "application/offset+octet-stream";
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    // Protocol discovery
+    @RequestMapping(method = RequestMethod.OPTIONS)
+    public ResponseEntity<Void> options() {
+        return ResponseEntity.noContent()
+                .header("Tus-Resumable", TUS_VERSION)
+                .header("Tus-Version", TUS_VERSION)
+                .header("Tus-Extension", "creation,termination")
+                .header("Tus-Max-Size", String.valueOf(chunkedUploadService.getMaxLength()))
+                .build();
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse> create(
+            @RequestHeader("Upload-Length") long length,
+            @RequestHeader(value = "Upload-Metadata", required = false) String metadata,
+            Authentication authentication) throws IOException {
+        UploadStatusDTO upload = chunkedUploadService.create(length, filenameOf(metadata), authentication.getName());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(upload.getId()).toUri();
+        return ResponseEntity.created(location)
+                .header("Tus-Resumable", TUS_VERSION)
+                .header("Upload-Offset", String.valueOf(upload.getOffset()))
+                .body(new ApiResponse(true, "Upload created", upload));
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> head(@PathVariable String id, Authentication authentication) {
+        UploadStatusDTO upload = chunkedUploadService.status(id, authentication.getName());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("Tus-Resumable", TUS_VERSION)
+                .header("Upload-Offset", String.valueOf(upload.getOffset()))
+                .header("Upload-Length", String.valueOf(upload.getLength()))
+                .build();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse> status(@PathVariable String id, Authentication authentication) {
+        UploadStatusDTO upload = chunkedUploadService.status(id, authentication.getName());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new ApiResponse(true, "Upload status", upload));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = OFFSET_OCTET_STREAM)
+    public ResponseEntity<Void> append(
+            @PathVariable String id,
+            @RequestHeader("Upload-Offset") long offset,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        UploadStatusDTO upload = chunkedUploadService.append(id, authentication.getName(), offset,
+                request.getInputStream(), request.getContentLengthLong());
+        return ResponseEntity.noContent()
+                .header("Tus-Resumable", TUS_VERSION)
+                .header("Upload-Offset", String.valueOf(upload.getOffset()))
+                .build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable String id, Authentication authentication) throws IOException {
+        chunkedUploadService.cancel(id, authentication.getName());
+        return ResponseEntity.noContent().header("Tus-Resumable", TUS_VERSION).build();
+    }
+
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<ApiResponse> handleRejectedUpload(UploadRejectedException e) {
+        log.warn("Upload request rejected: {}", e.getMessage());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus()).header("Tus-Resumable", TUS_VERSION);
+        if (e.getRetryAfterSeconds() > 0) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return response.body(new ApiResponse(false, e.getMessage(), null));
+    }
+
+    // Upload-Metadata is a comma-separated list of "key base64value" pairs; only filename is used
+    private static String filenameOf(String metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        for (String pair : metadata.split(",")) {
+            String[] parts = pair.trim().split(" ");
+            if (parts.length == 2 && "filename".equals(parts[0])) {
+                try {
+                    return new String(Base64.getDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    throw new UploadRejectedException("Upload-Metadata filename is not valid base64", HttpStatus.BAD_REQUEST, 0);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pms.dto;
+
+import java.util.List;
+
+public class BulkRoleDecisionRequest {
+    private List<Approval> approvals;
+    private List<Long> rejections;
+    private String rejectionReason;
+
+    // Constructors
+    public BulkRoleDecisionRequest() {}
+
+    public BulkRoleDecisionRequest(List<Approval> approvals, List<Long> rejections, String rejectionReason) {
+        this.approvals = approvals;
+        this.rejections = rejections;
+        this.rejectionReason = rejectionReason;
+    }
+
+    // Getters and Setters
+    public List<Approval> getApprovals() {
+        return approvals;
+    }
+
+    public void setApprovals(List<Approval> approvals) {
+        this.approvals = approvals;
+    }
+
+    public List<Long> getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(List<Long> rejections) {
+        this.rejections = rejections;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public void setRejectionReason(String rejectionReason) {
+        this.rejectionReason = rejectionReason;
+    }
+
+    // One user to approve; role defaults to the role they requested
+    public static class Approval {
+        private Long userId;
+        private String role;
+        private Long programmeId;
+
+        public Approval() {}
+
+        public Approval(Long userId, String role, Long programmeId) {
+            this.userId = userId;
+            this.role = role;
+            this.programmeId = programmeId;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+
+        public Long getProgrammeId() {
+            return programmeId;
+        }
+
+        public void setProgrammeId(Long programmeId) {
+            this.programmeId = programmeId;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pms.dto;
+
+public class BulkRoleDecisionResult {
+    private Long userId;
+    private String employeeCode;
+    private String role;
+    private String outcome; // APPROVED, REJECTED, FAILED
+    private String message;
+
+    // Constructors
+    public BulkRoleDecisionResult() {}
+
+    public BulkRoleDecisionResult(Long userId, String employeeCode, String role, String outcome, String message) {
+        this.userId = userId;
+        this.employeeCode = employeeCode;
+        this.role = role;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getEmployeeCode() {
+        return employeeCode;
+    }
+
+    public void setEmployeeCode(String employeeCode) {
+        this.employeeCode = employeeCode;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
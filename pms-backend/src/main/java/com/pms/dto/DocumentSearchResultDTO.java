@@ -0,0 +1,31 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentSearchResultDTO {
+    private String documentId;
+    private String filename;
+    private Integer pageCount;
+    private String snippet;
+    private List<ProjectRef> projects;
+
+    // A project record that names the document in one of its document fields
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProjectRef {
+        private String type;   // PROJECT_DETAIL or PROJECT_DEFINITION
+        private String key;    // Mission project code, or project definition id
+        private String name;
+        private String field;
+    }
+}
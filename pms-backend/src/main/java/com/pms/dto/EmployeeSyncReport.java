@@ -0,0 +1,24 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSyncReport {
+    private long rowsRead;
+    private long rowsStaged;
+    private long rowsRejected;
+    private long duplicates;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long deactivated;
+    private long copyMillis;
+    private long mergeMillis;
+    private long totalMillis;
+}
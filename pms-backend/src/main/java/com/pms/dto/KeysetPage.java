@@ -0,0 +1,61 @@
+package com.pms.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list walked by id. {@code nextCursor} is the id to pass as afterId for the
+ * following page, or null on the last page.
+ */
+public class KeysetPage<T> {
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 500;
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    private KeysetPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public static int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    // Ids start at 1, so no cursor means "after 0"
+    public static long startAfter(Long afterId) {
+        return afterId == null ? 0 : afterId;
+    }
+
+    // One row more than the page, see of()
+    public static Pageable limitFor(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of size + 1; the extra row only tells us
+     * that another page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new KeysetPage<>(items, idOf.apply(items.get(size - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
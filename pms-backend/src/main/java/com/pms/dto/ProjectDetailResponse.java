@@ -42,4 +42,12 @@ public class ProjectDetailResponse {
     private String userId;
     private String regStatus;
     private LocalDateTime regTime;
+
+    // Display names, filled only when the caller asks for includeNames=true
+    private String programmeTypeName;
+    private String projectTypeName;
+    private String leadCentreName;
+    private String sanctionedAuthorityName;
+    private String missionProjectDirectorName;
+    private String programmeDirectorName;
 }
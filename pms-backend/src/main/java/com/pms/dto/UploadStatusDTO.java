@@ -0,0 +1,18 @@
+package com.pms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadStatusDTO {
+    private String id;
+    private String filename;
+    private Long length;
+    private Long offset;
+    private Boolean complete;
+}
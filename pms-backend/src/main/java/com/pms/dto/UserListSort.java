@@ -0,0 +1,23 @@
+package com.pms.dto;
+
+import java.util.Locale;
+
+/**
+ * Orders the role-management user lists can be walked in. Each is a keyset over an index:
+ * OLDEST and NEWEST walk users (active, id) in either direction, NAME walks (active, full_name, id).
+ * The cursor is always the id of the last row of the previous page.
+ */
+public enum UserListSort {
+    OLDEST, NEWEST, NAME;
+
+    public static UserListSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return OLDEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + value + " (expected oldest, newest or name)");
+        }
+    }
+}
@@ -47,6 +47,9 @@ public class BudgetCentreProjectCode {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -57,4 +60,10 @@ public class BudgetCentreProjectCode {
     public boolean isActive() {
         return this.toDate == null || this.toDate.isAfter(LocalDate.now());
     }
+    
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
 }
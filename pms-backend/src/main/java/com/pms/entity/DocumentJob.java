@@ -0,0 +1,48 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "document_jobs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_document_jobs_sha256", columnNames = "sha256"),
+       indexes = @Index(name = "idx_document_jobs_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The stored document to process; content never changes, so one job per document is enough
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private DocumentJobStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    // When a worker took the job; a RUNNING job older than the lease is assumed lost
+    private Instant lockedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.pms.entity;
+
+public enum DocumentJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,33 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "document_texts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentText {
+    // Same key as the stored document
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    private Integer pageCount;
+
+    // Extracted text, searched through the full-text expression index from V015
+    @Column(columnDefinition = "TEXT")
+    private String text;
+
+    private Boolean hasThumbnail;
+
+    @Column(nullable = false)
+    private Instant extractedAt;
+}
@@ -0,0 +1,57 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "programmes",
+       uniqueConstraints = @UniqueConstraint(name = "uk_programmes_level_code", columnNames = {"level", "code"}),
+       indexes = @Index(name = "idx_programmes_parent_id", columnList = "parent_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Programme {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private ProgrammeLevel level;
+
+    // Code of the backing lookup row
+    @Column(nullable = false, length = 5)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Null for a root; ancestors beyond the parent live in programme_closure
+    private Long parentId;
+
+    private Integer hierarchyOrder;
+
+    @lombok.Builder.Default
+    private Boolean active = true;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
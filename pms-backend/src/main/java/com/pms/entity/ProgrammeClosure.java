@@ -0,0 +1,31 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per (ancestor, descendant) pair of the programme hierarchy, including each node paired
+ * with itself at depth 0, so "everything under X" is a single indexed lookup on ancestor_id.
+ * Maintained by {@code ProgrammeService} whenever a node is added or moved.
+ */
+@Entity
+@Table(name = "programme_closure",
+       indexes = @Index(name = "idx_programme_closure_descendant", columnList = "descendant_id, ancestor_id"))
+@IdClass(ProgrammeClosureId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgrammeClosure {
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+}
@@ -0,0 +1,30 @@
+package com.pms.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgrammeClosureId implements Serializable {
+    private Long ancestorId;
+    private Long descendantId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProgrammeClosureId that = (ProgrammeClosureId) o;
+        return Objects.equals(ancestorId, that.ancestorId) &&
+               Objects.equals(descendantId, that.descendantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ancestorId, descendantId);
+    }
+}
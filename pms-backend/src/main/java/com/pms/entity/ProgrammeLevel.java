@@ -0,0 +1,11 @@
+package com.pms.entity;
+
+/**
+ * Levels of the programme hierarchy, top down. Each level is backed by a lookup table and a node's
+ * code is the code of its row there.
+ */
+public enum ProgrammeLevel {
+    OFFICE,     // pmsgeneric.programmeoffice
+    CATEGORY,   // pmsgeneric.projectcategory
+    PROGRAMME   // pmsgeneric.programmetypes
+}
@@ -45,6 +45,9 @@ public class ProgrammeOffice {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     @Column(name = "created_at", insertable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -55,4 +58,10 @@ public class ProgrammeOffice {
     public boolean isActive() {
         return this.toDate == null || this.toDate.isAfter(LocalDate.now());
     }
+    
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
 }
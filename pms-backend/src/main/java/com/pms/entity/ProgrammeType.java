@@ -38,6 +38,9 @@ public class ProgrammeType {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     // Constructors
     public ProgrammeType() {
     }
@@ -62,6 +65,12 @@ public class ProgrammeType {
         return toDate == null || toDate.isAfter(LocalDate.now());
     }
     
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
+    
     // Getters and Setters
     public String getProgrammeTypeCode() {
         return programmeTypeCode;
@@ -142,4 +151,12 @@ public class ProgrammeType {
     public void setRegTime(LocalDate regTime) {
         this.regTime = regTime;
     }
+    
+    public Boolean getActiveFlag() {
+        return activeFlag;
+    }
+    
+    public void setActiveFlag(Boolean activeFlag) {
+        this.activeFlag = activeFlag;
+    }
 }
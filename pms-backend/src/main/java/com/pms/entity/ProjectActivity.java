@@ -35,6 +35,9 @@ public class ProjectActivity {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     // Constructors
     public ProjectActivity() {
     }
@@ -58,6 +61,12 @@ public class ProjectActivity {
         return toDate == null || toDate.isAfter(LocalDate.now());
     }
     
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
+    
     // Getters and Setters
     public String getProjectActivityCode() {
         return projectActivityCode;
@@ -130,4 +139,12 @@ public class ProjectActivity {
     public void setRegTime(LocalDate regTime) {
         this.regTime = regTime;
     }
+    
+    public Boolean getActiveFlag() {
+        return activeFlag;
+    }
+    
+    public void setActiveFlag(Boolean activeFlag) {
+        this.activeFlag = activeFlag;
+    }
 }
@@ -38,6 +38,9 @@ public class ProjectCategory {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     // Constructors
     public ProjectCategory() {
     }
@@ -62,6 +65,12 @@ public class ProjectCategory {
         return toDate == null || toDate.isAfter(LocalDate.now());
     }
     
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
+    
     // Getters and Setters
     public String getProjectCategoryCode() {
         return projectCategoryCode;
@@ -142,4 +151,12 @@ public class ProjectCategory {
     public void setRegTime(LocalDate regTime) {
         this.regTime = regTime;
     }
+    
+    public Boolean getActiveFlag() {
+        return activeFlag;
+    }
+    
+    public void setActiveFlag(Boolean activeFlag) {
+        this.activeFlag = activeFlag;
+    }
 }
@@ -10,7 +10,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "project_definitions")
+@Table(name = "project_definitions",
+       indexes = {
+           @Index(name = "idx_project_definitions_programme_id", columnList = "programme_id"),
+           @Index(name = "idx_project_definitions_document_path", columnList = "project_document_path")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,7 +11,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "projectdetails", schema = "pmsmaintables")
+@Table(name = "projectdetails", schema = "pmsmaintables",
+       indexes = {
+           @Index(name = "idx_projectdetails_programmetypescode", columnList = "programmetypescode"),
+           @Index(name = "idx_projectdetails_director_code", columnList = "missionprojectdirector, missionprojectcode"),
+           @Index(name = "idx_projectdetails_programmedirector_code", columnList = "programmedirector, missionprojectcode"),
+           @Index(name = "idx_projectdetails_leadcentre_code", columnList = "leadcentrecode, missionprojectcode"),
+           @Index(name = "idx_projectdetails_fscopy", columnList = "fscopy")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +35,9 @@ public class ProjectMilestone {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     public ProjectMilestone() {
     }
     
@@ -56,6 +59,12 @@ public class ProjectMilestone {
         return toDate == null || toDate.isAfter(LocalDate.now());
     }
     
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
+    
     public String getProjectMilestoneCode() {
         return projectMilestoneCode;
     }
@@ -127,4 +136,12 @@ public class ProjectMilestone {
     public void setRegTime(LocalDate regTime) {
         this.regTime = regTime;
     }
+    
+    public Boolean getActiveFlag() {
+        return activeFlag;
+    }
+    
+    public void setActiveFlag(Boolean activeFlag) {
+        this.activeFlag = activeFlag;
+    }
 }
@@ -35,6 +35,9 @@ public class ProjectPhaseGeneric {
     @Column(name = "regtime")
     private LocalDate regTime;
     
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
     public ProjectPhaseGeneric() {
     }
     
@@ -56,6 +59,12 @@ public class ProjectPhaseGeneric {
         return toDate == null || toDate.isAfter(LocalDate.now());
     }
     
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
+    
     public String getProjectPhaseCode() {
         return projectPhaseCode;
     }
@@ -127,4 +136,12 @@ public class ProjectPhaseGeneric {
     public void setRegTime(LocalDate regTime) {
         this.regTime = regTime;
     }
+    
+    public Boolean getActiveFlag() {
+        return activeFlag;
+    }
+    
+    public void setActiveFlag(Boolean activeFlag) {
+        this.activeFlag = activeFlag;
+    }
 }
@@ -42,4 +42,19 @@ public class ProjectType {
     
     @Column(name = "regtime")
     private LocalDate regTime;
+    
+    @Column(name = "isactive")
+    private Boolean activeFlag;
+    
+    // Registered and not yet expired; the toDate itself still counts
+    @Transient
+    public boolean isActive() {
+        return "A".equals(this.regStatus) && (this.toDate == null || !this.toDate.isBefore(LocalDate.now()));
+    }
+    
+    @PrePersist
+    @PreUpdate
+    void refreshActiveFlag() {
+        this.activeFlag = isActive();
+    }
 }
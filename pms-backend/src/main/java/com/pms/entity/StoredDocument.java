@@ -0,0 +1,43 @@
+package com.pms.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stored_documents",
+       indexes = @Index(name = "idx_stored_documents_unreferenced", columnList = "ref_count, last_used_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredDocument {
+    // Hex SHA-256 of the content; the blob lives at documents/<2>/<2>/<sha256> under the upload dir
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long size;
+
+    // As first uploaded; later uploads of the same bytes share the blob
+    private String originalFilename;
+
+    @Column(length = 100)
+    private String contentType;
+
+    // Project records whose document fields name this blob
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Last upload or release; an unreferenced blob is collected once this is older than the grace period
+    @Column(name = "last_used_at", nullable = false)
+    private Instant lastUsedAt;
+}
@@ -14,7 +14,10 @@ import java.util.Collection;
 import java.util.Collections;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_active_id", columnList = "active, id"),
+    @Index(name = "idx_users_role_id_id", columnList = "role_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +45,11 @@ public class User implements UserDetails {
 
     private Long assignedProgrammeId;
 
+    // Set when an admin turns the registration down; such a user no longer counts as pending
+    private String rejectionReason;
+
+    private LocalDateTime rejectedAt;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -0,0 +1,63 @@
+package com.pms.init;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies the indexes listed in db/indexes.sql at startup. The schema itself comes from
+ * Hibernate's ddl-auto, which cannot declare partial or expression indexes, and the scripts
+ * under db/migration are not run by anything, so this is the path that actually creates them.
+ * Every statement must be idempotent (CREATE INDEX IF NOT EXISTS); a failing one is logged
+ * and the rest still run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaIndexInitializer implements CommandLineRunner {
+    private static final String SCRIPT = "db/indexes.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws IOException {
+        List<String> statements = statements(new ClassPathResource(SCRIPT)
+                .getContentAsString(StandardCharsets.UTF_8));
+        int applied = 0;
+        for (String statement : statements) {
+            try {
+                jdbcTemplate.execute(statement);
+                applied++;
+            } catch (DataAccessException e) {
+                log.warn("Could not apply index statement [{}]: {}", statement, e.getMostSpecificCause().getMessage());
+            }
+        }
+        log.info("Applied {} of {} index statements from {}", applied, statements.size(), SCRIPT);
+    }
+
+    // Statements end with ';'; lines starting with '--' are comments
+    private static List<String> statements(String script) {
+        StringBuilder body = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            if (!line.strip().startsWith("--")) {
+                body.append(line).append('\n');
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : body.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.strip());
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,97 @@
+package com.pms.lookup;
+
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Keeps the materialised isactive column of the effective-dated lookup tables in step with
+ * the calendar. Entities set the flag themselves on every write; this job flips the rows whose
+ * todate passed overnight (and, for project types, whose regstatus changed) and publishes a
+ * {@link LookupChangedEvent} for each table that actually changed, so caches refresh exactly
+ * when needed. Like the entities' isActive(), fromdate is not considered: a row dated to start
+ * in the future counts as active already.
+ *
+ * {@link LookupEngine} reads active / inactive straight from the flag, so this job is what moves
+ * an expired row out of the active lists.
+ */
+@Component
+@Slf4j
+public class ActiveFlagRefreshJob {
+
+    // SQL expression deciding whether a row is active today, per table
+    private static final Map<LookupTable, String> ACTIVE_EXPRESSIONS = new EnumMap<>(LookupTable.class);
+
+    static {
+        String openEnded = "(todate IS NULL OR todate > CURRENT_DATE)";
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROGRAMME_OFFICE, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROGRAMME_TYPE, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROJECT_CATEGORY, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROJECT_ACTIVITY, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROJECT_MILESTONE, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROJECT_PHASE_GENERIC, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.BUDGET_CENTRE_PROJECT_CODE, openEnded);
+        ACTIVE_EXPRESSIONS.put(LookupTable.PROJECT_TYPE, "(regstatus = 'A' AND (todate IS NULL OR todate >= CURRENT_DATE))");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ActiveFlagRefreshJob(PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Catch up on any midnight missed while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshOnStartup() {
+        refreshAll();
+    }
+
+    @Scheduled(cron = "${lookup.active-flag.cron:0 0 0 * * *}")
+    public void refreshAll() {
+        long start = System.nanoTime();
+        int total = 0;
+        for (Map.Entry<LookupTable, String> entry : ACTIVE_EXPRESSIONS.entrySet()) {
+            try {
+                total += refresh(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                log.error("Active flag refresh failed for {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        log.info("Active flag refresh flipped {} rows in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Only rows whose flag disagrees with today's date are touched
+    private int refresh(LookupTable table, String activeExpression) {
+        String sql = "UPDATE " + table.getTableName()
+                + " SET isactive = " + activeExpression
+                + " WHERE isactive IS DISTINCT FROM " + activeExpression;
+        Integer flipped = transactionTemplate.execute(status -> {
+            int count = entityManager.createNativeQuery(sql).executeUpdate();
+            if (count > 0) {
+                eventPublisher.publishEvent(new LookupChangedEvent(table));
+            }
+            return count;
+        });
+        if (flipped != null && flipped > 0) {
+            log.info("Active flag refresh: {} rows flipped in {}", flipped, table.getTableName());
+        }
+        return flipped != null ? flipped : 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pms.lookup;
+
+import com.pms.cache.LookupTable;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Everything {@link LookupEngine} needs to know about one code-keyed lookup table.
+ * Declaring a descriptor bean is all it takes to put a new table behind the engine.
+ *
+ * @param <E> entity type, keyed by a String code
+ * @param <R> response DTO returned to clients
+ */
+@Getter
+@Builder
+public class LookupDescriptor<E, R> {
+    private final LookupTable table;
+    // Human readable name used in error messages, e.g. "Programme Office"
+    private final String label;
+    private final JpaRepository<E, String> repository;
+    private final Function<E, String> code;
+    // Primary key column, needed for set-based updates such as reorder
+    private final String codeColumn;
+    private final Function<E, String> fullName;
+    // Optional; indexed when set
+    private final Function<E, String> shortName;
+    private final boolean uniqueShortName;
+    private final Function<E, Integer> hierarchyOrder;
+    // Whether a row counts as active; read from stored columns only, never from today's date
+    private final Predicate<E> active;
+    private final Consumer<E> deactivate;
+    private final Function<E, R> toResponse;
+}
@@ -0,0 +1,295 @@
+package com.pms.lookup;
+
+import com.pms.cache.LookupTable;
+import com.pms.dto.ProgrammeOfficeResponse;
+import com.pms.dto.ProgrammeTypeResponse;
+import com.pms.dto.ProjectActivityResponse;
+import com.pms.dto.ProjectCategoryResponse;
+import com.pms.dto.ProjectMilestoneResponse;
+import com.pms.dto.ProjectPhaseGenericResponse;
+import com.pms.dto.ProjectStatusCodeResponse;
+import com.pms.dto.ProjectTypeResponse;
+import com.pms.dto.SanctioningAuthorityResponse;
+import com.pms.entity.ProgrammeOffice;
+import com.pms.entity.ProgrammeType;
+import com.pms.entity.ProjectActivity;
+import com.pms.entity.ProjectCategory;
+import com.pms.entity.ProjectMilestone;
+import com.pms.entity.ProjectPhaseGeneric;
+import com.pms.entity.ProjectStatusCode;
+import com.pms.entity.ProjectType;
+import com.pms.entity.SanctioningAuthority;
+import com.pms.repository.ProgrammeOfficeRepository;
+import com.pms.repository.ProgrammeTypeRepository;
+import com.pms.repository.ProjectActivityRepository;
+import com.pms.repository.ProjectCategoryRepository;
+import com.pms.repository.ProjectMilestoneRepository;
+import com.pms.repository.ProjectPhaseGenericRepository;
+import com.pms.repository.ProjectStatusCodeRepository;
+import com.pms.repository.ProjectTypeRepository;
+import com.pms.repository.SanctioningAuthorityRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Registry of the code-keyed lookup tables served by {@link LookupEngine}.
+ * A new table needs an entity, a repository, a {@link LookupTable} constant and a bean here.
+ */
+@Configuration
+public class LookupDescriptorConfig {
+
+    // Effective-dated tables carry a materialised isactive flag, kept current by the entities on
+    // write and by ActiveFlagRefreshJob at midnight; a row not yet flagged counts as inactive
+    private static boolean flagged(Boolean activeFlag) {
+        return Boolean.TRUE.equals(activeFlag);
+    }
+
+    @Bean
+    public LookupDescriptor<ProgrammeOffice, ProgrammeOfficeResponse> programmeOfficeLookup(ProgrammeOfficeRepository repository) {
+        return LookupDescriptor.<ProgrammeOffice, ProgrammeOfficeResponse>builder()
+                .table(LookupTable.PROGRAMME_OFFICE)
+                .label("Programme Office")
+                .repository(repository)
+                .code(ProgrammeOffice::getProgrammeOfficeCode)
+                .codeColumn("programmeofficecode")
+                .fullName(ProgrammeOffice::getProgrammeOfficeFullName)
+                .shortName(ProgrammeOffice::getProgrammeOfficeShortName)
+                .uniqueShortName(true)
+                .hierarchyOrder(ProgrammeOffice::getHierarchyOrder)
+                .active(office -> flagged(office.getActiveFlag()))
+                .deactivate(office -> office.setToDate(LocalDate.now()))
+                .toResponse(office -> ProgrammeOfficeResponse.builder()
+                        .programmeOfficeCode(office.getProgrammeOfficeCode())
+                        .programmeOfficeFullName(office.getProgrammeOfficeFullName())
+                        .programmeOfficeShortName(office.getProgrammeOfficeShortName())
+                        .hierarchyOrder(office.getHierarchyOrder())
+                        .fromDate(office.getFromDate())
+                        .toDate(office.getToDate())
+                        .userId(office.getUserId())
+                        .regStatus(office.getRegStatus())
+                        .active(flagged(office.getActiveFlag()))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProgrammeType, ProgrammeTypeResponse> programmeTypeLookup(ProgrammeTypeRepository repository) {
+        return LookupDescriptor.<ProgrammeType, ProgrammeTypeResponse>builder()
+                .table(LookupTable.PROGRAMME_TYPE)
+                .label("Programme Type")
+                .repository(repository)
+                .code(ProgrammeType::getProgrammeTypeCode)
+                .codeColumn("programmetypescode")
+                .fullName(ProgrammeType::getProgrammeTypeFullName)
+                .shortName(ProgrammeType::getProgrammeTypeShortName)
+                .hierarchyOrder(ProgrammeType::getHierarchyOrder)
+                .active(type -> flagged(type.getActiveFlag()))
+                .deactivate(type -> type.setToDate(LocalDate.now()))
+                .toResponse(type -> new ProgrammeTypeResponse(
+                        type.getProgrammeTypeCode(),
+                        type.getProjectCategoryCode(),
+                        type.getProgrammeTypeFullName(),
+                        type.getProgrammeTypeShortName(),
+                        type.getHierarchyOrder(),
+                        type.getFromDate(),
+                        type.getToDate(),
+                        type.getUserId(),
+                        type.getRegStatus(),
+                        flagged(type.getActiveFlag())))
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProjectCategory, ProjectCategoryResponse> projectCategoryLookup(ProjectCategoryRepository repository) {
+        return LookupDescriptor.<ProjectCategory, ProjectCategoryResponse>builder()
+                .table(LookupTable.PROJECT_CATEGORY)
+                .label("Project Category")
+                .repository(repository)
+                .code(ProjectCategory::getProjectCategoryCode)
+                .codeColumn("projectcategorycode")
+                .fullName(ProjectCategory::getProjectCategoryFullName)
+                .shortName(ProjectCategory::getProjectCategoryShortName)
+                .hierarchyOrder(ProjectCategory::getHierarchyOrder)
+                .active(category -> flagged(category.getActiveFlag()))
+                .deactivate(category -> category.setToDate(LocalDate.now()))
+                .toResponse(category -> new ProjectCategoryResponse(
+                        category.getProjectCategoryCode(),
+                        category.getProjectCategoryFullName(),
+                        category.getProjectCategoryShortName(),
+                        category.getShowOnDashboard(),
+                        category.getHierarchyOrder(),
+                        category.getFromDate(),
+                        category.getToDate(),
+                        category.getUserId(),
+                        category.getRegStatus(),
+                        flagged(category.getActiveFlag())))
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProjectActivity, ProjectActivityResponse> projectActivityLookup(ProjectActivityRepository repository) {
+        return LookupDescriptor.<ProjectActivity, ProjectActivityResponse>builder()
+                .table(LookupTable.PROJECT_ACTIVITY)
+                .label("Project Activity")
+                .repository(repository)
+                .code(ProjectActivity::getProjectActivityCode)
+                .codeColumn("projectactivitiescode")
+                .fullName(ProjectActivity::getProjectActivityFullName)
+                .shortName(ProjectActivity::getProjectActivityShortName)
+                .hierarchyOrder(ProjectActivity::getHierarchyOrder)
+                .active(activity -> flagged(activity.getActiveFlag()))
+                .deactivate(activity -> activity.setToDate(LocalDate.now()))
+                .toResponse(activity -> new ProjectActivityResponse(
+                        activity.getProjectActivityCode(),
+                        activity.getProjectActivityFullName(),
+                        activity.getProjectActivityShortName(),
+                        activity.getHierarchyOrder(),
+                        activity.getFromDate(),
+                        activity.getToDate(),
+                        activity.getUserId(),
+                        activity.getRegStatus(),
+                        flagged(activity.getActiveFlag())))
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProjectMilestone, ProjectMilestoneResponse> projectMilestoneLookup(ProjectMilestoneRepository repository) {
+        return LookupDescriptor.<ProjectMilestone, ProjectMilestoneResponse>builder()
+                .table(LookupTable.PROJECT_MILESTONE)
+                .label("Project Milestone")
+                .repository(repository)
+                .code(ProjectMilestone::getProjectMilestoneCode)
+                .codeColumn("projectmilestonescode")
+                .fullName(ProjectMilestone::getProjectMilestoneFullName)
+                .shortName(ProjectMilestone::getProjectMilestoneShortName)
+                .hierarchyOrder(ProjectMilestone::getHierarchyOrder)
+                .active(milestone -> flagged(milestone.getActiveFlag()))
+                .deactivate(milestone -> milestone.setToDate(LocalDate.now()))
+                .toResponse(milestone -> new ProjectMilestoneResponse(
+                        milestone.getProjectMilestoneCode(),
+                        milestone.getProjectMilestoneFullName(),
+                        milestone.getProjectMilestoneShortName(),
+                        milestone.getHierarchyOrder(),
+                        milestone.getFromDate(),
+                        milestone.getToDate(),
+                        milestone.getUserId(),
+                        milestone.getRegStatus(),
+                        flagged(milestone.getActiveFlag())))
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProjectPhaseGeneric, ProjectPhaseGenericResponse> projectPhaseGenericLookup(ProjectPhaseGenericRepository repository) {
+        return LookupDescriptor.<ProjectPhaseGeneric, ProjectPhaseGenericResponse>builder()
+                .table(LookupTable.PROJECT_PHASE_GENERIC)
+                .label("Project Phase")
+                .repository(repository)
+                .code(ProjectPhaseGeneric::getProjectPhaseCode)
+                .codeColumn("projectphasescode")
+                .fullName(ProjectPhaseGeneric::getProjectPhaseFullName)
+                .shortName(ProjectPhaseGeneric::getProjectPhaseShortName)
+                .hierarchyOrder(ProjectPhaseGeneric::getHierarchyOrder)
+                .active(phase -> flagged(phase.getActiveFlag()))
+                .deactivate(phase -> phase.setToDate(LocalDate.now()))
+                .toResponse(phase -> new ProjectPhaseGenericResponse(
+                        phase.getProjectPhaseCode(),
+                        phase.getProjectPhaseFullName(),
+                        phase.getProjectPhaseShortName(),
+                        phase.getHierarchyOrder(),
+                        phase.getFromDate(),
+                        phase.getToDate(),
+                        phase.getUserId(),
+                        phase.getRegStatus(),
+                        flagged(phase.getActiveFlag())))
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProjectType, ProjectTypeResponse> projectTypeLookup(ProjectTypeRepository repository) {
+        return LookupDescriptor.<ProjectType, ProjectTypeResponse>builder()
+                .table(LookupTable.PROJECT_TYPE)
+                .label("Project Type")
+                .repository(repository)
+                .code(ProjectType::getProjectTypesCode)
+                .codeColumn("projecttypescode")
+                .fullName(ProjectType::getProjectTypesFullName)
+                .shortName(ProjectType::getProjectTypesShortName)
+                .hierarchyOrder(ProjectType::getHierarchyOrder)
+                .active(type -> flagged(type.getActiveFlag()))
+                .deactivate(type -> {
+                    type.setRegStatus("I");
+                    type.setToDate(LocalDate.now());
+                })
+                .toResponse(type -> new ProjectTypeResponse(
+                        type.getProjectTypesCode(),
+                        type.getProjectTypesFullName(),
+                        type.getProjectTypesShortName(),
+                        type.getHierarchyOrder(),
+                        type.getFromDate(),
+                        type.getToDate(),
+                        type.getUserId(),
+                        type.getRegStatus(),
+                        type.getRegTime()))
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<SanctioningAuthority, SanctioningAuthorityResponse> sanctioningAuthorityLookup(SanctioningAuthorityRepository repository) {
+        return LookupDescriptor.<SanctioningAuthority, SanctioningAuthorityResponse>builder()
+                .table(LookupTable.SANCTIONING_AUTHORITY)
+                .label("Sanctioning Authority")
+                .repository(repository)
+                .code(SanctioningAuthority::getSanctioningAuthorityCode)
+                .codeColumn("sanctioningauthoritycode")
+                .fullName(SanctioningAuthority::getSanctioningAuthorityFullName)
+                .shortName(SanctioningAuthority::getSanctioningAuthorityShortName)
+                .hierarchyOrder(SanctioningAuthority::getHierarchyOrder)
+                .active(authority -> "A".equals(authority.getRegStatus()))
+                .deactivate(authority -> {
+                    authority.setRegStatus("I");
+                    authority.setToDate(LocalDate.now());
+                })
+                .toResponse(authority -> SanctioningAuthorityResponse.builder()
+                        .sanctioningAuthorityCode(authority.getSanctioningAuthorityCode())
+                        .sanctioningAuthorityFullName(authority.getSanctioningAuthorityFullName())
+                        .sanctioningAuthorityShortName(authority.getSanctioningAuthorityShortName())
+                        .hierarchyOrder(authority.getHierarchyOrder())
+                        .fromDate(authority.getFromDate())
+                        .toDate(authority.getToDate())
+                        .userId(authority.getUserId())
+                        .regStatus(authority.getRegStatus())
+                        .regTime(authority.getRegTime())
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public LookupDescriptor<ProjectStatusCode, ProjectStatusCodeResponse> projectStatusCodeLookup(ProjectStatusCodeRepository repository) {
+        return LookupDescriptor.<ProjectStatusCode, ProjectStatusCodeResponse>builder()
+                .table(LookupTable.PROJECT_STATUS_CODE)
+                .label("Project status code")
+                .repository(repository)
+                .code(ProjectStatusCode::getProjectStatusCode)
+                .codeColumn("projectstatuscode")
+                .fullName(ProjectStatusCode::getProjectStatusFullName)
+                .shortName(ProjectStatusCode::getProjectStatusShortName)
+                .hierarchyOrder(ProjectStatusCode::getHierarchyOrder)
+                // Deactivation marks the row with regStatus "0"
+                .active(status -> !"0".equals(status.getRegStatus()))
+                .deactivate(status -> status.setRegStatus("0"))
+                .toResponse(status -> ProjectStatusCodeResponse.builder()
+                        .projectStatusCode(status.getProjectStatusCode())
+                        .projectStatusFullName(status.getProjectStatusFullName())
+                        .projectStatusShortName(status.getProjectStatusShortName())
+                        .hierarchyOrder(status.getHierarchyOrder())
+                        .fromDate(status.getFromDate())
+                        .toDate(status.getToDate())
+                        .userId(status.getUserId())
+                        .regStatus(status.getRegStatus())
+                        .regTime(status.getRegTime())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,400 @@
+package com.pms.lookup;
+
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Shared read / write path for every table registered through a {@link LookupDescriptor}.
+ * Reads are served from an in-memory snapshot per table (rows in hierarchy order plus
+ * code and short-name indexes); the snapshot is dropped on any {@link LookupChangedEvent}
+ * for its table. Whether a row is active comes from stored columns (the materialised isactive
+ * flag, or regstatus), so a row expiring at midnight reaches the snapshot through the
+ * {@link LookupChangedEvent} that {@link ActiveFlagRefreshJob} publishes when it flips the flag.
+ *
+ * A snapshot is always built in its own read-only transaction, so it only ever holds committed
+ * rows, and its entities are detached from every persistence context. A write in progress therefore
+ * never leaks into the cache, even when it reads the snapshot to validate itself.
+ *
+ * The response cache and the reference data bundle are built from these snapshots, so the
+ * snapshot is dropped before either of them hears about a change: otherwise a request arriving
+ * between the two listeners could rebuild them from the stale snapshot under the new version.
+ */
+@Service
+@Slf4j
+public class LookupEngine {
+
+    private final Map<LookupTable, LookupDescriptor<?, ?>> registry = new EnumMap<>(LookupTable.class);
+    private final Map<LookupTable, Snapshot<?, ?>> snapshots = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate snapshotTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LookupEngine(List<LookupDescriptor<?, ?>> descriptors, ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager) {
+        for (LookupDescriptor<?, ?> descriptor : descriptors) {
+            if (registry.put(descriptor.getTable(), descriptor) != null) {
+                throw new IllegalStateException("Duplicate lookup descriptor for " + descriptor.getTable());
+            }
+        }
+        this.eventPublisher = eventPublisher;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setReadOnly(true);
+        log.info("Lookup engine registered {} tables: {}", registry.size(), registry.keySet());
+    }
+
+    public Set<LookupTable> getRegisteredTables() {
+        return Collections.unmodifiableSet(registry.keySet());
+    }
+
+    public boolean isRegistered(LookupTable table) {
+        return registry.containsKey(table);
+    }
+
+    // ---- reads ----
+
+    public <R> List<R> findAll(LookupTable table) {
+        Snapshot<?, R> snapshot = snapshot(table);
+        return snapshot.responses;
+    }
+
+    public <R> List<R> findActive(LookupTable table) {
+        return this.<Object, R>filter(table, row -> row.active);
+    }
+
+    public <R> List<R> findInactive(LookupTable table) {
+        return this.<Object, R>filter(table, row -> !row.active);
+    }
+
+    // Rows whose entity matches the predicate, in hierarchy order
+    public <E, R> List<R> findMatching(LookupTable table, Predicate<? super E> predicate) {
+        return this.<E, R>filter(table, row -> predicate.test(row.entity));
+    }
+
+    public <R> Optional<R> findByCode(LookupTable table, String code) {
+        Snapshot<?, R> snapshot = snapshot(table);
+        Row<?, R> row = code != null ? snapshot.byCode.get(code) : null;
+        return row != null ? Optional.of(row.response) : Optional.empty();
+    }
+
+    public boolean exists(LookupTable table, String code) {
+        return code != null && snapshot(table).byCode.containsKey(code);
+    }
+
+    // Code -> full name for every row, active or not
+    public Map<String, String> getNameIndex(LookupTable table) {
+        return Collections.unmodifiableMap(snapshot(table).names);
+    }
+
+    // ---- single-row writes ----
+
+    @Transactional
+    public <E, R> R create(LookupTable table, E entity) {
+        LookupDescriptor<E, R> descriptor = descriptor(table);
+        String code = descriptor.getCode().apply(entity);
+        if (descriptor.getRepository().existsById(code)) {
+            throw new IllegalArgumentException(descriptor.getLabel() + " with code " + code + " already exists");
+        }
+        checkShortNameUnique(descriptor, entity, code);
+
+        E saved = descriptor.getRepository().save(entity);
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{} created: {}", descriptor.getLabel(), code);
+        return descriptor.getToResponse().apply(saved);
+    }
+
+    @Transactional
+    public <E, R> R update(LookupTable table, String code, Consumer<E> changes) {
+        LookupDescriptor<E, R> descriptor = descriptor(table);
+        E entity = load(descriptor, code);
+        changes.accept(entity);
+        checkShortNameUnique(descriptor, entity, code);
+
+        E saved = descriptor.getRepository().save(entity);
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{} updated: {}", descriptor.getLabel(), code);
+        return descriptor.getToResponse().apply(saved);
+    }
+
+    @Transactional
+    public <E, R> R deactivate(LookupTable table, String code) {
+        LookupDescriptor<E, R> descriptor = descriptor(table);
+        E entity = load(descriptor, code);
+        descriptor.getDeactivate().accept(entity);
+
+        E saved = descriptor.getRepository().save(entity);
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{} deactivated: {}", descriptor.getLabel(), code);
+        return descriptor.getToResponse().apply(saved);
+    }
+
+    @Transactional
+    public void delete(LookupTable table, String code) {
+        LookupDescriptor<?, ?> descriptor = descriptor(table);
+        if (!descriptor.getRepository().existsById(code)) {
+            throw new IllegalArgumentException(descriptor.getLabel() + " not found with code: " + code);
+        }
+        descriptor.getRepository().deleteById(code);
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{} deleted: {}", descriptor.getLabel(), code);
+    }
+
+    // ---- bulk writes: one statement batch and one invalidation per call ----
+
+    @Transactional
+    public <E, R> List<R> saveAll(LookupTable table, Collection<E> entities) {
+        LookupDescriptor<E, R> descriptor = descriptor(table);
+        List<E> saved = descriptor.getRepository().saveAll(entities);
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{}: {} rows saved in bulk", descriptor.getLabel(), saved.size());
+        return saved.stream().map(descriptor.getToResponse()).toList();
+    }
+
+    @Transactional
+    public <E> int deactivateAll(LookupTable table, Collection<String> codes) {
+        LookupDescriptor<E, ?> descriptor = descriptor(table);
+        List<E> entities = loadAll(descriptor, codes);
+        entities.forEach(descriptor.getDeactivate());
+        descriptor.getRepository().saveAll(entities);
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{}: {} rows deactivated in bulk", descriptor.getLabel(), entities.size());
+        return entities.size();
+    }
+
+    @Transactional
+    public int deleteAll(LookupTable table, Collection<String> codes) {
+        LookupDescriptor<?, ?> descriptor = descriptor(table);
+        List<?> entities = loadAll(descriptor, codes);
+        descriptor.getRepository().deleteAllByIdInBatch(new LinkedHashSet<>(codes));
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{}: {} rows deleted in bulk", descriptor.getLabel(), entities.size());
+        return entities.size();
+    }
+
+    /**
+     * Reorder rows in one UPDATE ... FROM (VALUES ...) statement. The listed rows are
+     * permuted among the hierarchy slots they already occupy, so rows left out of the
+     * list keep their position. Returns the number of rows whose order changed.
+     */
+    @Transactional
+    public int reorder(LookupTable table, List<String> orderedCodes) {
+        LookupDescriptor<?, ?> descriptor = descriptor(table);
+        if (descriptor.getCodeColumn() == null || descriptor.getHierarchyOrder() == null) {
+            throw new IllegalArgumentException(descriptor.getLabel() + " does not support reordering");
+        }
+        if (orderedCodes == null || orderedCodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one code is required to reorder " + descriptor.getLabel());
+        }
+        if (new LinkedHashSet<>(orderedCodes).size() != orderedCodes.size()) {
+            throw new IllegalArgumentException("Duplicate codes in reorder request for " + descriptor.getLabel());
+        }
+
+        List<Integer> slots = hierarchySlots(descriptor, orderedCodes);
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < orderedCodes.size(); i++) {
+            values.append(i == 0 ? "" : ", ").append("(:c").append(i).append(", :o").append(i).append(')');
+        }
+        String sql = "UPDATE " + table.getTableName() + " AS t SET hierarchyorder = v.ord"
+                + " FROM (VALUES " + values + ") AS v(code, ord)"
+                + " WHERE t." + descriptor.getCodeColumn() + " = v.code AND t.hierarchyorder IS DISTINCT FROM v.ord";
+        Query query = entityManager.createNativeQuery(sql);
+        for (int i = 0; i < orderedCodes.size(); i++) {
+            query.setParameter("c" + i, orderedCodes.get(i));
+            query.setParameter("o" + i, slots.get(i));
+        }
+        int updated = query.executeUpdate();
+
+        eventPublisher.publishEvent(new LookupChangedEvent(table));
+        log.info("{}: {} of {} rows reordered", descriptor.getLabel(), updated, orderedCodes.size());
+        return updated;
+    }
+
+    // Runs ahead of every cache built on top of the snapshots
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onLookupChanged(LookupChangedEvent event) {
+        if (snapshots.remove(event.getTable()) != null) {
+            log.debug("Lookup snapshot dropped for {}", event.getTable());
+        }
+    }
+
+    // ---- internals ----
+
+    @SuppressWarnings("unchecked")
+    private <E, R> LookupDescriptor<E, R> descriptor(LookupTable table) {
+        LookupDescriptor<?, ?> descriptor = registry.get(table);
+        if (descriptor == null) {
+            throw new IllegalArgumentException("No lookup registered for table: " + table);
+        }
+        return (LookupDescriptor<E, R>) descriptor;
+    }
+
+    private <E> E load(LookupDescriptor<E, ?> descriptor, String code) {
+        return descriptor.getRepository().findById(code)
+                .orElseThrow(() -> new IllegalArgumentException(descriptor.getLabel() + " not found with code: " + code));
+    }
+
+    // Fails the whole batch if any code is unknown
+    private <E> List<E> loadAll(LookupDescriptor<E, ?> descriptor, Collection<String> codes) {
+        Set<String> wanted = new LinkedHashSet<>(codes);
+        List<E> entities = descriptor.getRepository().findAllById(wanted);
+        if (entities.size() != wanted.size()) {
+            for (E entity : entities) {
+                wanted.remove(descriptor.getCode().apply(entity));
+            }
+            throw new IllegalArgumentException(descriptor.getLabel() + " not found with codes: " + wanted);
+        }
+        return entities;
+    }
+
+    // Current hierarchy orders of the given rows, ascending
+    private <E> List<Integer> hierarchySlots(LookupDescriptor<E, ?> descriptor, List<String> codes) {
+        Snapshot<E, ?> snapshot = snapshot(descriptor.getTable());
+        List<Integer> slots = new ArrayList<>(codes.size());
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String code : codes) {
+            Row<E, ?> row = snapshot.byCode.get(code);
+            if (row == null) {
+                unknown.add(code);
+            } else {
+                slots.add(descriptor.getHierarchyOrder().apply(row.entity));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException(descriptor.getLabel() + " not found with codes: " + unknown);
+        }
+        slots.sort(Comparator.nullsLast(Comparator.naturalOrder()));
+        return slots;
+    }
+
+    // Compared with the committed rows: the snapshot never contains the entity being changed
+    private <E> void checkShortNameUnique(LookupDescriptor<E, ?> descriptor, E entity, String code) {
+        if (!descriptor.isUniqueShortName() || descriptor.getShortName() == null) {
+            return;
+        }
+        String shortName = descriptor.getShortName().apply(entity);
+        Row<?, ?> existing = shortName != null ? snapshot(descriptor.getTable()).byShortName.get(shortName) : null;
+        if (existing != null && !existing.code.equals(code)) {
+            throw new IllegalArgumentException(descriptor.getLabel() + " with short name " + shortName + " already exists");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E, R> List<R> filter(LookupTable table, Predicate<Row<E, R>> predicate) {
+        Snapshot<E, R> snapshot = (Snapshot<E, R>) snapshot(table);
+        List<R> result = new ArrayList<>();
+        for (Row<E, R> row : snapshot.rows) {
+            if (predicate.test(row)) {
+                result.add(row.response);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E, R> Snapshot<E, R> snapshot(LookupTable table) {
+        return (Snapshot<E, R>) snapshots.computeIfAbsent(table,
+                t -> snapshotTransaction.execute(status -> build(descriptor(t))));
+    }
+
+    private <E, R> Snapshot<E, R> build(LookupDescriptor<E, R> descriptor) {
+        long start = System.nanoTime();
+        List<E> entities = new ArrayList<>(descriptor.getRepository().findAll());
+        // The request's open session may be reused here; a later write must load its own instance
+        entities.forEach(entityManager::detach);
+        entities.sort(Comparator.comparing(descriptor.getHierarchyOrder(), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Snapshot<E, R> snapshot = new Snapshot<>(entities.size());
+        for (E entity : entities) {
+            Row<E, R> row = new Row<>(
+                    descriptor.getCode().apply(entity),
+                    entity,
+                    descriptor.getToResponse().apply(entity),
+                    descriptor.getActive().test(entity));
+            snapshot.add(row, descriptor.getFullName().apply(entity),
+                    descriptor.getShortName() != null ? descriptor.getShortName().apply(entity) : null);
+        }
+        log.debug("Lookup snapshot for {} built with {} rows in {} ms", descriptor.getTable(), entities.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return snapshot.seal();
+    }
+
+    private static final class Row<E, R> {
+        final String code;
+        final E entity;
+        final R response;
+        final boolean active;
+
+        Row(String code, E entity, R response, boolean active) {
+            this.code = code;
+            this.entity = entity;
+            this.response = response;
+            this.active = active;
+        }
+    }
+
+    private static final class Snapshot<E, R> {
+        final List<Row<E, R>> rows;
+        final Map<String, Row<E, R>> byCode;
+        final Map<String, Row<E, R>> byShortName;
+        final Map<String, String> names;
+        List<R> responses;
+
+        Snapshot(int size) {
+            this.rows = new ArrayList<>(size);
+            this.byCode = new HashMap<>(size * 2);
+            this.byShortName = new HashMap<>(size * 2);
+            this.names = new HashMap<>(size * 2);
+        }
+
+        void add(Row<E, R> row, String fullName, String shortName) {
+            rows.add(row);
+            byCode.put(row.code, row);
+            if (shortName != null) {
+                byShortName.put(shortName, row);
+            }
+            if (fullName != null) {
+                names.put(row.code, fullName);
+            }
+        }
+
+        Snapshot<E, R> seal() {
+            List<R> all = new ArrayList<>(rows.size());
+            for (Row<E, R> row : rows) {
+                all.add(row.response);
+            }
+            responses = Collections.unmodifiableList(all);
+            return this;
+        }
+    }
+}
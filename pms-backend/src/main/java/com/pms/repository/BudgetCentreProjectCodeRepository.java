@@ -13,10 +13,10 @@ import java.util.Optional;
 @Repository
 public interface BudgetCentreProjectCodeRepository extends JpaRepository<BudgetCentreProjectCode, BudgetCentreProjectCodeId> {
     
-    @Query("SELECT b FROM BudgetCentreProjectCode b WHERE b.toDate IS NULL OR b.toDate > CURRENT_DATE")
+    @Query("SELECT b FROM BudgetCentreProjectCode b WHERE b.activeFlag = true")
     List<BudgetCentreProjectCode> findAllActive();
     
-    @Query("SELECT b FROM BudgetCentreProjectCode b WHERE b.toDate IS NOT NULL AND b.toDate <= CURRENT_DATE")
+    @Query("SELECT b FROM BudgetCentreProjectCode b WHERE b.activeFlag = false")
     List<BudgetCentreProjectCode> findAllInactive();
     
     Optional<BudgetCentreProjectCode> findByBudgetCentreProjectShortName(String shortName);
@@ -0,0 +1,60 @@
+package com.pms.repository;
+
+import com.pms.entity.DocumentJob;
+import com.pms.entity.DocumentJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface DocumentJobRepository extends JpaRepository<DocumentJob, Long> {
+
+    // Due jobs, row-locked; rows another worker holds are skipped rather than waited for
+    @Query(value = "SELECT * FROM document_jobs WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<DocumentJob> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Jobs whose worker died with them, for instance in a restart, go back to the queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentJob j SET j.status = com.pms.entity.DocumentJobStatus.PENDING, j.nextAttemptAt = :now, " +
+           "j.lockedAt = NULL, j.updatedAt = :now " +
+           "WHERE j.status = com.pms.entity.DocumentJobStatus.RUNNING AND j.lockedAt < :cutoff")
+    int requeueStale(@Param("cutoff") Instant cutoff, @Param("now") Instant now);
+
+    // Lease heartbeat; 0 when the job is no longer held under that lease
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentJob j SET j.lockedAt = :renewed, j.updatedAt = :renewed " +
+           "WHERE j.id = :id AND j.status = com.pms.entity.DocumentJobStatus.RUNNING AND j.lockedAt = :lockedAt")
+    int renewLease(@Param("id") Long id, @Param("lockedAt") Instant lockedAt, @Param("renewed") Instant renewed);
+
+    // Finishing writes only land while the worker still holds the lease it claimed the job under
+    @Modifying
+    @Query("UPDATE DocumentJob j SET j.status = com.pms.entity.DocumentJobStatus.DONE, j.lockedAt = NULL, " +
+           "j.lastError = NULL, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.pms.entity.DocumentJobStatus.RUNNING AND j.lockedAt = :lockedAt")
+    int complete(@Param("id") Long id, @Param("lockedAt") Instant lockedAt, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentJob j SET j.status = :status, j.nextAttemptAt = :nextAttemptAt, j.lockedAt = NULL, " +
+           "j.lastError = :lastError, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.pms.entity.DocumentJobStatus.RUNNING AND j.lockedAt = :lockedAt")
+    int release(@Param("id") Long id, @Param("lockedAt") Instant lockedAt, @Param("status") DocumentJobStatus status,
+                @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError,
+                @Param("now") Instant now);
+
+    boolean existsBySha256(String sha256);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DocumentJob j WHERE j.sha256 = :sha256")
+    int deleteBySha256(@Param("sha256") String sha256);
+}
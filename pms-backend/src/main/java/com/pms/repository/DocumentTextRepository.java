@@ -0,0 +1,30 @@
+package com.pms.repository;
+
+import com.pms.entity.DocumentText;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DocumentTextRepository extends JpaRepository<DocumentText, String> {
+
+    interface SearchHit {
+        String getSha256();
+        Integer getPageCount();
+        String getSnippet();
+    }
+
+    // Ranks first and builds headlines only for the rows kept; the to_tsvector expression matches idx_document_texts_search in db/indexes.sql
+    @Query(value = "SELECT t.sha256 AS sha256, t.page_count AS pageCount, " +
+                   "ts_headline('english', t.text, plainto_tsquery('english', :query), " +
+                   "'MaxFragments=2, MaxWords=20, MinWords=5') AS snippet " +
+                   "FROM (SELECT d.sha256, ts_rank(to_tsvector('english', coalesce(d.text, '')), " +
+                   "plainto_tsquery('english', :query)) AS rank FROM document_texts d " +
+                   "WHERE to_tsvector('english', coalesce(d.text, '')) @@ plainto_tsquery('english', :query) " +
+                   "ORDER BY rank DESC LIMIT :limit) r " +
+                   "JOIN document_texts t ON t.sha256 = r.sha256 ORDER BY r.rank DESC", nativeQuery = true)
+    List<SearchHit> search(@Param("query") String query, @Param("limit") int limit);
+}
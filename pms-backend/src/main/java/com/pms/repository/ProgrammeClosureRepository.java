@@ -0,0 +1,41 @@
+package com.pms.repository;
+
+import com.pms.entity.ProgrammeClosure;
+import com.pms.entity.ProgrammeClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProgrammeClosureRepository extends JpaRepository<ProgrammeClosure, ProgrammeClosureId> {
+
+    // A new root is only its own ancestor
+    @Modifying
+    @Query(value = "INSERT INTO programme_closure (ancestor_id, descendant_id, depth) VALUES (?1, ?1, 0)",
+           nativeQuery = true)
+    int insertRoot(Long nodeId);
+
+    // A new node: itself at depth 0, plus every ancestor of its parent one level further away
+    @Modifying
+    @Query(value = "INSERT INTO programme_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT ancestor_id, ?1, depth + 1 FROM programme_closure WHERE descendant_id = ?2 " +
+                   "UNION ALL SELECT ?1, ?1, 0", nativeQuery = true)
+    int insertNode(Long nodeId, Long parentId);
+
+    // Cut the subtree under a node loose from everything above the node; links inside the subtree stay
+    @Modifying
+    @Query(value = "DELETE FROM programme_closure " +
+                   "WHERE descendant_id IN (SELECT descendant_id FROM programme_closure WHERE ancestor_id = ?1) " +
+                   "AND ancestor_id NOT IN (SELECT descendant_id FROM programme_closure WHERE ancestor_id = ?1)",
+           nativeQuery = true)
+    int detachSubtree(Long nodeId);
+
+    // Link every ancestor of the new parent (itself included) to every node of the subtree
+    @Modifying
+    @Query(value = "INSERT INTO programme_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+                   "FROM programme_closure a CROSS JOIN programme_closure d " +
+                   "WHERE a.descendant_id = ?2 AND d.ancestor_id = ?1", nativeQuery = true)
+    int attachSubtree(Long nodeId, Long parentId);
+}
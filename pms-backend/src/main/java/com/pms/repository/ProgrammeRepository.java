@@ -0,0 +1,13 @@
+package com.pms.repository;
+
+import com.pms.entity.Programme;
+import com.pms.entity.ProgrammeLevel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProgrammeRepository extends JpaRepository<Programme, Long> {
+    List<Programme> findByLevel(ProgrammeLevel level);
+}
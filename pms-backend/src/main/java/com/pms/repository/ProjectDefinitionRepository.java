@@ -2,11 +2,18 @@ package com.pms.repository;
 
 import com.pms.entity.ProjectDefinition;
 import com.pms.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectDefinitionRepository extends JpaRepository<ProjectDefinition, Long> {
@@ -18,4 +25,28 @@ public interface ProjectDefinitionRepository extends JpaRepository<ProjectDefini
     List<ProjectDefinition> findAll();
     Optional<ProjectDefinition> findByShortName(String shortName);
     List<ProjectDefinition> findByCategory(String category);
+
+    // Roll-ups over the programme hierarchy: one join on the closure table, whatever the depth
+    @Query("SELECT p FROM ProjectDefinition p JOIN ProgrammeClosure c ON c.descendantId = p.programmeId " +
+           "WHERE c.ancestorId = ?1 ORDER BY p.id")
+    List<ProjectDefinition> findUnderProgramme(Long programmeId);
+
+    @Query("SELECT COUNT(p), " +
+           "SUM(CASE WHEN p.status <> com.pms.entity.ProjectStatus.COMPLETED THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(p.sanctionedAmount), 0) " +
+           "FROM ProjectDefinition p JOIN ProgrammeClosure c ON c.descendantId = p.programmeId " +
+           "WHERE c.ancestorId = ?1")
+    List<Object[]> summariseUnderProgramme(Long programmeId);
+
+    List<ProjectDefinition> findByProjectDocumentPathIn(Collection<String> paths);
+
+    boolean existsByProjectDocumentPath(String path);
+
+    // Upload reconciler: every document path in use, streamed in a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.projectDocumentPath FROM ProjectDefinition p WHERE p.projectDocumentPath IS NOT NULL")
+    Stream<String> streamDocumentPaths();
+
+    @Query("SELECT p.projectDocumentPath FROM ProjectDefinition p WHERE p.projectDocumentPath IN :paths")
+    List<String> findDocumentPathsIn(@Param("paths") Collection<String> paths);
 }
@@ -1,33 +1,35 @@
 package com.pms.repository;
 
 import com.pms.entity.ProjectDetail;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectDetailRepository extends JpaRepository<ProjectDetail, String> {
-    
-    @Query("SELECT p FROM ProjectDetail p WHERE p.regStatus = 'R' ORDER BY p.missionProjectCode DESC")
-    List<ProjectDetail> findAllActive();
-    
-    @Query("SELECT p FROM ProjectDetail p WHERE p.missionProjectDirector = ?1 ORDER BY p.missionProjectCode DESC")
-    List<ProjectDetail> findByMissionProjectDirector(String directorId);
-    
-    @Query("SELECT p FROM ProjectDetail p WHERE p.programmeDirector = ?1 ORDER BY p.missionProjectCode DESC")
-    List<ProjectDetail> findByProgrammeDirector(String programmeDirectorId);
-    
-    @Query("SELECT p FROM ProjectDetail p WHERE p.missionProjectDirector = ?1 OR p.programmeDirector = ?2 ORDER BY p.missionProjectCode DESC")
-    List<ProjectDetail> findByMissionProjectDirectorOrProgrammeDirector(String directorId, String programmeDirectorId);
-    
-    @Query("SELECT p FROM ProjectDetail p ORDER BY p.missionProjectCode DESC")
-    List<ProjectDetail> findAllOrderByCodeDesc();
+public interface ProjectDetailRepository extends JpaRepository<ProjectDetail, String>, JpaSpecificationExecutor<ProjectDetail> {
     
     Optional<ProjectDetail> findByMissionProjectShortName(String shortName);
     
     @Query("SELECT MAX(CAST(SUBSTRING(p.missionProjectCode, 6) AS integer)) FROM ProjectDetail p WHERE p.missionProjectCode LIKE ?1%")
     Optional<Integer> findMaxSequenceByYear(String yearPrefix);
+
+    // Upload reconciler: the three document copies of every project, streamed in a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.fsCopy, p.costOverrunApprovalCopy, p.timeOverrunApprovalCopy FROM ProjectDetail p " +
+           "WHERE p.fsCopy IS NOT NULL OR p.costOverrunApprovalCopy IS NOT NULL OR p.timeOverrunApprovalCopy IS NOT NULL")
+    Stream<Object[]> streamDocumentPaths();
+
+    @Query("SELECT p.fsCopy, p.costOverrunApprovalCopy, p.timeOverrunApprovalCopy FROM ProjectDetail p " +
+           "WHERE p.fsCopy IN :paths OR p.costOverrunApprovalCopy IN :paths OR p.timeOverrunApprovalCopy IN :paths")
+    List<Object[]> findDocumentPathsIn(@Param("paths") Collection<String> paths);
 }
@@ -0,0 +1,55 @@
+package com.pms.repository;
+
+import com.pms.entity.StoredDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface StoredDocumentRepository extends JpaRepository<StoredDocument, String> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredDocument d SET d.refCount = d.refCount + 1, d.lastUsedAt = :now WHERE d.sha256 = :sha256")
+    int retain(@Param("sha256") String sha256, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredDocument d SET d.refCount = d.refCount - 1, d.lastUsedAt = :now " +
+           "WHERE d.sha256 = :sha256 AND d.refCount > 0")
+    int release(@Param("sha256") String sha256, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredDocument d SET d.lastUsedAt = :now WHERE d.sha256 = :sha256")
+    int touch(@Param("sha256") String sha256, @Param("now") Instant now);
+
+    @Query("SELECT d.sha256 FROM StoredDocument d WHERE d.refCount = 0 AND d.lastUsedAt < :cutoff")
+    List<String> findUnreferenced(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    // Re-checks both conditions, so a blob retained or re-uploaded since it was listed is kept
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredDocument d WHERE d.sha256 = :sha256 AND d.refCount = 0 AND d.lastUsedAt < :cutoff")
+    int deleteIfUnreferenced(@Param("sha256") String sha256, @Param("cutoff") Instant cutoff);
+
+    // Upload reconciler: every stored hash, referenced or not, streamed in a read-only transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.sha256 FROM StoredDocument d")
+    Stream<String> streamHashes();
+
+    @Query("SELECT d.sha256 FROM StoredDocument d WHERE d.sha256 IN :hashes")
+    List<String> findHashesIn(@Param("hashes") Collection<String> hashes);
+}
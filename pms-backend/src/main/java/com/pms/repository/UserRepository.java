@@ -1,9 +1,17 @@
 package com.pms.repository;
 
+import com.pms.dto.PendingRoleRequestDTO;
+import com.pms.dto.RegisteredEmployeeDTO;
+import com.pms.entity.Role;
 import com.pms.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +20,69 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmployeeCode(String employeeCode);
     boolean existsByEmployeeCode(String employeeCode);
     List<User> findByRole_Name(String roleName);
+
+    // Keyset pages for the role-management lists: rows after afterId in id order, limited by the Pageable
+    @Query("SELECT new com.pms.dto.RegisteredEmployeeDTO(u.id, u.fullName, u.employeeCode, r.name, p.name, " +
+           "CASE WHEN u.active = true THEN 'APPROVED' WHEN u.rejectedAt IS NOT NULL THEN 'REJECTED' ELSE 'PENDING' END, u.createdAt) " +
+           "FROM User u JOIN u.role r LEFT JOIN Programme p ON p.id = u.assignedProgrammeId WHERE u.id > ?1 ORDER BY u.id")
+    List<RegisteredEmployeeDTO> findEmployeePage(Long afterId, Pageable limit);
+
+    @Query("SELECT new com.pms.dto.RegisteredEmployeeDTO(u.id, u.fullName, u.employeeCode, r.name, p.name, " +
+           "CASE WHEN u.active = true THEN 'APPROVED' WHEN u.rejectedAt IS NOT NULL THEN 'REJECTED' ELSE 'PENDING' END, u.createdAt) " +
+           "FROM User u JOIN u.role r LEFT JOIN Programme p ON p.id = u.assignedProgrammeId WHERE u.active = ?1 AND u.id > ?2 ORDER BY u.id")
+    List<RegisteredEmployeeDTO> findEmployeePageByActive(Boolean active, Long afterId, Pageable limit);
+
+    @Query("SELECT new com.pms.dto.RegisteredEmployeeDTO(u.id, u.fullName, u.employeeCode, r.name, p.name, " +
+           "CASE WHEN u.active = true THEN 'APPROVED' WHEN u.rejectedAt IS NOT NULL THEN 'REJECTED' ELSE 'PENDING' END, u.createdAt) " +
+           "FROM User u JOIN u.role r LEFT JOIN Programme p ON p.id = u.assignedProgrammeId WHERE u.active = ?1 AND u.id < ?2 ORDER BY u.id DESC")
+    List<RegisteredEmployeeDTO> findEmployeePageByActiveNewest(Boolean active, Long beforeId, Pageable limit);
+
+    @Query("SELECT new com.pms.dto.RegisteredEmployeeDTO(u.id, u.fullName, u.employeeCode, r.name, p.name, " +
+           "CASE WHEN u.active = true THEN 'APPROVED' WHEN u.rejectedAt IS NOT NULL THEN 'REJECTED' ELSE 'PENDING' END, u.createdAt) " +
+           "FROM User u JOIN u.role r LEFT JOIN Programme p ON p.id = u.assignedProgrammeId WHERE u.active = ?1 " +
+           "AND u.fullName >= ?2 AND (u.fullName > ?2 OR u.id > ?3) ORDER BY u.fullName, u.id")
+    List<RegisteredEmployeeDTO> findEmployeePageByActiveAndName(Boolean active, String afterName, Long afterId, Pageable limit);
+
+    @Query("SELECT u.fullName FROM User u WHERE u.id = ?1")
+    Optional<String> findFullNameById(Long id);
+
+    @Query("SELECT new com.pms.dto.RegisteredEmployeeDTO(u.id, u.fullName, u.employeeCode, r.name, p.name, " +
+           "CASE WHEN u.active = true THEN 'APPROVED' WHEN u.rejectedAt IS NOT NULL THEN 'REJECTED' ELSE 'PENDING' END, u.createdAt) " +
+           "FROM User u JOIN u.role r LEFT JOIN Programme p ON p.id = u.assignedProgrammeId WHERE r.id = ?1 AND u.id > ?2 ORDER BY u.id")
+    List<RegisteredEmployeeDTO> findEmployeePageByRole(Long roleId, Long afterId, Pageable limit);
+
+    @Query("SELECT new com.pms.dto.PendingRoleRequestDTO(u.id, u.fullName, u.employeeCode, r.name, u.createdAt, 'PENDING') " +
+           "FROM User u JOIN u.role r WHERE u.active = false AND u.rejectedAt IS NULL AND u.id > ?1 ORDER BY u.id")
+    List<PendingRoleRequestDTO> findPendingRequestPage(Long afterId, Pageable limit);
+
+    @Query("SELECT new com.pms.dto.PendingRoleRequestDTO(u.id, u.fullName, u.employeeCode, r.name, u.createdAt, 'PENDING') " +
+           "FROM User u JOIN u.role r WHERE u.active = false AND u.rejectedAt IS NULL AND u.id < ?1 ORDER BY u.id DESC")
+    List<PendingRoleRequestDTO> findPendingRequestPageNewest(Long beforeId, Pageable limit);
+
+    // The >= bound lets the (active, full_name, id) index start at the cursor; the OR only settles ties on the name
+    @Query("SELECT new com.pms.dto.PendingRoleRequestDTO(u.id, u.fullName, u.employeeCode, r.name, u.createdAt, 'PENDING') " +
+           "FROM User u JOIN u.role r WHERE u.active = false AND u.rejectedAt IS NULL " +
+           "AND u.fullName >= ?1 AND (u.fullName > ?1 OR u.id > ?2) ORDER BY u.fullName, u.id")
+    List<PendingRoleRequestDTO> findPendingRequestPageByName(String afterName, Long afterId, Pageable limit);
+
+    // Current state of the users named in a bulk decision, in one round trip
+    @Query("SELECT new com.pms.dto.PendingRoleRequestDTO(u.id, u.fullName, u.employeeCode, r.name, u.createdAt, " +
+           "CASE WHEN u.active = true THEN 'APPROVED' WHEN u.rejectedAt IS NOT NULL THEN 'REJECTED' ELSE 'PENDING' END) " +
+           "FROM User u JOIN u.role r WHERE u.id IN ?1")
+    List<PendingRoleRequestDTO> findRequestStates(Collection<Long> ids);
+
+    // Bulk updates bypass @PreUpdate, so updatedAt is set explicitly; only still-pending rows, neither approved nor rejected, are touched
+    @Modifying
+    @Query("UPDATE User u SET u.active = true, u.role = ?1, u.updatedAt = ?3 " +
+           "WHERE u.id IN ?2 AND u.active = false AND u.rejectedAt IS NULL")
+    int approvePending(Role role, Collection<Long> ids, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE User u SET u.assignedProgrammeId = ?1 WHERE u.id IN ?2")
+    int assignProgramme(Long programmeId, Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.rejectionReason = ?2, u.rejectedAt = ?3, u.updatedAt = ?3 " +
+           "WHERE u.id IN ?1 AND u.active = false AND u.rejectedAt IS NULL")
+    int rejectPending(Collection<Long> ids, String rejectionReason, LocalDateTime now);
 }
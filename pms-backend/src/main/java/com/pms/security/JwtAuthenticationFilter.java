@@ -1,5 +1,6 @@
 package com.pms.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,40 +20,37 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final PublicEndpoints publicEndpoints;
+    private final TokenRevocationStore tokenRevocationStore;
+
+    // Public endpoints never look at the token
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicEndpoints.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        String requestPath = request.getRequestURI();
-        String servletPath = request.getServletPath();
-        
-        log.debug("Request URI: {}, Servlet Path: {}", requestPath, servletPath);
-        
-        // Skip JWT validation for auth and generics/lookup endpoints
-        if (servletPath != null && (servletPath.contains("auth") || servletPath.contains("programme-offices") 
-                || servletPath.contains("programme-types") || servletPath.contains("project-activities") 
-                || servletPath.contains("project-categories") || servletPath.contains("project-milestones") 
-                || servletPath.contains("project-phases-generic") || servletPath.contains("project-status-codes")
-                || servletPath.contains("sanctioning-authorities")
-                || servletPath.contains("employee-details"))) {
-            log.debug("Skipping JWT validation for auth/generics/lookup endpoints");
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
         try {
             String token = extractTokenFromRequest(request);
-            if (token != null && jwtUtil.validateToken(token)) {
-                String employeeCode = jwtUtil.getEmployeeCodeFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(employeeCode);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities()
-                        );
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwtUtil.verifyToken(token);
+            if (claims != null && tokenRevocationStore.isRevoked(claims.getId())) {
+                log.debug("Rejected revoked token {}", claims.getId());
+            } else if (claims != null) {
+                String employeeCode = claims.getSubject();
+                UserDetails userDetails = principalCache.get(employeeCode);
+                if (userDetails != null && userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities()
+                            );
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    log.debug("No active user for token subject {}", employeeCode);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication: {}", ex.getMessage());
@@ -1,9 +1,11 @@
 package com.pms.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -13,6 +15,11 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 @Slf4j
@@ -23,6 +30,23 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    // Recently verified tokens kept to skip the HMAC check on repeat requests; 0 disables
+    @Value("${jwt.verified-cache-size:1024}")
+    private int verifiedCacheSize;
+
+    private SecretKey key;
+    private JwtParser parser;
+    // Read lock-free on every request; bounded by sweeping on insert rather than by access order
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    // The key and parser are immutable and thread-safe, so both are built once
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(key).build();
+    }
+
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         return buildToken(userPrincipal.getUsername());
@@ -33,8 +57,9 @@ public class JwtUtil {
     }
 
     private String buildToken(String employeeCode) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         return Jwts.builder()
+                // Unique id so that a single token can be revoked
+                .id(UUID.randomUUID().toString())
                 .subject(employeeCode)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
@@ -42,27 +67,70 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its claims, or null when the token is invalid or expired.
+     * A token seen recently is answered from the cache as long as it has not expired since.
+     */
+    public Claims verifyToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        VerifiedToken cached = verifiedCacheSize > 0 ? verifiedTokens.get(signature) : null;
+        if (cached != null && cached.token().equals(token)) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                return cached.claims();
+            }
+            verifiedTokens.remove(signature, cached);
+            return null;
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (verifiedCacheSize > 0 && claims.getExpiration() != null) {
+                if (verifiedTokens.size() >= verifiedCacheSize) {
+                    sweep();
+                }
+                verifiedTokens.put(signature, new VerifiedToken(token, claims, claims.getExpiration().getTime()));
+            }
+            return claims;
+        } catch (Exception ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    // Drops expired entries, then arbitrary ones until a quarter of the capacity is free again.
+    // One thread sweeps at a time; the others insert meanwhile and may briefly overshoot the bound.
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(entry -> entry.expiresAt() <= now);
+            int target = verifiedCacheSize - Math.max(verifiedCacheSize / 4, 1);
+            Iterator<VerifiedToken> entries = verifiedTokens.values().iterator();
+            while (verifiedTokens.size() > target && entries.hasNext()) {
+                entries.next();
+                entries.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
     public String getEmployeeCodeFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = verifyToken(token);
+        if (claims == null) {
+            throw new IllegalArgumentException("Invalid JWT token");
+        }
         return claims.getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception ex) {
-            log.error("Invalid JWT token: {}", ex.getMessage());
-            return false;
-        }
+        return verifyToken(token) != null;
+    }
+
+    private record VerifiedToken(String token, Claims claims, long expiresAt) {
     }
 }
@@ -0,0 +1,18 @@
+package com.pms.security;
+
+/**
+ * Thrown when a login or signup is turned away before any password hashing, either because the
+ * caller is throttled or because the hashing executor is saturated. Mapped to 429.
+ */
+public class LoginRejectedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
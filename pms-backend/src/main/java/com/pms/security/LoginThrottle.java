@@ -0,0 +1,184 @@
+package com.pms.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per employee code and per client IP, checked before any password hashing.
+ *
+ * Every attempt takes a token from both buckets and a successful login gives them back, so only
+ * failures drain them. The address is checked first, so an attempt refused for its address never
+ * creates or drains a bucket for the account it named. Buckets live in a lock-striped map: each
+ * stripe is an access-ordered LinkedHashMap behind its own lock, and idle buckets are swept once
+ * they have had time to refill completely. A stripe full of buckets that are still refilling
+ * refuses new keys until one of them goes idle: forgetting a bucket early would hand its key a
+ * fresh allowance, so the throttle fails closed instead.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private final Buckets accounts;
+    private final Buckets addresses;
+
+    public LoginThrottle(@Value("${login.throttle.account.capacity:5}") int accountCapacity,
+                         @Value("${login.throttle.account.refill-per-minute:1}") double accountRefillPerMinute,
+                         @Value("${login.throttle.ip.capacity:30}") int ipCapacity,
+                         @Value("${login.throttle.ip.refill-per-minute:30}") double ipRefillPerMinute,
+                         @Value("${login.throttle.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.accounts = new Buckets(accountCapacity, accountRefillPerMinute, maxTrackedKeys);
+        this.addresses = new Buckets(ipCapacity, ipRefillPerMinute, maxTrackedKeys);
+    }
+
+    /**
+     * Takes one token for the address and one for the employee code, or throws
+     * {@link LoginRejectedException} without taking either.
+     */
+    public void acquire(String employeeCode, String clientIp) {
+        long now = System.nanoTime();
+        long addressWait = addresses.tryTake(clientIp, now);
+        if (addressWait != 0) {
+            throw rejected(addressWait > 0 ? "Too many failed attempts from this address"
+                    : "Too many login attempts in progress", addressWait);
+        }
+        long accountWait = accounts.tryTake(employeeCode, now);
+        if (accountWait != 0) {
+            addresses.giveBack(clientIp, now);
+            throw rejected(accountWait > 0 ? "Too many failed attempts for this account"
+                    : "Too many login attempts in progress", accountWait);
+        }
+    }
+
+    // Successful logins, and attempts that never reached the password check, do not count
+    public void release(String employeeCode, String clientIp) {
+        long now = System.nanoTime();
+        accounts.giveBack(employeeCode, now);
+        addresses.giveBack(clientIp, now);
+    }
+
+    @Scheduled(fixedDelayString = "${login.throttle.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int removed = accounts.sweep(now) + addresses.sweep(now);
+        if (removed > 0) {
+            log.debug("Login throttle swept {} idle buckets", removed);
+        }
+    }
+
+    private static LoginRejectedException rejected(String message, long waitNanos) {
+        waitNanos = Math.abs(waitNanos);
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        return new LoginRejectedException(message + ", retry in " + seconds + " seconds", seconds);
+    }
+
+    private static final class Buckets {
+        private static final int STRIPES = 64;
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final long fullRefillNanos;
+        private final int maxPerStripe;
+        private final Object[] locks = new Object[STRIPES];
+        @SuppressWarnings("unchecked")
+        private final Map<String, Bucket>[] stripes = new Map[STRIPES];
+
+        Buckets(int capacity, double refillPerMinute, int maxTrackedKeys) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.fullRefillNanos = (long) Math.ceil(capacity / tokensPerNano);
+            this.maxPerStripe = Math.max(1, maxTrackedKeys / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i] = new Object();
+                stripes[i] = new LinkedHashMap<>(16, 0.75f, true);
+            }
+        }
+
+        // 0 when a token was taken, otherwise nanoseconds until one is available; negative when the
+        // key has no bucket and its stripe has no room for one
+        long tryTake(String key, long now) {
+            int stripe = stripe(key);
+            synchronized (locks[stripe]) {
+                Map<String, Bucket> buckets = stripes[stripe];
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    if (buckets.size() >= maxPerStripe) {
+                        evictIdle(buckets, now);
+                    }
+                    if (buckets.size() >= maxPerStripe) {
+                        // Access order: the eldest bucket is the first to go idle
+                        Bucket eldest = buckets.values().iterator().next();
+                        return -Math.max(1, fullRefillNanos - (now - eldest.updatedAt));
+                    }
+                    bucket = new Bucket(capacity, now);
+                    buckets.put(key, bucket);
+                }
+                refill(bucket, now);
+                if (bucket.tokens >= 1) {
+                    bucket.tokens -= 1;
+                    return 0;
+                }
+                return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+            }
+        }
+
+        void giveBack(String key, long now) {
+            int stripe = stripe(key);
+            synchronized (locks[stripe]) {
+                Bucket bucket = stripes[stripe].get(key);
+                if (bucket != null) {
+                    refill(bucket, now);
+                    bucket.tokens = Math.min(capacity, bucket.tokens + 1);
+                }
+            }
+        }
+
+        int sweep(long now) {
+            int removed = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                synchronized (locks[i]) {
+                    removed += evictIdle(stripes[i], now);
+                }
+            }
+            return removed;
+        }
+
+        // A bucket untouched for a full refill period is indistinguishable from a new one
+        private int evictIdle(Map<String, Bucket> buckets, long now) {
+            int removed = 0;
+            for (Iterator<Bucket> it = buckets.values().iterator(); it.hasNext(); ) {
+                if (now - it.next().updatedAt >= fullRefillNanos) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+        private void refill(Bucket bucket, long now) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedAt) * tokensPerNano);
+            bucket.updatedAt = now;
+        }
+
+        private static int stripe(String key) {
+            int h = key.hashCode();
+            return (h ^ (h >>> 16)) & (STRIPES - 1);
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updatedAt = now;
+        }
+    }
+}
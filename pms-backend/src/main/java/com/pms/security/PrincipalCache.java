@@ -0,0 +1,130 @@
+package com.pms.security;
+
+import com.pms.entity.EmployeeDetails;
+import com.pms.entity.User;
+import com.pms.repository.EmployeeDetailsRepository;
+import com.pms.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Authenticated principals by employee code, so that a request carrying a valid token does not
+ * need a users + roles query before it reaches the controller.
+ *
+ * Entries are immutable snapshots of the user's role, active flag, assigned programme and centre.
+ * Services that change any of them call {@link #invalidate(String)}; the TTL only bounds how long
+ * a change made outside the application can go unnoticed.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final EmployeeDetailsRepository employeeDetailsRepository;
+    private final long ttlMillis;
+    private final Map<String, Entry> principals;
+
+    // Bumped on every invalidation; a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public PrincipalCache(UserRepository userRepository,
+                          EmployeeDetailsRepository employeeDetailsRepository,
+                          @Value("${security.principal-cache.max-entries:10000}") int maxEntries,
+                          @Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.employeeDetailsRepository = employeeDetailsRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.principals = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the principal for the employee code, or null when no such user exists.
+     */
+    public PrincipalSnapshot get(String employeeCode) {
+        Entry cached = principals.get(employeeCode);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAt > now) {
+            return cached.principal;
+        }
+
+        long seen = generation.get();
+        User user = userRepository.findByEmployeeCode(employeeCode).orElse(null);
+        if (user == null) {
+            principals.remove(employeeCode);
+            return null;
+        }
+        String centre = employeeDetailsRepository.findById(employeeCode)
+                .map(EmployeeDetails::getCentre)
+                .orElse(null);
+        PrincipalSnapshot principal = new PrincipalSnapshot(user.getUsername(), user.isEnabled(),
+                user.getAuthorities(), user.getAssignedProgrammeId(), centre);
+        if (generation.get() == seen) {
+            principals.put(employeeCode, new Entry(principal, now + ttlMillis));
+        }
+        return principal;
+    }
+
+    // Drop the entry now and again once the caller's transaction commits
+    public void invalidate(String employeeCode) {
+        evict(employeeCode);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(employeeCode);
+                }
+            });
+        }
+    }
+
+    // Batch form of invalidate(): one generation bump and one after-commit pass for all the codes
+    public void invalidateAll(Collection<String> employeeCodes) {
+        if (employeeCodes.isEmpty()) {
+            return;
+        }
+        evictAll(employeeCodes);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAll(employeeCodes);
+                }
+            });
+        }
+    }
+
+    private void evictAll(Collection<String> employeeCodes) {
+        generation.incrementAndGet();
+        int removed = 0;
+        for (String employeeCode : employeeCodes) {
+            if (principals.remove(employeeCode) != null) {
+                removed++;
+            }
+        }
+        log.debug("Principal cache evicted {} of {} entries", removed, employeeCodes.size());
+    }
+
+    private void evict(String employeeCode) {
+        generation.incrementAndGet();
+        if (principals.remove(employeeCode) != null) {
+            log.debug("Principal cache entry evicted for {}", employeeCode);
+        }
+    }
+
+    private record Entry(PrincipalSnapshot principal, long expiresAt) {
+    }
+}
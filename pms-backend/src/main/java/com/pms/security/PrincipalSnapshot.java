@@ -0,0 +1,34 @@
+package com.pms.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The principal {@link PrincipalCache} hands out: the user's authorities and active flag, plus the
+ * programme and employee-master centre that {@link ProjectAccessPolicy} scopes projects by, so that
+ * working out a caller's scope needs no query.
+ */
+public class PrincipalSnapshot extends User {
+
+    private final Long assignedProgrammeId;
+    private final String centre;
+
+    public PrincipalSnapshot(String employeeCode, boolean enabled, Collection<? extends GrantedAuthority> authorities,
+                             Long assignedProgrammeId, String centre) {
+        // Token-authenticated requests never see the password hash
+        super(employeeCode, "", enabled, true, true, true, authorities);
+        this.assignedProgrammeId = assignedProgrammeId;
+        this.centre = centre;
+    }
+
+    public Long getAssignedProgrammeId() {
+        return assignedProgrammeId;
+    }
+
+    // As the employee master holds it, a centre code or a full name; null without an employee record
+    public String getCentre() {
+        return centre;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pms.security;
+
+import com.pms.cache.BudgetCentreProjectCodeIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns the authenticated caller into a {@link ProjectScope}. Each role maps to a scope kind
+ * through project-access.role-scopes; a caller with several roles gets the widest. Roles without
+ * a mapping see their own projects only.
+ *
+ * The assigned programme and centre come from the {@link PrincipalSnapshot} the caller was
+ * authenticated with, or from {@link PrincipalCache} otherwise, so scoping a request costs no query.
+ */
+@Component
+@Slf4j
+public class ProjectAccessPolicy {
+
+    private final PrincipalCache principalCache;
+    private final BudgetCentreProjectCodeIndex budgetCentreProjectCodeIndex;
+    private final Map<String, ProjectScope.Kind> roleScopes = new HashMap<>();
+
+    public ProjectAccessPolicy(PrincipalCache principalCache,
+                               BudgetCentreProjectCodeIndex budgetCentreProjectCodeIndex,
+                               @Value("${project-access.role-scopes:ADMIN=ALL,CHAIRMAN=ALL,PROGRAMME_DIRECTOR=PROGRAMME,PROJECT_DIRECTOR=OWN}")
+                               String[] roleScopes) {
+        this.principalCache = principalCache;
+        this.budgetCentreProjectCodeIndex = budgetCentreProjectCodeIndex;
+        for (String entry : roleScopes) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid project-access.role-scopes entry: " + entry);
+            }
+            this.roleScopes.put("ROLE_" + parts[0].trim().toUpperCase(), ProjectScope.Kind.valueOf(parts[1].trim().toUpperCase()));
+        }
+    }
+
+    public ProjectScope scopeOf(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getName())) {
+            return ProjectScope.none();
+        }
+        String employeeCode = authentication.getName();
+        ProjectScope.Kind kind = ProjectScope.Kind.OWN;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            ProjectScope.Kind mapped = roleScopes.get(authority.getAuthority());
+            if (mapped != null && mapped.compareTo(kind) > 0) {
+                kind = mapped;
+            }
+        }
+
+        switch (kind) {
+            case ALL:
+                return ProjectScope.all();
+            case PROGRAMME: {
+                PrincipalSnapshot principal = principalOf(authentication);
+                Long programmeId = principal != null ? principal.getAssignedProgrammeId() : null;
+                return programmeId != null ? ProjectScope.programme(employeeCode, programmeId) : ProjectScope.own(employeeCode);
+            }
+            case CENTRE: {
+                PrincipalSnapshot principal = principalOf(authentication);
+                String centreCode = principal != null && principal.getCentre() != null
+                        ? centreCodeOf(principal.getCentre()) : null;
+                return centreCode != null ? ProjectScope.centre(employeeCode, centreCode) : ProjectScope.own(employeeCode);
+            }
+            case NONE:
+                return ProjectScope.none();
+            default:
+                return ProjectScope.own(employeeCode);
+        }
+    }
+
+    // Token requests carry the cached snapshot already; any other authentication is looked up in the cache
+    private PrincipalSnapshot principalOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof PrincipalSnapshot principal) {
+            return principal;
+        }
+        return principalCache.get(authentication.getName());
+    }
+
+    // The employee master holds either the two-character centre code or the centre's full name
+    private String centreCodeOf(String centre) {
+        Map<String, String> names = budgetCentreProjectCodeIndex.getCentreNameIndex();
+        String trimmed = centre.trim();
+        if (names.containsKey(trimmed)) {
+            return trimmed;
+        }
+        for (Map.Entry<String, String> entry : names.entrySet()) {
+            if (trimmed.equalsIgnoreCase(entry.getValue())) {
+                return entry.getKey();
+            }
+        }
+        log.debug("No centre code for employee centre '{}'", centre);
+        return null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.pms.security;
+
+import com.pms.entity.Programme;
+import com.pms.entity.ProgrammeClosure;
+import com.pms.entity.ProgrammeLevel;
+import com.pms.entity.ProjectDetail;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Which project details a caller may see, compiled into a predicate that the repository adds to
+ * its own WHERE clause, so rows outside the scope are never loaded.
+ *
+ * Every scope below ALL includes the caller's own projects (as mission project director or
+ * programme director); PROGRAMME adds projects whose programme type sits under the caller's
+ * assigned programme node, CENTRE adds projects led by the caller's centre.
+ */
+public final class ProjectScope {
+
+    public enum Kind { NONE, OWN, CENTRE, PROGRAMME, ALL }
+
+    private static final ProjectScope NONE = new ProjectScope(Kind.NONE, null, null, null);
+    private static final ProjectScope ALL = new ProjectScope(Kind.ALL, null, null, null);
+
+    private final Kind kind;
+    private final String employeeCode;
+    private final String centreCode;
+    private final Long programmeId;
+
+    private ProjectScope(Kind kind, String employeeCode, String centreCode, Long programmeId) {
+        this.kind = kind;
+        this.employeeCode = employeeCode;
+        this.centreCode = centreCode;
+        this.programmeId = programmeId;
+    }
+
+    public static ProjectScope none() {
+        return NONE;
+    }
+
+    public static ProjectScope all() {
+        return ALL;
+    }
+
+    public static ProjectScope own(String employeeCode) {
+        return new ProjectScope(Kind.OWN, employeeCode, null, null);
+    }
+
+    public static ProjectScope centre(String employeeCode, String centreCode) {
+        return new ProjectScope(Kind.CENTRE, employeeCode, centreCode, null);
+    }
+
+    public static ProjectScope programme(String employeeCode, Long programmeId) {
+        return new ProjectScope(Kind.PROGRAMME, employeeCode, null, programmeId);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Specification<ProjectDetail> toSpecification() {
+        return (root, query, cb) -> {
+            switch (kind) {
+                case ALL:
+                    return cb.conjunction();
+                case NONE:
+                    return cb.disjunction();
+                case CENTRE:
+                    return cb.or(own(root, cb), cb.equal(root.get("leadCentreCode"), centreCode));
+                case PROGRAMME:
+                    return cb.or(own(root, cb), root.get("programmeTypeCode").in(programmeTypeCodesUnder(programmeId, query, cb)));
+                default:
+                    return own(root, cb);
+            }
+        };
+    }
+
+    // Projects whose programme type sits anywhere under the given programme node
+    public static Specification<ProjectDetail> underProgramme(Long programmeId) {
+        return (root, query, cb) -> root.get("programmeTypeCode").in(programmeTypeCodesUnder(programmeId, query, cb));
+    }
+
+    // Programme type codes of every programme node under the given one, via the closure table
+    private static Subquery<String> programmeTypeCodesUnder(Long programmeId, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<String> codes = query.subquery(String.class);
+        Root<Programme> node = codes.from(Programme.class);
+        Root<ProgrammeClosure> closure = codes.from(ProgrammeClosure.class);
+        return codes.select(node.get("code")).where(
+                cb.equal(closure.get("ancestorId"), programmeId),
+                cb.equal(closure.get("descendantId"), node.get("id")),
+                cb.equal(node.get("level"), ProgrammeLevel.PROGRAMME));
+    }
+
+    // Served by the two director indexes as a bitmap OR
+    private Predicate own(Root<ProjectDetail> root, CriteriaBuilder cb) {
+        return cb.or(cb.equal(root.get("missionProjectDirector"), employeeCode),
+                cb.equal(root.get("programmeDirector"), employeeCode));
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectScope{" + kind + (employeeCode != null ? ", " + employeeCode : "")
+                + (centreCode != null ? ", centre " + centreCode : "")
+                + (programmeId != null ? ", programme " + programmeId : "") + "}";
+    }
+}
@@ -0,0 +1,96 @@
+package com.pms.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The endpoints that need no token, declared once and used both to skip
+ * {@link JwtAuthenticationFilter} and to permit the requests in {@link SecurityConfig}.
+ *
+ * Patterns are parsed into {@link PathPattern}s and grouped by their literal first segment, so a
+ * request costs one hash lookup plus the handful of patterns sharing that segment, and matching is
+ * by whole path segments: /project-details/authors is not mistaken for /auth/**.
+ */
+public class PublicEndpoints implements RequestMatcher {
+
+    private final Map<String, List<Rule>> rulesBySegment = new HashMap<>();
+
+    private PublicEndpoints() {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return matches(request.getMethod(), path);
+    }
+
+    public boolean matches(String method, String path) {
+        List<Rule> rules = rulesBySegment.get(firstSegment(path));
+        if (rules == null) {
+            return false;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Rule rule : rules) {
+            if ((rule.method == null || rule.method.matches(method)) && rule.pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstSegment(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private record Rule(HttpMethod method, PathPattern pattern) {
+    }
+
+    public static class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+
+        // Any method
+        public Builder permit(String... patterns) {
+            return permit(null, patterns);
+        }
+
+        public Builder permit(HttpMethod method, String... patterns) {
+            for (String pattern : patterns) {
+                String segment = firstSegment(pattern);
+                if (segment.isEmpty() || segment.contains("*") || segment.contains("{")) {
+                    throw new IllegalArgumentException("Public pattern must start with a literal segment: " + pattern);
+                }
+                rules.add(new Rule(method, PathPatternParser.defaultInstance.parse(pattern)));
+            }
+            return this;
+        }
+
+        public PublicEndpoints build() {
+            PublicEndpoints endpoints = new PublicEndpoints();
+            for (Rule rule : rules) {
+                endpoints.rulesBySegment
+                        .computeIfAbsent(firstSegment(rule.pattern.getPatternString()), k -> new ArrayList<>())
+                        .add(rule);
+            }
+            return endpoints;
+        }
+    }
+}
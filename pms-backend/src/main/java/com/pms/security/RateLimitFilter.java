@@ -0,0 +1,81 @@
+package com.pms.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} routes. Runs after authorization, so requests that would be refused
+ * anyway never take a token or a slot, and the bucket can be keyed by the authenticated user.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    // Seconds a client is asked to back off when every slot and queue place is taken
+    private static final long BUSY_RETRY_SECONDS = 1;
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Route route = rateLimiter.match(request.getMethod(), path);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String principal = principalOf(request);
+        long waitNanos = route.tryTake(principal);
+        if (waitNanos > 0) {
+            log.debug("Rate limit hit on {} by {}", route.getName(), principal);
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1, "Too many requests, slow down");
+            return;
+        }
+
+        boolean entered;
+        try {
+            entered = route.enter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            log.debug("Concurrency limit hit on {} by {}", route.getName(), principal);
+            reject(response, BUSY_RETRY_SECONDS, "Server is busy, try again shortly");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            route.exit();
+        }
+    }
+
+    private static String principalOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getName())) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+}
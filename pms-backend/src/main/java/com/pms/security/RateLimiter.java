@@ -0,0 +1,189 @@
+package com.pms.security;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits for the endpoints that do full-table work. Each route has a concurrency cap with a short
+ * bounded wait queue, and a token bucket per principal (user, or client IP when anonymous).
+ *
+ * Buckets are kept as a single "theoretical arrival time" per principal (GCRA), updated with CAS,
+ * so the hot path never takes a lock. Limits are read from rate-limit.routes.&lt;name&gt;.* with the
+ * defaults declared below.
+ */
+@Component
+public class RateLimiter {
+
+    private final List<Route> routes = new ArrayList<>();
+
+    public RateLimiter(Environment environment) {
+        route(environment, "project-details", 8, 16, 10, 5, "/project-details", "/project-details/**");
+        route(environment, "project-stats", 4, 8, 10, 2, "/projects/stats/all-categories");
+        route(environment, "role-management-employees", 4, 8, 10, 2,
+                "/api/admin/role-management/employees", "/api/admin/role-management/employees/**");
+        route(environment, "users", 4, 8, 10, 2, "/users", "/users/**");
+        // PDF viewers fetch a document as many small ranges, so the bucket is generous and the cap is what bounds load
+        route(environment, "documents", 16, 32, 200, 50, "/documents/**");
+    }
+
+    private void route(Environment environment, String name, int maxConcurrent, int maxQueued, int burst,
+                       double perSecond, String... patterns) {
+        String prefix = "rate-limit.routes." + name + ".";
+        List<PathPattern> parsed = new ArrayList<>();
+        for (String pattern : patterns) {
+            parsed.add(PathPatternParser.defaultInstance.parse(pattern));
+        }
+        routes.add(new Route(name, parsed,
+                environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent),
+                environment.getProperty(prefix + "max-queued", Integer.class, maxQueued),
+                environment.getProperty(prefix + "max-wait-ms", Long.class, 2000L),
+                environment.getProperty(prefix + "burst", Integer.class, burst),
+                environment.getProperty(prefix + "per-second", Double.class, perSecond)));
+    }
+
+    // Only reads are limited; the first matching route wins
+    public Route match(String method, String path) {
+        if (!HttpMethod.GET.matches(method)) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            for (PathPattern pattern : route.patterns) {
+                if (pattern.matches(container)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Snapshot of every route's counters
+    public Map<String, Map<String, Object>> metrics() {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        for (Route route : routes) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("maxConcurrent", route.maxConcurrent);
+            values.put("inFlight", route.maxConcurrent - route.permits.availablePermits());
+            values.put("queued", route.queued.get());
+            values.put("admitted", route.admitted.sum());
+            values.put("queuedTotal", route.queuedTotal.sum());
+            values.put("rejectedRate", route.rejectedRate.sum());
+            values.put("rejectedConcurrency", route.rejectedConcurrency.sum());
+            values.put("trackedPrincipals", route.buckets.size());
+            metrics.put(route.name, values);
+        }
+        return metrics;
+    }
+
+    // Buckets whose arrival time has passed are full again and need not be remembered
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Route route : routes) {
+            route.buckets.values().removeIf(tat -> tat.get() - now < 0);
+        }
+    }
+
+    public static final class Route {
+        private final String name;
+        private final List<PathPattern> patterns;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final long maxWaitMillis;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder queuedTotal = new LongAdder();
+        private final LongAdder rejectedRate = new LongAdder();
+        private final LongAdder rejectedConcurrency = new LongAdder();
+
+        Route(String name, List<PathPattern> patterns, int maxConcurrent, int maxQueued, long maxWaitMillis,
+              int burst, double perSecond) {
+            this.name = name;
+            this.patterns = patterns;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWaitMillis = maxWaitMillis;
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.toleranceNanos = intervalNanos * Math.max(0, burst - 1);
+            this.permits = new Semaphore(maxConcurrent);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Takes one token from the principal's bucket. Returns 0 when allowed, otherwise the
+         * nanoseconds until the next token.
+         */
+        public long tryTake(String principal) {
+            AtomicLong tat = buckets.computeIfAbsent(principal, k -> new AtomicLong(System.nanoTime()));
+            while (true) {
+                long now = System.nanoTime();
+                long current = tat.get();
+                long start = current - now < 0 ? now : current;
+                long wait = start - now - toleranceNanos;
+                if (wait > 0) {
+                    rejectedRate.increment();
+                    return wait;
+                }
+                if (tat.compareAndSet(current, start + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Takes a concurrency slot, waiting up to max-wait-ms when the queue has room.
+         * Returns false when the caller must be turned away.
+         */
+        public boolean enter() throws InterruptedException {
+            if (permits.tryAcquire()) {
+                admitted.increment();
+                return true;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejectedConcurrency.increment();
+                return false;
+            }
+            queuedTotal.increment();
+            try {
+                if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                    admitted.increment();
+                    return true;
+                }
+                rejectedConcurrency.increment();
+                return false;
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+
+        public void exit() {
+            permits.release();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.pms.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -28,6 +30,9 @@ import java.util.Arrays;
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final RateLimiter rateLimiter;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -47,18 +52,34 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // Every endpoint reachable without a token
+    @Bean
+    public PublicEndpoints publicEndpoints() {
+        return PublicEndpoints.builder()
+                .permit("/auth/**", "/api/auth/**")
+                .permit("/programme-offices/**", "/programme-types/**", "/project-activities/**",
+                        "/project-categories/**", "/project-milestones/**", "/project-phases-generic/**",
+                        "/project-status-codes/**", "/sanctioning-authorities/**")
+                .permit("/employee-details/**", "/reference-data/**")
+                .permit(HttpMethod.GET, "/lookups", "/lookups/**")
+                .permit("/actuator/**", "/error")
+                .build();
+    }
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        return new JwtAuthenticationFilter(jwtUtil, principalCache, publicEndpoints(), tokenRevocationStore);
     }
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173", "http://localhost:3000"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "Retry-After", "Location", "Upload-Offset", "Upload-Length", "Tus-Resumable",
+                "ETag", "Content-Range", "Accept-Ranges", "Content-Disposition"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -85,19 +106,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                // Not a bean, so it only ever runs inside the chain, after the request is authorized
+                .addFilterAfter(new RateLimitFilter(rateLimiter), AuthorizationFilter.class)
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/auth/**", "/api/auth/**").permitAll()
-                        .requestMatchers("/programme-offices/**").permitAll()
-                        .requestMatchers("/programme-types/**").permitAll()
-                        .requestMatchers("/project-activities/**").permitAll()
-                        .requestMatchers("/project-categories/**").permitAll()
-                        .requestMatchers("/project-milestones/**").permitAll()
-                        .requestMatchers("/project-phases-generic/**").permitAll()
-                        .requestMatchers("/project-status-codes/**").permitAll()
-                        .requestMatchers("/sanctioning-authorities/**").permitAll()
-                        .requestMatchers("/employee-details/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
-                        .requestMatchers("/error").permitAll()
+                        .requestMatchers(publicEndpoints()).permitAll()
                         .anyRequest().authenticated()
                 );
 
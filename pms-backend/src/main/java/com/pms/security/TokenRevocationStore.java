@@ -0,0 +1,117 @@
+package com.pms.security;
+
+import com.pms.cache.BloomFilter;
+import com.pms.entity.RevokedToken;
+import com.pms.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Revoked token ids (jti), checked on every authenticated request without any I/O.
+ *
+ * A Bloom filter answers the common "never revoked" case from a few bit reads; only a possible hit
+ * consults the exact set. Ids are also grouped into one-minute buckets by token expiry, so the
+ * sweep drops whole buckets once those tokens could no longer be used and then rebuilds the filter
+ * from what is left. Every revocation is written to revoked_tokens first and reloaded at startup.
+ */
+@Component
+@Slf4j
+public class TokenRevocationStore {
+
+    private static final long BUCKET_MILLIS = 60_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<String>> byExpiryBucket = new ConcurrentSkipListMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                @Value("${jwt.revocation.expected-entries:10000}") int expectedEntries) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.filter = new BloomFilter(expectedEntries);
+    }
+
+    @PostConstruct
+    void load() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            remember(token.getJti(), token.getExpiresAt().toEpochMilli());
+        }
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    // Persisted before it takes effect, so a revocation survives a restart
+    public void revoke(String jti, String employeeCode, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now()) || revoked.containsKey(jti)) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .employeeCode(employeeCode)
+                .expiresAt(expiresAt)
+                .revokedAt(Instant.now())
+                .build());
+        remember(jti, expiresAt.toEpochMilli());
+        log.info("Token {} of {} revoked until {}", jti, employeeCode, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        NavigableMap<Long, Set<String>> expired = byExpiryBucket.headMap(now / BUCKET_MILLIS, false);
+        if (expired.isEmpty()) {
+            return;
+        }
+        int removed = 0;
+        for (Set<String> bucket : expired.values()) {
+            for (String jti : bucket) {
+                revoked.remove(jti);
+                removed++;
+            }
+        }
+        expired.clear();
+        rebuildFilter();
+        revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        log.debug("Revocation sweep dropped {} expired token ids, {} remain", removed, revoked.size());
+    }
+
+    private void remember(String jti, long expiresAtMillis) {
+        // Bucket by the minute after expiry so a bucket is only dropped once all its tokens are dead
+        byExpiryBucket.computeIfAbsent(expiresAtMillis / BUCKET_MILLIS + 1, k -> ConcurrentHashMap.newKeySet()).add(jti);
+        revoked.put(jti, expiresAtMillis);
+        BloomFilter current = filter;
+        current.add(jti);
+        if (revoked.size() > current.capacity()) {
+            rebuildFilter();
+        }
+    }
+
+    // Bloom filters cannot forget, so shrinking or growing means starting over from the exact set
+    private synchronized void rebuildFilter() {
+        BloomFilter next = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2));
+        for (String jti : revoked.keySet()) {
+            next.add(jti);
+        }
+        filter = next;
+        // Ids remembered while the new filter was filling
+        for (String jti : revoked.keySet()) {
+            next.add(jti);
+        }
+    }
+}
@@ -8,6 +8,11 @@ import com.pms.entity.User;
 import com.pms.repository.RoleRepository;
 import com.pms.repository.UserRepository;
 import com.pms.security.JwtUtil;
+import com.pms.security.LoginRejectedException;
+import com.pms.security.LoginThrottle;
+import com.pms.security.PasswordHashingExecutor;
+import com.pms.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,6 +31,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Transactional
     public AuthResponse signup(SignupRequest request) {
@@ -66,10 +74,11 @@ public class AuthService {
             User user = User.builder()
                     .employeeCode(request.getEmployeeCode())
                     .fullName(request.getFullName())
-                    .password(passwordEncoder.encode(request.getPassword()))
+                    .password(passwordHashingExecutor.call(() -> passwordEncoder.encode(request.getPassword())))
                     .role(role)
                     .active(true)
-                    .assignedProgrammeId(request.getAssignedProgrammeId())
+                    // A Programme Director's programme is assigned by an admin on approval; ids sent at
+                    // signup came from a hard-coded list and do not match programmes.id
                     .build();
 
             userRepository.save(user);
@@ -88,6 +97,8 @@ public class AuthService {
                     .success(true)
                     .message("User registered successfully")
                     .build();
+        } catch (LoginRejectedException ex) {
+            throw ex;
         } catch (RuntimeException ex) {
             log.error("Signup error: {}", ex.getMessage());
             return AuthResponse.builder()
@@ -102,16 +113,19 @@ public class AuthService {
         }
     }
 
-    public AuthResponse login(LoginRequest request) {
+    // Throttled per account and address before any BCrypt work, which runs on the hashing bulkhead
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        loginThrottle.acquire(request.getEmployeeCode(), clientIp);
         try {
             log.info("Attempting authentication for employee code: {}", request.getEmployeeCode());
             
-            Authentication authentication = authenticationManager.authenticate(
+            Authentication authentication = passwordHashingExecutor.call(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmployeeCode(),
                             request.getPassword()
                     )
-            );
+            ));
+            loginThrottle.release(request.getEmployeeCode(), clientIp);
 
             log.info("Authentication successful for: {}", request.getEmployeeCode());
 
@@ -132,6 +146,10 @@ public class AuthService {
                     .success(true)
                     .message("Login successful")
                     .build();
+        } catch (LoginRejectedException ex) {
+            // Turned away by the bulkhead, so the attempt never reached the password check
+            loginThrottle.release(request.getEmployeeCode(), clientIp);
+            throw ex;
         } catch (Exception ex) {
             log.error("Login failed for employee code {}: {}", request.getEmployeeCode(), ex.getMessage(), ex);
             return AuthResponse.builder()
@@ -145,4 +163,14 @@ public class AuthService {
                     .build();
         }
     }
+
+    // Revoke the presented token; returns false when it was not a valid token to begin with
+    public boolean logout(String token) {
+        Claims claims = jwtUtil.verifyToken(token);
+        if (claims == null || claims.getId() == null) {
+            return false;
+        }
+        tokenRevocationStore.revoke(claims.getId(), claims.getSubject(), claims.getExpiration().toInstant());
+        return true;
+    }
 }
@@ -1,12 +1,15 @@
 package com.pms.service;
 
+import com.pms.cache.BudgetCentreProjectCodeIndex;
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
 import com.pms.dto.BudgetCentreProjectCodeRequest;
 import com.pms.dto.BudgetCentreProjectCodeResponse;
 import com.pms.entity.BudgetCentreProjectCode;
-import com.pms.entity.BudgetCentreProjectCodeId;
 import com.pms.repository.BudgetCentreProjectCodeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +23,8 @@ import java.util.stream.Collectors;
 public class BudgetCentreProjectCodeService {
     
     private final BudgetCentreProjectCodeRepository budgetCentreProjectCodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BudgetCentreProjectCodeIndex budgetCentreProjectCodeIndex;
     
     // Get all budget centre project codes
     public List<BudgetCentreProjectCodeResponse> getAllBudgetCentreProjectCodes() {
@@ -47,8 +52,7 @@ public class BudgetCentreProjectCodeService {
     
     // Get by composite key (centreProjectCode + centreProject)
     public BudgetCentreProjectCodeResponse getBudgetCentreProjectCodeByKey(String centreProjectCode, String centreProject) {
-        BudgetCentreProjectCode code = budgetCentreProjectCodeRepository
-                .findByCentreProjectCodeAndCentreProject(centreProjectCode, centreProject)
+        BudgetCentreProjectCode code = budgetCentreProjectCodeIndex.find(centreProjectCode, centreProject)
                 .orElseThrow(() -> new RuntimeException("Budget Centre Project Code not found with code: " + centreProjectCode + " and project: " + centreProject));
         return convertToResponse(code);
     }
@@ -60,13 +64,12 @@ public class BudgetCentreProjectCodeService {
         validateBudgetCentreProjectCodeRequest(request);
         
         // Check if code already exists
-        BudgetCentreProjectCodeId id = new BudgetCentreProjectCodeId(request.getCentreProjectCode(), request.getCentreProject());
-        if (budgetCentreProjectCodeRepository.existsById(id)) {
+        if (budgetCentreProjectCodeIndex.find(request.getCentreProjectCode(), request.getCentreProject()).isPresent()) {
             throw new RuntimeException("Budget Centre Project Code with code " + request.getCentreProjectCode() + " and project " + request.getCentreProject() + " already exists");
         }
         
         // Check if short name is unique
-        if (budgetCentreProjectCodeRepository.findByBudgetCentreProjectShortName(request.getBudgetCentreProjectShortName()).isPresent()) {
+        if (budgetCentreProjectCodeIndex.findByShortName(request.getBudgetCentreProjectShortName()).isPresent()) {
             throw new RuntimeException("Budget Centre Project Code with short name " + request.getBudgetCentreProjectShortName() + " already exists");
         }
         
@@ -83,6 +86,8 @@ public class BudgetCentreProjectCodeService {
                 .build();
         
         BudgetCentreProjectCode savedCode = budgetCentreProjectCodeRepository.save(code);
+        budgetCentreProjectCodeIndex.put(savedCode);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.BUDGET_CENTRE_PROJECT_CODE));
         log.info("Budget Centre Project Code created successfully: {}/{}", savedCode.getCentreProjectCode(), savedCode.getCentreProject());
         
         return convertToResponse(savedCode);
@@ -99,7 +104,7 @@ public class BudgetCentreProjectCodeService {
         validateBudgetCentreProjectCodeRequest(request);
         
         // Check if short name is already used by another code
-        budgetCentreProjectCodeRepository.findByBudgetCentreProjectShortName(request.getBudgetCentreProjectShortName())
+        budgetCentreProjectCodeIndex.findByShortName(request.getBudgetCentreProjectShortName())
                 .ifPresent(existing -> {
                     if (!existing.getCentreProjectCode().equals(centreProjectCode) || !existing.getCentreProject().equals(centreProject)) {
                         throw new RuntimeException("Budget Centre Project Code with short name " + request.getBudgetCentreProjectShortName() + " already exists");
@@ -114,6 +119,8 @@ public class BudgetCentreProjectCodeService {
         code.setRegStatus(request.getRegStatus());
         
         BudgetCentreProjectCode updatedCode = budgetCentreProjectCodeRepository.save(code);
+        budgetCentreProjectCodeIndex.put(updatedCode);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.BUDGET_CENTRE_PROJECT_CODE));
         log.info("Budget Centre Project Code updated successfully: {}/{}", updatedCode.getCentreProjectCode(), updatedCode.getCentreProject());
         
         return convertToResponse(updatedCode);
@@ -128,6 +135,8 @@ public class BudgetCentreProjectCodeService {
         
         code.setToDate(LocalDate.now());
         BudgetCentreProjectCode deactivated = budgetCentreProjectCodeRepository.save(code);
+        budgetCentreProjectCodeIndex.put(deactivated);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.BUDGET_CENTRE_PROJECT_CODE));
         
         log.info("Budget Centre Project Code deactivated: {}/{}", centreProjectCode, centreProject);
         return convertToResponse(deactivated);
@@ -141,6 +150,8 @@ public class BudgetCentreProjectCodeService {
                 .orElseThrow(() -> new RuntimeException("Budget Centre Project Code not found with code: " + centreProjectCode + " and project: " + centreProject));
         
         budgetCentreProjectCodeRepository.delete(code);
+        budgetCentreProjectCodeIndex.remove(centreProjectCode, centreProject);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.BUDGET_CENTRE_PROJECT_CODE));
         log.info("Budget Centre Project Code deleted: {}/{}", centreProjectCode, centreProject);
     }
     
@@ -0,0 +1,430 @@
+package com.pms.service;
+
+import com.pms.dto.UploadStatusDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable uploads in the tus style. An upload is created with its total length, then filled by
+ * chunks that each name the offset they start at; a chunk that does not start at the current
+ * offset is refused, so a client that lost its connection asks for the offset and carries on.
+ *
+ * Each upload is a .part file plus a small .info file under file.upload.dir/.incoming. Chunks are
+ * written with positional FileChannel writes and forced to disk before they are acknowledged, so
+ * the offset is simply the .part file's size and survives a restart. The last chunk hashes the
+ * .part file and renames it into the {@link DocumentStoreService}, so assembling it never copies
+ * the data a second time.
+ *
+ * A completed upload is attached to a record by claiming its id; uploads that are neither finished
+ * nor claimed within file.upload.chunked.expiry are deleted. A completed upload holds a reference
+ * on its stored document until then, so the store's collector leaves it alone for as long as it can
+ * still be claimed; claiming, cancelling or expiring the upload gives the reference back.
+ *
+ * Uploads are held to the same per-file limit as {@link FileUploadService}, and every chunk takes one
+ * of its upload slots and reserves its bytes against the shared in-flight budget while it is written.
+ * Each owner may have at most file.upload.chunked.max-open-per-user uploads not yet claimed.
+ */
+@Service
+@Slf4j
+public class ChunkedUploadService {
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    private static final String INFO_SUFFIX = ".info";
+
+    private final DocumentStoreService documentStoreService;
+    private final FileUploadService fileUploadService;
+    private final TransactionTemplate releaseTransaction;
+    private final Path incomingDir;
+    private final int maxOpenPerUser;
+    private final Duration expiry;
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(DocumentStoreService documentStoreService,
+                                FileUploadService fileUploadService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${file.upload.dir:uploads}") String uploadDir,
+                                @Value("${file.upload.chunked.max-open-per-user:5}") int maxOpenPerUser,
+                                @Value("${file.upload.chunked.expiry:PT24H}") Duration expiry) {
+        this.documentStoreService = documentStoreService;
+        this.fileUploadService = fileUploadService;
+        this.releaseTransaction = new TransactionTemplate(transactionManager);
+        // A claim's release must stand even if the record that claimed the upload is rolled back
+        this.releaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.incomingDir = Path.of(uploadDir, ".incoming");
+        this.maxOpenPerUser = maxOpenPerUser;
+        this.expiry = expiry;
+    }
+
+    public long getMaxLength() {
+        return fileUploadService.getMaxFileBytes();
+    }
+
+    // Uploads left from before a restart count towards their owner's limit, so they are loaded up front
+    @PostConstruct
+    void restore() {
+        if (!Files.isDirectory(incomingDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> infos = Files.newDirectoryStream(incomingDir, "*" + INFO_SUFFIX)) {
+            for (Path info : infos) {
+                String name = info.getFileName().toString();
+                String id = name.substring(0, name.length() - INFO_SUFFIX.length());
+                if (isUploadId(id)) {
+                    uploads.computeIfAbsent(id, this::load);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not restore uploads from {}", incomingDir, e);
+        }
+        if (!uploads.isEmpty()) {
+            log.info("Restored {} open uploads", uploads.size());
+        }
+    }
+
+    public UploadStatusDTO create(long length, String filename, String owner) throws IOException {
+        if (length <= 0) {
+            throw new UploadRejectedException("Upload-Length must be a positive number of bytes", HttpStatus.BAD_REQUEST, 0);
+        }
+        if (length > fileUploadService.getMaxFileBytes()) {
+            throw fileUploadService.tooLarge();
+        }
+        Files.createDirectories(incomingDir);
+        Upload upload = new Upload(UUID.randomUUID().toString(), owner, filename, length, Instant.now());
+        // Counting and adding under one lock, so concurrent creates cannot both take the last place
+        synchronized (uploads) {
+            long open = uploads.values().stream().filter(other -> other.owner.equals(owner)).count();
+            if (open >= maxOpenPerUser) {
+                throw new UploadRejectedException("You already have " + open
+                        + " uploads open; finish, attach or cancel one first", HttpStatus.TOO_MANY_REQUESTS, 0);
+            }
+            uploads.put(upload.id, upload);
+        }
+        try {
+            Files.createFile(partPath(upload.id));
+            writeInfo(upload);
+        } catch (IOException | RuntimeException e) {
+            uploads.remove(upload.id);
+            Files.deleteIfExists(partPath(upload.id));
+            throw e;
+        }
+        log.info("Upload {} created by {} for {} bytes", upload.id, owner, length);
+        return toStatus(upload);
+    }
+
+    public UploadStatusDTO status(String id, String owner) {
+        return toStatus(find(id, owner));
+    }
+
+    /**
+     * Writes one chunk starting at offset. Whatever arrived before a broken connection is kept, so
+     * the next chunk resumes from there; the returned status carries the new offset.
+     */
+    public UploadStatusDTO append(String id, String owner, long offset, InputStream body, long contentLength)
+            throws IOException {
+        Upload upload = find(id, owner);
+        if (!upload.lock.tryLock()) {
+            throw new UploadRejectedException("Another chunk of this upload is being written", HttpStatus.CONFLICT, 0);
+        }
+        try {
+            if (upload.file != null) {
+                throw new UploadRejectedException("Upload is already complete", HttpStatus.CONFLICT, 0);
+            }
+            if (offset != upload.offset) {
+                throw new UploadRejectedException("Upload-Offset " + offset + " does not match the current offset "
+                        + upload.offset, HttpStatus.CONFLICT, 0);
+            }
+            if (contentLength > upload.length - offset) {
+                throw new UploadRejectedException("Chunk runs past the declared Upload-Length", HttpStatus.PAYLOAD_TOO_LARGE, 0);
+            }
+
+            // A chunk without a Content-Length may run to the end of the upload
+            long reserved = contentLength >= 0 ? contentLength : upload.length - offset;
+            fileUploadService.acquire(reserved);
+            try {
+                return write(upload, offset, body);
+            } finally {
+                fileUploadService.release(reserved);
+            }
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    // Writes the chunk at offset and completes the upload when it is the last one; called holding the upload's lock
+    private UploadStatusDTO write(Upload upload, long offset, InputStream body) throws IOException {
+        long position = offset;
+        try (ReadableByteChannel source = Channels.newChannel(body);
+             FileChannel part = FileChannel.open(partPath(upload.id), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            try {
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    if (position + read > upload.length) {
+                        throw new UploadRejectedException("Chunk runs past the declared Upload-Length",
+                                HttpStatus.PAYLOAD_TOO_LARGE, 0);
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        position += part.write(buffer, position);
+                    }
+                    buffer.clear();
+                }
+            } finally {
+                // Acknowledge only what is on disk; a later chunk overwrites anything past it
+                if (position > offset) {
+                    part.force(false);
+                }
+                upload.offset = position;
+            }
+        }
+
+        if (position == upload.length) {
+            complete(upload);
+        }
+        return toStatus(upload);
+    }
+
+    public void cancel(String id, String owner) throws IOException {
+        Upload upload = find(id, owner);
+        upload.lock.lock();
+        try {
+            discard(upload);
+        } finally {
+            upload.lock.unlock();
+        }
+        log.info("Upload {} cancelled by {}", id, owner);
+    }
+
+    /**
+     * Hands a completed upload over to the record that will reference it and returns the stored
+     * document path; the upload can no longer be read, resumed or claimed again. The upload's
+     * reference is released here and the caller retains the path when it saves the record; the
+     * release refreshes the store's grace period, which covers the gap.
+     */
+    public String claim(String id, String owner) throws IOException {
+        Upload upload = find(id, owner);
+        upload.lock.lock();
+        try {
+            if (upload.file == null) {
+                throw new UploadRejectedException("Upload " + id + " is not complete", HttpStatus.CONFLICT, 0);
+            }
+            uploads.remove(upload.id);
+            // Whoever deletes the .info file gives back the reference, so a racing expiry cannot release it twice
+            if (!Files.deleteIfExists(infoPath(upload.id))) {
+                throw new UploadRejectedException("Upload not found: " + id, HttpStatus.NOT_FOUND, 0);
+            }
+            releaseReference(upload);
+            log.info("Upload {} claimed by {} as {}", id, owner, upload.file);
+            return upload.file;
+        } finally {
+            upload.lock.unlock();
+        }
+    }
+
+    // For fields that hold either a stored filename or the id of an upload to attach
+    public String claimIfUpload(String value, String owner) throws IOException {
+        if (isUploadId(value) && Files.exists(infoPath(value))) {
+            return claim(value, owner);
+        }
+        return value;
+    }
+
+    @Scheduled(fixedDelayString = "${file.upload.chunked.sweep-ms:3600000}")
+    public void expireStale() {
+        if (!Files.isDirectory(incomingDir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(expiry);
+        int expired = 0;
+        try (DirectoryStream<Path> infos = Files.newDirectoryStream(incomingDir, "*" + INFO_SUFFIX)) {
+            for (Path info : infos) {
+                String name = info.getFileName().toString();
+                Upload upload = load(name.substring(0, name.length() - INFO_SUFFIX.length()));
+                if (upload == null || !upload.createdAt.isBefore(cutoff)) {
+                    continue;
+                }
+                Upload live = uploads.getOrDefault(upload.id, upload);
+                if (live.lock.tryLock()) {
+                    try {
+                        discard(live);
+                        expired++;
+                    } finally {
+                        live.lock.unlock();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not sweep stale uploads in {}", incomingDir, e);
+        }
+        if (expired > 0) {
+            log.info("Expired {} unfinished or unclaimed uploads", expired);
+        }
+    }
+
+    // Hashes the finished .part file in place; the store then renames it, so the data is never copied
+    private void complete(Upload upload) throws IOException {
+        Path part = partPath(upload.id);
+        MessageDigest digest = StoredFiles.sha256();
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        String file = documentStoreService.store(part, HexFormat.of().formatHex(digest.digest()), upload.length,
+                upload.filename, upload.filename != null ? URLConnection.guessContentTypeFromName(upload.filename) : null);
+        documentStoreService.retain(file);
+        upload.file = file;
+        upload.retained = true;
+        writeInfo(upload);
+        log.info("Upload {} complete as {}", upload.id, file);
+    }
+
+    // A completed upload's document goes back to the store, which collects it if nothing else names it
+    private void discard(Upload upload) throws IOException {
+        uploads.remove(upload.id);
+        Files.deleteIfExists(partPath(upload.id));
+        if (Files.deleteIfExists(infoPath(upload.id))) {
+            releaseReference(upload);
+        }
+    }
+
+    // Uploads completed before uploads held references carry none, and have nothing to give back
+    private void releaseReference(Upload upload) {
+        if (upload.file != null && upload.retained) {
+            releaseTransaction.executeWithoutResult(status -> documentStoreService.release(upload.file));
+        }
+    }
+
+    // Other users' uploads are reported as missing rather than forbidden
+    private Upload find(String id, String owner) {
+        Upload upload = isUploadId(id) ? uploads.computeIfAbsent(id, this::load) : null;
+        if (upload == null || !upload.owner.equals(owner)) {
+            throw new UploadRejectedException("Upload not found: " + id, HttpStatus.NOT_FOUND, 0);
+        }
+        return upload;
+    }
+
+    // Rebuilds an upload from disk after a restart; null when there is no such upload
+    private Upload load(String id) {
+        Path info = infoPath(id);
+        if (!Files.exists(info)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(info, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            Upload upload = new Upload(id, properties.getProperty("owner"), properties.getProperty("filename"),
+                    Long.parseLong(properties.getProperty("length")), Instant.parse(properties.getProperty("created")));
+            upload.file = properties.getProperty("file");
+            upload.retained = Boolean.parseBoolean(properties.getProperty("retained"));
+            upload.offset = upload.file != null ? upload.length : Files.size(partPath(id));
+            return upload;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unreadable upload {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeInfo(Upload upload) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("owner", upload.owner);
+        properties.setProperty("length", String.valueOf(upload.length));
+        properties.setProperty("created", upload.createdAt.toString());
+        if (upload.filename != null) {
+            properties.setProperty("filename", upload.filename);
+        }
+        if (upload.file != null) {
+            properties.setProperty("file", upload.file);
+            properties.setProperty("retained", String.valueOf(upload.retained));
+        }
+        Path temp = incomingDir.resolve(upload.id + INFO_SUFFIX + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        StoredFiles.moveIntoPlace(temp, infoPath(upload.id));
+    }
+
+    // Ids are only ever generated UUIDs, which also keeps them from naming paths outside .incoming
+    private static boolean isUploadId(String value) {
+        if (value == null || value.length() != 36) {
+            return false;
+        }
+        try {
+            return UUID.fromString(value).toString().equals(value);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Path partPath(String id) {
+        return incomingDir.resolve(id + PART_SUFFIX);
+    }
+
+    private Path infoPath(String id) {
+        return incomingDir.resolve(id + INFO_SUFFIX);
+    }
+
+    private UploadStatusDTO toStatus(Upload upload) {
+        return UploadStatusDTO.builder()
+                .id(upload.id)
+                .filename(upload.filename)
+                .length(upload.length)
+                .offset(upload.offset)
+                .complete(upload.file != null)
+                .build();
+    }
+
+    private static final class Upload {
+        private final String id;
+        private final String owner;
+        private final String filename;
+        private final long length;
+        private final Instant createdAt;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long offset;
+        private volatile String file;
+        private volatile boolean retained;
+
+        Upload(String id, String owner, String filename, long length, Instant createdAt) {
+            this.id = id;
+            this.owner = owner;
+            this.filename = filename;
+            this.length = length;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.pms.service;
+
+import com.pms.cache.BudgetCentreProjectCodeIndex;
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
+import com.pms.dto.ProjectDetailResponse;
+import com.pms.entity.EmployeeDetails;
+import com.pms.lookup.LookupEngine;
+import com.pms.repository.EmployeeDetailsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves lookup and employee codes to display names from in-memory hash indexes.
+ * Each index is built from its table on first use and dropped when that table changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CodeResolutionService {
+
+    // Request kinds, named after the ProjectDetail fields they resolve
+    private static final Map<String, LookupTable> KINDS = Map.of(
+            "programmeTypeCode", LookupTable.PROGRAMME_TYPE,
+            "projectTypesCode", LookupTable.PROJECT_TYPE,
+            "projectCategoryCode", LookupTable.PROJECT_CATEGORY,
+            "leadCentreCode", LookupTable.BUDGET_CENTRE_PROJECT_CODE,
+            "sanctionedAuthority", LookupTable.SANCTIONING_AUTHORITY,
+            "missionProjectDirector", LookupTable.EMPLOYEE_DETAILS,
+            "programmeDirector", LookupTable.EMPLOYEE_DETAILS,
+            "employee", LookupTable.EMPLOYEE_DETAILS
+    );
+
+    private final LookupEngine lookupEngine;
+    private final BudgetCentreProjectCodeIndex budgetCentreProjectCodeIndex;
+    private final EmployeeDetailsRepository employeeDetailsRepository;
+
+    private final Map<LookupTable, Map<String, String>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve many codes of many kinds in one call. Unknown codes are left out of the result.
+     */
+    public Map<String, Map<String, String>> resolve(Map<String, ? extends Collection<String>> request) {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        if (request == null) {
+            return result;
+        }
+        for (Map.Entry<String, ? extends Collection<String>> entry : request.entrySet()) {
+            LookupTable table = KINDS.get(entry.getKey());
+            if (table == null) {
+                throw new IllegalArgumentException("Unknown code kind: " + entry.getKey() + ". Supported kinds: " + KINDS.keySet());
+            }
+            Map<String, String> index = index(table);
+            Map<String, String> names = new LinkedHashMap<>();
+            if (entry.getValue() != null) {
+                for (String code : entry.getValue()) {
+                    String name = code != null ? index.get(code) : null;
+                    if (name != null) {
+                        names.put(code, name);
+                    }
+                }
+            }
+            result.put(entry.getKey(), names);
+        }
+        return result;
+    }
+
+    public Set<String> getSupportedKinds() {
+        return KINDS.keySet();
+    }
+
+    // Fill the *Name fields of project detail responses in place
+    public List<ProjectDetailResponse> embedNames(List<ProjectDetailResponse> projects) {
+        projects.forEach(this::embedNames);
+        return projects;
+    }
+
+    public ProjectDetailResponse embedNames(ProjectDetailResponse project) {
+        Map<String, String> employees = index(LookupTable.EMPLOYEE_DETAILS);
+        project.setProgrammeTypeName(lookup(LookupTable.PROGRAMME_TYPE, project.getProgrammeTypeCode()));
+        project.setProjectTypeName(lookup(LookupTable.PROJECT_TYPE, project.getProjectTypesCode()));
+        project.setLeadCentreName(lookup(LookupTable.BUDGET_CENTRE_PROJECT_CODE, project.getLeadCentreCode()));
+        project.setSanctionedAuthorityName(lookup(LookupTable.SANCTIONING_AUTHORITY, project.getSanctionedAuthority()));
+        project.setMissionProjectDirectorName(project.getMissionProjectDirector() != null ? employees.get(project.getMissionProjectDirector()) : null);
+        project.setProgrammeDirectorName(project.getProgrammeDirector() != null ? employees.get(project.getProgrammeDirector()) : null);
+        return project;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLookupChanged(LookupChangedEvent event) {
+        if (indexes.remove(event.getTable()) != null) {
+            log.debug("Code name index dropped for {}", event.getTable());
+        }
+    }
+
+    private String lookup(LookupTable table, String code) {
+        return code != null ? index(table).get(code) : null;
+    }
+
+    // Tables behind the lookup engine and budget centres share their owners' indexes; the rest are indexed here
+    private Map<String, String> index(LookupTable table) {
+        if (lookupEngine.isRegistered(table)) {
+            return lookupEngine.getNameIndex(table);
+        }
+        if (table == LookupTable.BUDGET_CENTRE_PROJECT_CODE) {
+            return budgetCentreProjectCodeIndex.getCentreNameIndex();
+        }
+        return indexes.computeIfAbsent(table, this::buildIndex);
+    }
+
+    private Map<String, String> buildIndex(LookupTable table) {
+        Map<String, String> index = new HashMap<>();
+        switch (table) {
+            case EMPLOYEE_DETAILS:
+                for (EmployeeDetails employee : employeeDetailsRepository.findAll()) {
+                    index.put(employee.getEmployeeCode(), employee.getName());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("No name index for table: " + table);
+        }
+        log.debug("Built code name index for {} with {} entries", table, index.size());
+        return index;
+    }
+}
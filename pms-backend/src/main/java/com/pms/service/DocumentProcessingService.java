@@ -0,0 +1,315 @@
+package com.pms.service;
+
+import com.pms.entity.DocumentJob;
+import com.pms.entity.DocumentJobStatus;
+import com.pms.entity.DocumentText;
+import com.pms.entity.StoredDocument;
+import com.pms.repository.DocumentJobRepository;
+import com.pms.repository.DocumentTextRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background processing of stored PDFs: page count, text for the search index and a first-page
+ * thumbnail. Uploads only insert a PENDING row into document_jobs; a poller claims due rows with
+ * FOR UPDATE SKIP LOCKED, so several instances can share the queue, and hands them to a small
+ * fixed pool that never holds more jobs than it has threads.
+ *
+ * A failed job is retried with exponential backoff and jitter up to document.processing.max-attempts,
+ * then left FAILED with its last error. A RUNNING job whose lease has expired, because the process
+ * stopped while working on it, goes back to the queue.
+ *
+ * The lease is the job's locked_at. While a worker is busy, a heartbeat moves it forward, so a
+ * large document that takes longer than the lease is not handed to a second worker. Completion
+ * and failure are conditional on the job still being RUNNING under the locked_at the worker last
+ * wrote; a worker that lost its lease anyway discards its result instead of overwriting the new
+ * owner's.
+ */
+@Service
+@Slf4j
+public class DocumentProcessingService {
+    // Extracted text beyond this is not indexed; it bounds the row and the memory of one job
+    private static final int MAX_TEXT_CHARS = 1_000_000;
+    private static final int THUMBNAIL_WIDTH = 240;
+    private static final float THUMBNAIL_DPI = 72f;
+
+    private final DocumentJobRepository documentJobRepository;
+    private final DocumentTextRepository documentTextRepository;
+    private final DocumentStoreService documentStoreService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final AtomicInteger claimed = new AtomicInteger();
+    // Jobs this instance is working on, by id
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+
+    public DocumentProcessingService(DocumentJobRepository documentJobRepository,
+                                     DocumentTextRepository documentTextRepository,
+                                     DocumentStoreService documentStoreService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${document.processing.threads:2}") int threads,
+                                     @Value("${document.processing.max-attempts:5}") int maxAttempts,
+                                     @Value("${document.processing.backoff:PT30S}") Duration backoff,
+                                     @Value("${document.processing.max-backoff:PT1H}") Duration maxBackoff,
+                                     @Value("${document.processing.lease:PT15M}") Duration lease) {
+        this.documentJobRepository = documentJobRepository;
+        this.documentTextRepository = documentTextRepository;
+        this.documentStoreService = documentStoreService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threads = threads;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-processing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Claims as many due jobs as there are idle workers
+    @Scheduled(fixedDelayString = "${document.processing.poll-ms:5000}")
+    public void poll() {
+        int free = threads - claimed.get();
+        if (free <= 0) {
+            return;
+        }
+        Instant now = now();
+        List<DocumentJob> jobs = transactionTemplate.execute(status -> {
+            List<DocumentJob> due = documentJobRepository.lockDue(now, free);
+            for (DocumentJob job : due) {
+                job.setAttempts(job.getAttempts() + 1);
+                job.setUpdatedAt(now);
+                if (job.getAttempts() > maxAttempts) {
+                    // Only a job that kept taking its worker down gets here, through lease expiry
+                    job.setStatus(DocumentJobStatus.FAILED);
+                    job.setLastError("Abandoned after " + maxAttempts + " attempts");
+                } else {
+                    job.setStatus(DocumentJobStatus.RUNNING);
+                    job.setLockedAt(now);
+                }
+            }
+            return documentJobRepository.saveAll(due);
+        });
+        for (DocumentJob job : jobs) {
+            if (job.getStatus() != DocumentJobStatus.RUNNING) {
+                continue;
+            }
+            claimed.incrementAndGet();
+            Lease held = new Lease(job.getLockedAt());
+            leases.put(job.getId(), held);
+            executor.execute(() -> {
+                try {
+                    run(job, held);
+                } finally {
+                    leases.remove(job.getId());
+                    claimed.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    // Keeps the lease of every job in progress here well inside document.processing.lease
+    @Scheduled(fixedDelayString = "${document.processing.heartbeat-ms:60000}")
+    public void renewLeases() {
+        for (Map.Entry<Long, Lease> entry : leases.entrySet()) {
+            Lease held = entry.getValue();
+            synchronized (held) {
+                if (held.lost) {
+                    continue;
+                }
+                Instant renewed = now();
+                try {
+                    if (documentJobRepository.renewLease(entry.getKey(), held.lockedAt, renewed) == 1) {
+                        held.lockedAt = renewed;
+                    } else {
+                        held.lost = true;
+                        log.warn("Lost the lease on document job {}; its result will be discarded", entry.getKey());
+                    }
+                } catch (RuntimeException e) {
+                    // The next heartbeat tries again; the lease has plenty of slack
+                    log.warn("Could not renew the lease on document job {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${document.processing.requeue-ms:60000}")
+    public void requeueStale() {
+        Instant now = Instant.now();
+        int requeued = documentJobRepository.requeueStale(now.minus(lease), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} document jobs whose lease expired", requeued);
+        }
+    }
+
+    private void run(DocumentJob job, Lease held) {
+        try {
+            StoredDocument document = documentStoreService.find(job.getSha256()).orElse(null);
+            DocumentText text = document != null ? extract(document) : null;
+            boolean completed;
+            synchronized (held) {
+                completed = !held.lost && Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    if (documentJobRepository.complete(job.getId(), held.lockedAt, now()) == 0) {
+                        return false;
+                    }
+                    if (text != null) {
+                        documentTextRepository.save(text);
+                    }
+                    return true;
+                }));
+            }
+            if (completed) {
+                log.info("Processed document {} ({} pages)", job.getSha256(), text != null ? text.getPageCount() : 0);
+            } else {
+                log.warn("Document job {} was taken over before it finished; result discarded", job.getId());
+            }
+        } catch (Exception | StackOverflowError e) {
+            fail(job, held, e);
+        }
+    }
+
+    private DocumentText extract(StoredDocument document) throws IOException {
+        Path file = documentStoreService.locate(document);
+        // Scanned sanction copies run to hundreds of MB, so PDFBox buffers in temp files rather than the heap
+        try (PDDocument pdf = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            int pages = pdf.getNumberOfPages();
+            PDFTextStripper stripper = new PDFTextStripper();
+            String text = stripper.getText(pdf);
+            if (text.length() > MAX_TEXT_CHARS) {
+                text = text.substring(0, MAX_TEXT_CHARS);
+            }
+            boolean thumbnail = pages > 0 && writeThumbnail(pdf, document.getSha256());
+            return DocumentText.builder()
+                    .sha256(document.getSha256())
+                    .pageCount(pages)
+                    .text(text.replace('\u0000', ' '))
+                    .hasThumbnail(thumbnail)
+                    .extractedAt(Instant.now())
+                    .build();
+        }
+    }
+
+    // A page that cannot be rendered still leaves the text searchable
+    private boolean writeThumbnail(PDDocument pdf, String sha256) {
+        try {
+            BufferedImage page = new PDFRenderer(pdf).renderImageWithDPI(0, THUMBNAIL_DPI, ImageType.RGB);
+            int height = Math.max(1, page.getHeight() * THUMBNAIL_WIDTH / page.getWidth());
+            BufferedImage thumbnail = new BufferedImage(THUMBNAIL_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(page, 0, 0, THUMBNAIL_WIDTH, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            Path target = documentStoreService.thumbnailOf(sha256);
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "." + sha256, ".png");
+            try {
+                ImageIO.write(thumbnail, "png", temp.toFile());
+                StoredFiles.moveIntoPlace(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not render a thumbnail for document {}: {}", sha256, e.getMessage());
+            return false;
+        }
+    }
+
+    private void fail(DocumentJob job, Lease held, Throwable error) {
+        boolean retry = job.getAttempts() < maxAttempts;
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        try {
+            int released;
+            synchronized (held) {
+                Instant now = now();
+                released = held.lost ? 0 : documentJobRepository.release(job.getId(), held.lockedAt,
+                        retry ? DocumentJobStatus.PENDING : DocumentJobStatus.FAILED,
+                        now.plus(backoffFor(job.getAttempts())),
+                        message.length() > 1000 ? message.substring(0, 1000) : message, now);
+            }
+            if (released == 0) {
+                log.warn("Document job {} was taken over before it failed; failure not recorded: {}", job.getId(), message);
+                return;
+            }
+        } catch (RuntimeException e) {
+            // The lease brings the job back if even this write fails
+            log.error("Could not record failure of document job {}", job.getId(), e);
+        }
+        if (retry) {
+            log.warn("Document {} failed on attempt {}, retrying: {}", job.getSha256(), job.getAttempts(), message);
+        } else {
+            log.error("Document {} failed after {} attempts: {}", job.getSha256(), job.getAttempts(), message);
+        }
+    }
+
+    // backoff * 2^(attempt - 1), capped, with up to 20% jitter so failures do not retry in lockstep
+    private Duration backoffFor(int attempt) {
+        long base = backoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis(capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1));
+    }
+
+    // Truncated to what timestamptz stores, so a lease read back compares equal to the one written
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Lease {
+        // Both guarded by the Lease itself
+        Instant lockedAt;
+        boolean lost;
+
+        Lease(Instant lockedAt) {
+            this.lockedAt = lockedAt;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.pms.service;
+
+import com.pms.dto.DocumentSearchResultDTO;
+import com.pms.entity.ProjectDefinition;
+import com.pms.entity.ProjectDetail;
+import com.pms.entity.StoredDocument;
+import com.pms.repository.DocumentTextRepository;
+import com.pms.repository.ProjectDefinitionRepository;
+import com.pms.repository.ProjectDetailRepository;
+import com.pms.repository.StoredDocumentRepository;
+import com.pms.security.ProjectScope;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Finds projects by the text of their documents. Matches come from the full-text index over
+ * extracted document text, then are joined to the project records that name each document;
+ * project details are filtered by the caller's scope, and documents no visible project names
+ * are left out, so a search never reveals what is in someone else's documents.
+ *
+ * Downloads follow the same rule through {@link #canRead}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DocumentSearchService {
+    private static final int DEFAULT_RESULTS = 20;
+    private static final int MAX_RESULTS = 100;
+
+    private final DocumentTextRepository documentTextRepository;
+    private final StoredDocumentRepository storedDocumentRepository;
+    private final ProjectDefinitionRepository projectDefinitionRepository;
+    private final ProjectDetailRepository projectDetailRepository;
+
+    public List<DocumentSearchResultDTO> search(String query, Integer limit, ProjectScope scope) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        int size = limit == null || limit <= 0 ? DEFAULT_RESULTS : Math.min(limit, MAX_RESULTS);
+
+        // Some matches may fall outside the caller's scope, so look a little further than asked
+        List<DocumentTextRepository.SearchHit> hits = documentTextRepository.search(query.trim(), size * 2);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<String, DocumentTextRepository.SearchHit> hitsByPath = new LinkedHashMap<>();
+        for (DocumentTextRepository.SearchHit hit : hits) {
+            hitsByPath.put(DocumentStoreService.pathFor(hit.getSha256()), hit);
+        }
+
+        Map<String, List<DocumentSearchResultDTO.ProjectRef>> refs = new HashMap<>();
+        for (ProjectDefinition project : projectDefinitionRepository.findByProjectDocumentPathIn(hitsByPath.keySet())) {
+            refs.computeIfAbsent(project.getProjectDocumentPath(), k -> new ArrayList<>())
+                    .add(new DocumentSearchResultDTO.ProjectRef("PROJECT_DEFINITION", String.valueOf(project.getId()),
+                            project.getProjectName(), "projectDocumentPath"));
+        }
+        Specification<ProjectDetail> namesHit = (root, q, cb) -> cb.or(
+                root.get("fsCopy").in(hitsByPath.keySet()),
+                root.get("costOverrunApprovalCopy").in(hitsByPath.keySet()),
+                root.get("timeOverrunApprovalCopy").in(hitsByPath.keySet()));
+        for (ProjectDetail project : projectDetailRepository.findAll(scope.toSpecification().and(namesHit))) {
+            addDetailRef(refs, hitsByPath, project, ProjectDetail::getFsCopy, "fsCopy");
+            addDetailRef(refs, hitsByPath, project, ProjectDetail::getCostOverrunApprovalCopy, "costOverrunApprovalCopy");
+            addDetailRef(refs, hitsByPath, project, ProjectDetail::getTimeOverrunApprovalCopy, "timeOverrunApprovalCopy");
+        }
+
+        Map<String, String> filenames = new HashMap<>();
+        for (StoredDocument document : storedDocumentRepository.findAllById(
+                hits.stream().map(DocumentTextRepository.SearchHit::getSha256).toList())) {
+            filenames.put(document.getSha256(), document.getOriginalFilename());
+        }
+
+        List<DocumentSearchResultDTO> results = new ArrayList<>();
+        for (Map.Entry<String, DocumentTextRepository.SearchHit> entry : hitsByPath.entrySet()) {
+            List<DocumentSearchResultDTO.ProjectRef> projects = refs.get(entry.getKey());
+            if (projects == null) {
+                continue;
+            }
+            DocumentTextRepository.SearchHit hit = entry.getValue();
+            results.add(DocumentSearchResultDTO.builder()
+                    .documentId(hit.getSha256())
+                    .filename(filenames.get(hit.getSha256()))
+                    .pageCount(hit.getPageCount())
+                    .snippet(hit.getSnippet())
+                    .projects(projects)
+                    .build());
+            if (results.size() == size) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Whether a caller with this scope may read the document: some project definition names it,
+     * or a project detail in the scope does. Project definitions are readable by every signed-in
+     * user, so their documents are too.
+     */
+    public boolean canRead(String sha256, ProjectScope scope) {
+        switch (scope.getKind()) {
+            case ALL:
+                return true;
+            case NONE:
+                return false;
+            default:
+                String path = DocumentStoreService.pathFor(sha256);
+                if (projectDefinitionRepository.existsByProjectDocumentPath(path)) {
+                    return true;
+                }
+                Specification<ProjectDetail> namesPath = (root, q, cb) -> cb.or(
+                        cb.equal(root.get("fsCopy"), path),
+                        cb.equal(root.get("costOverrunApprovalCopy"), path),
+                        cb.equal(root.get("timeOverrunApprovalCopy"), path));
+                return projectDetailRepository.exists(scope.toSpecification().and(namesPath));
+        }
+    }
+
+    private void addDetailRef(Map<String, List<DocumentSearchResultDTO.ProjectRef>> refs,
+                              Map<String, DocumentTextRepository.SearchHit> hitsByPath, ProjectDetail project,
+                              Function<ProjectDetail, String> field, String fieldName) {
+        String path = field.apply(project);
+        if (path != null && hitsByPath.containsKey(path)) {
+            refs.computeIfAbsent(path, k -> new ArrayList<>())
+                    .add(new DocumentSearchResultDTO.ProjectRef("PROJECT_DETAIL", project.getMissionProjectCode(),
+                            project.getMissionProjectFullName(), fieldName));
+        }
+    }
+}
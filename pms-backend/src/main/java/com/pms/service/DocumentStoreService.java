@@ -0,0 +1,237 @@
+package com.pms.service;
+
+import com.pms.entity.DocumentJob;
+import com.pms.entity.DocumentJobStatus;
+import com.pms.entity.StoredDocument;
+import com.pms.repository.DocumentJobRepository;
+import com.pms.repository.DocumentTextRepository;
+import com.pms.repository.StoredDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for uploaded documents. A blob is named by the SHA-256 of its bytes and
+ * kept at documents/&lt;2&gt;/&lt;2&gt;/&lt;sha256&gt; under file.upload.dir; that relative path is what
+ * project records hold, so FileUploadService.getFile resolves it like any other stored name.
+ *
+ * Uploading bytes that are already stored keeps the existing blob and skips the fsync and rename.
+ * Project records retain and release the paths they name, as does a finished resumable upload
+ * until it is claimed, and blobs left with no references are collected once file.upload.gc.grace
+ * has passed since their last upload or release; the grace period covers the gap between an upload
+ * or claim and the save that references it.
+ *
+ * Store and collect for one hash are serialised by a striped lock, which assumes a single
+ * application instance owns the upload directory.
+ */
+@Service
+@Slf4j
+public class DocumentStoreService {
+    private static final String DOCUMENTS_DIR = "documents";
+    private static final String THUMBNAILS_DIR = "thumbnails";
+    private static final Pattern DOCUMENT_PATH =
+            Pattern.compile(DOCUMENTS_DIR + "/([0-9a-f]{2})/([0-9a-f]{2})/([0-9a-f]{64})");
+    private static final Pattern THUMBNAIL_PATH =
+            Pattern.compile(THUMBNAILS_DIR + "/([0-9a-f]{2})/([0-9a-f]{2})/([0-9a-f]{64})\\.png");
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+    private static final int GC_BATCH = 500;
+
+    private final StoredDocumentRepository storedDocumentRepository;
+    private final DocumentJobRepository documentJobRepository;
+    private final DocumentTextRepository documentTextRepository;
+    private final Path root;
+    private final Duration grace;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public DocumentStoreService(StoredDocumentRepository storedDocumentRepository,
+                                DocumentJobRepository documentJobRepository,
+                                DocumentTextRepository documentTextRepository,
+                                @Value("${file.upload.dir:uploads}") String uploadDir,
+                                @Value("${file.upload.gc.grace:PT1H}") Duration grace) {
+        this.storedDocumentRepository = storedDocumentRepository;
+        this.documentJobRepository = documentJobRepository;
+        this.documentTextRepository = documentTextRepository;
+        this.root = Path.of(uploadDir);
+        this.grace = grace;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Files a fully written temp file under its hash and returns the relative path. The temp file
+     * is moved into the store, or deleted when the same bytes are already there.
+     */
+    public String store(Path temp, String sha256, long size, String originalFilename, String contentType)
+            throws IOException {
+        String path = pathOf(sha256);
+        Path target = root.resolve(path);
+        synchronized (lockFor(sha256)) {
+            Instant now = Instant.now();
+            boolean known = storedDocumentRepository.touch(sha256, now) > 0;
+            if (known && Files.exists(target)) {
+                Files.deleteIfExists(temp);
+                log.info("Upload matches stored document {}", path);
+                return path;
+            }
+            StoredFiles.force(temp);
+            Files.createDirectories(target.getParent());
+            StoredFiles.moveIntoPlace(temp, target);
+            if (!known) {
+                storedDocumentRepository.save(StoredDocument.builder()
+                        .sha256(sha256)
+                        .size(size)
+                        .originalFilename(originalFilename)
+                        .contentType(contentType)
+                        .refCount(0)
+                        .createdAt(now)
+                        .lastUsedAt(now)
+                        .build());
+                if (isPdf(originalFilename, contentType) && !documentJobRepository.existsBySha256(sha256)) {
+                    documentJobRepository.save(DocumentJob.builder()
+                            .sha256(sha256)
+                            .status(DocumentJobStatus.PENDING)
+                            .attempts(0)
+                            .nextAttemptAt(now)
+                            .createdAt(now)
+                            .build());
+                }
+            }
+        }
+        log.info("Stored document {} ({} bytes)", path, size);
+        return path;
+    }
+
+    // A record now names this path; names outside the store (older uploads, free text) are not counted
+    public void retain(String path) {
+        String sha256 = hashOf(path);
+        if (sha256 != null && storedDocumentRepository.retain(sha256, Instant.now()) == 0) {
+            throw new IllegalArgumentException("Document not found: " + path);
+        }
+    }
+
+    // A record no longer names this path
+    public void release(String path) {
+        String sha256 = hashOf(path);
+        if (sha256 != null) {
+            storedDocumentRepository.release(sha256, Instant.now());
+        }
+    }
+
+    // A record's document field changes from one path to another
+    public void replace(String oldPath, String newPath) {
+        if (Objects.equals(oldPath, newPath)) {
+            return;
+        }
+        retain(newPath);
+        release(oldPath);
+    }
+
+    // Document by its hex SHA-256, when both the row and the blob exist
+    public Optional<StoredDocument> find(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            return Optional.empty();
+        }
+        return storedDocumentRepository.findById(sha256).filter(document -> Files.isRegularFile(locate(document)));
+    }
+
+    public Path locate(StoredDocument document) {
+        return root.resolve(pathOf(document.getSha256())).toAbsolutePath();
+    }
+
+    // First-page PNG written by the document processing pipeline
+    public Path thumbnailOf(String sha256) {
+        return root.resolve(thumbnailPathFor(sha256)).toAbsolutePath();
+    }
+
+    // Path a project record holds for the document with this hash
+    public static String pathFor(String sha256) {
+        return pathOf(sha256);
+    }
+
+    // Hash of the document a project record's path names, or null when it is not a stored document
+    public static String hashFor(String path) {
+        return hashOf(path);
+    }
+
+    // Thumbnail location relative to file.upload.dir
+    public static String thumbnailPathFor(String sha256) {
+        return THUMBNAILS_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + ".png";
+    }
+
+    // Hash whose thumbnail lives at this relative path, or null when it is not one
+    public static String hashForThumbnail(String path) {
+        return hashMatching(THUMBNAIL_PATH, path);
+    }
+
+    @Scheduled(fixedDelayString = "${file.upload.gc.interval-ms:3600000}")
+    public void collectGarbage() {
+        Instant cutoff = Instant.now().minus(grace);
+        int collected = 0;
+        List<String> batch;
+        do {
+            batch = storedDocumentRepository.findUnreferenced(cutoff, PageRequest.of(0, GC_BATCH));
+            for (String sha256 : batch) {
+                synchronized (lockFor(sha256)) {
+                    if (storedDocumentRepository.deleteIfUnreferenced(sha256, cutoff) == 0) {
+                        continue;
+                    }
+                    documentJobRepository.deleteBySha256(sha256);
+                    documentTextRepository.deleteById(sha256);
+                    try {
+                        Files.deleteIfExists(root.resolve(pathOf(sha256)));
+                        Files.deleteIfExists(thumbnailOf(sha256));
+                        collected++;
+                    } catch (IOException e) {
+                        log.error("Could not delete unreferenced document {}", sha256, e);
+                    }
+                }
+            }
+        } while (batch.size() == GC_BATCH);
+        if (collected > 0) {
+            log.info("Collected {} unreferenced documents", collected);
+        }
+    }
+
+    private static String pathOf(String sha256) {
+        return DOCUMENTS_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    private static String hashOf(String path) {
+        return hashMatching(DOCUMENT_PATH, path);
+    }
+
+    private static String hashMatching(Pattern pattern, String path) {
+        if (path == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(path);
+        if (!matcher.matches() || !matcher.group(3).startsWith(matcher.group(1) + matcher.group(2))) {
+            return null;
+        }
+        return matcher.group(3);
+    }
+
+    private static boolean isPdf(String originalFilename, String contentType) {
+        return "application/pdf".equalsIgnoreCase(contentType)
+                || (originalFilename != null && originalFilename.toLowerCase().endsWith(".pdf"));
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+}
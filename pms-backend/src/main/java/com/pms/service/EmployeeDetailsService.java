@@ -1,11 +1,15 @@
 package com.pms.service;
 
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
 import com.pms.dto.EmployeeDetailsRequest;
 import com.pms.dto.EmployeeDetailsResponse;
 import com.pms.entity.EmployeeDetails;
 import com.pms.repository.EmployeeDetailsRepository;
+import com.pms.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -18,6 +22,9 @@ import java.util.stream.Collectors;
 public class EmployeeDetailsService {
 
     private final EmployeeDetailsRepository employeeDetailsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalCache principalCache;
+    private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
 
     public List<EmployeeDetailsResponse> getAllEmployeeDetails() {
         log.info("Fetching all employee details");
@@ -48,8 +55,13 @@ public class EmployeeDetailsService {
                 .build();
 
         EmployeeDetails saved = employeeDetailsRepository.save(employeeDetails);
+        // The cached principal carries the centre that centre-scoped project access uses
+        principalCache.invalidate(saved.getEmployeeCode());
+        EmployeeDetailsResponse response = mapToResponse(saved);
+        searchIndex.upsert(response);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.EMPLOYEE_DETAILS));
         log.info("Employee details created successfully: {}", saved.getEmployeeCode());
-        return mapToResponse(saved);
+        return response;
     }
 
     public EmployeeDetailsResponse updateEmployeeDetails(String code, EmployeeDetailsRequest request) {
@@ -65,8 +77,12 @@ public class EmployeeDetailsService {
         existing.setRegStatus(request.getRegStatus());
 
         EmployeeDetails updated = employeeDetailsRepository.save(existing);
+        principalCache.invalidate(code);
+        EmployeeDetailsResponse response = mapToResponse(updated);
+        searchIndex.upsert(response);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.EMPLOYEE_DETAILS));
         log.info("Employee details updated successfully: {}", updated.getEmployeeCode());
-        return mapToResponse(updated);
+        return response;
     }
 
     public void deleteEmployeeDetails(String code) {
@@ -75,6 +91,9 @@ public class EmployeeDetailsService {
             throw new RuntimeException("Employee not found with code: " + code);
         }
         employeeDetailsRepository.deleteById(code);
+        principalCache.invalidate(code);
+        searchIndex.remove(code);
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.EMPLOYEE_DETAILS));
         log.info("Employee details deleted successfully: {}", code);
     }
 
@@ -94,12 +113,35 @@ public class EmployeeDetailsService {
                 .collect(Collectors.toList());
     }
 
+    // Typeahead over code, name, designation and centre; the index is built on first use
+    // and kept current by the write methods above
+    public List<EmployeeDetailsResponse> searchEmployeeDetails(String query, int limit) {
+        if (!searchIndex.isLoaded()) {
+            synchronized (searchIndex) {
+                if (!searchIndex.isLoaded()) {
+                    long start = System.nanoTime();
+                    List<EmployeeDetailsResponse> all = getAllEmployeeDetails();
+                    searchIndex.rebuild(all);
+                    log.info("Employee search index built with {} entries in {} ms",
+                            all.size(), (System.nanoTime() - start) / 1_000_000);
+                }
+            }
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    // Bulk changes bypass the write methods above, so the index is rebuilt on the next search
+    public void invalidateSearchIndex() {
+        searchIndex.invalidate();
+    }
+
     public void deactivateEmployeeDetails(String code) {
         log.info("Deactivating employee details for code: {}", code);
         EmployeeDetails existing = employeeDetailsRepository.findById(code)
                 .orElseThrow(() -> new RuntimeException("Employee not found with code: " + code));
         existing.setRegStatus("I");
-        employeeDetailsRepository.save(existing);
+        searchIndex.upsert(mapToResponse(employeeDetailsRepository.save(existing)));
+        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.EMPLOYEE_DETAILS));
         log.info("Employee details deactivated successfully: {}", code);
     }
 
@@ -0,0 +1,370 @@
+package com.pms.service;
+
+import com.pms.dto.EmployeeDetailsResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over the employee directory.
+ *
+ * Every word of employeeCode, name, presentDesignationFullName and centre is kept in a sorted
+ * token map for prefix lookups, and every trigram of those fields in a posting map so that
+ * queries of three or more characters also match inside words. Employees are addressed by a
+ * dense int id so postings stay compact and candidate sets can be combined as bit sets.
+ * Single writes are applied in place; {@link #rebuild} replaces everything at once.
+ */
+public class EmployeeSearchIndex {
+
+    private static final int GRAM = 3;
+
+    // Field weights used when ranking matches
+    private static final int EXACT_CODE = 1000;
+    private static final int CODE_PREFIX = 500;
+    private static final int NAME_PREFIX = 300;
+    private static final int WORD_PREFIX = 100;
+    private static final int INFIX = 10;
+
+    private static final Comparator<EmployeeDetailsResponse> BY_NAME = Comparator
+            .comparing(EmployeeDetailsResponse::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(EmployeeDetailsResponse::getEmployeeCode);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> idsByCode = new HashMap<>();
+    private final BitSet freeIds = new BitSet();
+    private final NavigableMap<String, Integer> codes = new TreeMap<>();
+    private final NavigableMap<String, IntList> tokens = new TreeMap<>();
+    private final Map<String, IntList> grams = new HashMap<>();
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Drop the current contents; the next search triggers a full rebuild
+    public void invalidate() {
+        loaded = false;
+    }
+
+    public void rebuild(Collection<EmployeeDetailsResponse> employees) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            idsByCode.clear();
+            codes.clear();
+            freeIds.clear();
+            tokens.clear();
+            grams.clear();
+            List<EmployeeDetailsResponse> sorted = new ArrayList<>(employees);
+            sorted.removeIf(e -> e == null || e.getEmployeeCode() == null);
+            sorted.sort(BY_NAME);
+            for (EmployeeDetailsResponse employee : sorted) {
+                add(employee);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(EmployeeDetailsResponse employee) {
+        if (employee == null || employee.getEmployeeCode() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(employee.getEmployeeCode());
+            add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String employeeCode) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(employeeCode);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} employees matching every word of the query, best first:
+     * exact code, code prefix, name prefix, any word prefix, then infix matches.
+     */
+    public List<EmployeeDetailsResponse> search(String query, int limit) {
+        List<String> terms = words(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet candidates = null;
+            BitSet[] codePrefixed = new BitSet[terms.size()];
+            BitSet[] prefixed = new BitSet[terms.size()];
+            for (int t = 0; t < terms.size(); t++) {
+                String term = terms.get(t);
+                codePrefixed[t] = codePrefixMatches(term);
+                prefixed[t] = prefixMatches(term);
+                BitSet matches = (BitSet) prefixed[t].clone();
+                addInfixMatches(term, matches);
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.and(matches);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Equal scores rank by name. Ids are reused after updates, so they say nothing about
+            // name order; only a candidate whose best possible score is below the current worst
+            // of a full heap is skipped unscored
+            String normalised = String.join(" ", terms);
+            PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, Scored.WORST_FIRST);
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                if (best.size() == limit && upperBound(id, codePrefixed, prefixed) < best.peek().score) {
+                    continue;
+                }
+                Entry entry = entries.get(id);
+                Scored scored = new Scored(entry, score(entry, terms, codePrefixed, prefixed, id, normalised));
+                if (best.size() == limit && Scored.WORST_FIRST.compare(scored, best.peek()) <= 0) {
+                    continue;
+                }
+                best.offer(scored);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            Scored[] ranked = best.toArray(new Scored[0]);
+            Arrays.sort(ranked, Scored.WORST_FIRST.reversed());
+            List<EmployeeDetailsResponse> results = new ArrayList<>(ranked.length);
+            for (Scored scored : ranked) {
+                results.add(scored.entry.employee);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet codePrefixMatches(String term) {
+        BitSet matches = new BitSet(entries.size());
+        for (int id : codes.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            matches.set(id);
+        }
+        return matches;
+    }
+
+    // Ids having a word that starts with the term
+    private BitSet prefixMatches(String term) {
+        BitSet matches = new BitSet(entries.size());
+        for (IntList ids : tokens.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            ids.addTo(matches);
+        }
+        return matches;
+    }
+
+    // Adds ids containing the term inside a word. Only the rarest trigram's posting list is
+    // walked; trigram overlap is necessary but not sufficient, so each hit is confirmed on the text
+    private void addInfixMatches(String term, BitSet matches) {
+        if (term.length() < GRAM) {
+            return;
+        }
+        IntList rarest = null;
+        for (String gram : grams(term)) {
+            IntList ids = grams.get(gram);
+            if (ids == null) {
+                return;
+            }
+            if (rarest == null || ids.size < rarest.size) {
+                rarest = ids;
+            }
+        }
+        for (int i = 0; i < rarest.size; i++) {
+            int id = rarest.values[i];
+            if (!matches.get(id) && entries.get(id).text.contains(term)) {
+                matches.set(id);
+            }
+        }
+    }
+
+    // Best score an id could reach, from the bit sets alone
+    private static int upperBound(int id, BitSet[] codePrefixed, BitSet[] prefixed) {
+        if (codePrefixed.length == 1 && codePrefixed[0].get(id)) {
+            return EXACT_CODE;
+        }
+        int bound = 0;
+        for (int t = 0; t < prefixed.length; t++) {
+            bound += codePrefixed[t].get(id) ? CODE_PREFIX : prefixed[t].get(id) ? NAME_PREFIX : INFIX;
+        }
+        return bound;
+    }
+
+    private int score(Entry entry, List<String> terms, BitSet[] codePrefixed, BitSet[] prefixed, int id,
+                      String normalised) {
+        if (entry.code.equals(normalised)) {
+            return EXACT_CODE;
+        }
+        int score = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            if (codePrefixed[t].get(id)) {
+                score += CODE_PREFIX;
+            } else if (!prefixed[t].get(id)) {
+                score += INFIX;
+            } else if (entry.name.startsWith(terms.get(t))) {
+                score += NAME_PREFIX;
+            } else {
+                score += WORD_PREFIX;
+            }
+        }
+        return score;
+    }
+
+    private void add(EmployeeDetailsResponse employee) {
+        int id = freeIds.nextSetBit(0);
+        Entry entry = new Entry(employee);
+        if (id >= 0) {
+            freeIds.clear(id);
+            entries.set(id, entry);
+        } else {
+            id = entries.size();
+            entries.add(entry);
+        }
+        idsByCode.put(employee.getEmployeeCode(), id);
+        codes.put(entry.code, id);
+        for (String word : entry.words) {
+            tokens.computeIfAbsent(word, k -> new IntList()).add(id);
+        }
+        for (String gram : entry.grams()) {
+            grams.computeIfAbsent(gram, k -> new IntList()).add(id);
+        }
+    }
+
+    private void removeInternal(String employeeCode) {
+        Integer id = idsByCode.remove(employeeCode);
+        if (id == null) {
+            return;
+        }
+        Entry entry = entries.get(id);
+        codes.remove(entry.code);
+        for (String word : entry.words) {
+            removePosting(tokens, word, id);
+        }
+        for (String gram : entry.grams()) {
+            removePosting(grams, gram, id);
+        }
+        entries.set(id, null);
+        freeIds.set(id);
+    }
+
+    private static void removePosting(Map<String, IntList> index, String key, int id) {
+        IntList ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.size == 0) {
+            index.remove(key);
+        }
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static Set<String> grams(String word) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            result.add(word.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        final EmployeeDetailsResponse employee;
+        final String code;
+        final String name;
+        final String[] words;
+        // All fields lower-cased, one word per slot, for infix confirmation
+        final String text;
+
+        Entry(EmployeeDetailsResponse employee) {
+            this.employee = employee;
+            this.code = employee.getEmployeeCode().toLowerCase(Locale.ROOT);
+            this.name = employee.getName() != null ? employee.getName().toLowerCase(Locale.ROOT) : "";
+            Set<String> all = new LinkedHashSet<>();
+            all.addAll(words(employee.getEmployeeCode()));
+            all.addAll(words(employee.getName()));
+            all.addAll(words(employee.getPresentDesignationFullName()));
+            all.addAll(words(employee.getCentre()));
+            this.words = all.toArray(new String[0]);
+            this.text = String.join(" ", all);
+        }
+
+        Set<String> grams() {
+            Set<String> result = new LinkedHashSet<>();
+            for (String word : words) {
+                result.addAll(EmployeeSearchIndex.grams(word));
+            }
+            return result;
+        }
+    }
+
+    private record Scored(Entry entry, int score) {
+        static final Comparator<Scored> WORST_FIRST = Comparator.comparingInt(Scored::score)
+                .thenComparing(scored -> scored.entry.employee, BY_NAME.reversed());
+    }
+
+    // Growable int array; postings are small and writes rare, so removal is a linear scan
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.pms.service;
+
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
+import com.pms.dto.EmployeeSyncReport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Refreshes pmsgeneric.employeedetails from the HR extract in one pass.
+ *
+ * The extract is a CSV file with a header row naming at least employeecode, name,
+ * presentdesignationfullname and centre (userid is optional and defaults to the employee code).
+ * Rows are validated and hashed while streaming and copied into a temporary staging table with
+ * COPY; a single statement then inserts new employees, updates those whose content hash differs
+ * or who were inactive, and deactivates active employees missing from the extract.
+ *
+ * A row that fails validation but still names an employee code is staged as rejected: it changes
+ * nothing, but it keeps that employee from being deactivated as missing. A run that would still
+ * deactivate more than employee.sync.max-deactivation-fraction of the active employees is refused.
+ */
+@Service
+@Slf4j
+public class EmployeeSyncService {
+
+    // Field separator used for the content hash on both the Java and the SQL side
+    private static final String HASH_SEPARATOR = "\u001f";
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE employeedetails_sync (
+                employeecode varchar(7) NOT NULL,
+                name varchar(100),
+                presentdesignationfullname varchar(100),
+                centre varchar(20),
+                userid varchar(7),
+                contenthash char(32),
+                rejected boolean NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING = "COPY employeedetails_sync "
+            + "(employeecode, name, presentdesignationfullname, centre, userid, contenthash, rejected) FROM STDIN WITH (FORMAT csv)";
+
+    // Active employees the merge would deactivate, and all active employees
+    private static final String COUNT_MISSING = """
+            SELECT count(*) FILTER (WHERE NOT EXISTS
+                       (SELECT 1 FROM employeedetails_sync s WHERE s.employeecode = e.employeecode)),
+                   count(*)
+            FROM pmsgeneric.employeedetails e
+            WHERE e.regstatus = 'A'""";
+
+    private static final String MERGE = """
+            WITH upserted AS (
+                INSERT INTO pmsgeneric.employeedetails
+                    (employeecode, name, presentdesignationfullname, centre, userid, regstatus, regtime)
+                SELECT s.employeecode, s.name, s.presentdesignationfullname, s.centre, s.userid, 'A', CURRENT_DATE
+                FROM employeedetails_sync s
+                LEFT JOIN pmsgeneric.employeedetails e ON e.employeecode = s.employeecode
+                WHERE NOT s.rejected
+                  AND (e.employeecode IS NULL
+                       OR e.regstatus IS DISTINCT FROM 'A'
+                       OR md5(concat_ws(chr(31), e.name, e.presentdesignationfullname, e.centre, e.userid)) <> s.contenthash)
+                ON CONFLICT (employeecode) DO UPDATE SET
+                    name = EXCLUDED.name,
+                    presentdesignationfullname = EXCLUDED.presentdesignationfullname,
+                    centre = EXCLUDED.centre,
+                    userid = EXCLUDED.userid,
+                    regstatus = 'A'
+                RETURNING (xmax = 0) AS inserted
+            ), deactivated AS (
+                UPDATE pmsgeneric.employeedetails e SET regstatus = 'I'
+                WHERE :deactivateMissing
+                  AND e.regstatus = 'A'
+                  -- Rejected rows are staged too, so an employee with a bad line is kept as is
+                  AND NOT EXISTS (SELECT 1 FROM employeedetails_sync s WHERE s.employeecode = e.employeecode)
+                RETURNING 1
+            )
+            SELECT (SELECT count(*) FROM upserted WHERE inserted),
+                   (SELECT count(*) FROM upserted WHERE NOT inserted),
+                   (SELECT count(*) FROM deactivated)""";
+
+    private static final String[] REQUIRED_COLUMNS = {"employeecode", "name", "presentdesignationfullname", "centre"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeDetailsService employeeDetailsService;
+
+    @Value("${employee.sync.file:}")
+    private String scheduledFile;
+
+    // Share of the active employees one run may deactivate; a larger drop points at a broken extract
+    @Value("${employee.sync.max-deactivation-fraction:0.1}")
+    private double maxDeactivationFraction;
+
+    public EmployeeSyncService(PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                               EmployeeDetailsService employeeDetailsService) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.employeeDetailsService = employeeDetailsService;
+    }
+
+    // Nightly pickup of the HR extract when employee.sync.file and employee.sync.cron are set
+    @Scheduled(cron = "${employee.sync.cron:-}")
+    public void syncScheduledFile() {
+        if (!StringUtils.hasText(scheduledFile)) {
+            return;
+        }
+        Path path = Path.of(scheduledFile);
+        if (!Files.isReadable(path)) {
+            log.warn("Employee sync skipped, file not readable: {}", path);
+            return;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            sync(in, true);
+        } catch (IOException | RuntimeException e) {
+            log.error("Employee sync from {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the extract read from {@code in}. When {@code deactivateMissing} is set, active
+     * employees absent from the extract are marked inactive. An extract without a single valid
+     * row, or one that would deactivate more than the configured share of active employees, is
+     * rejected rather than emptying the directory.
+     */
+    public EmployeeSyncReport sync(InputStream in, boolean deactivateMissing) {
+        long start = System.nanoTime();
+        EmployeeSyncReport report = transactionTemplate.execute(status ->
+                entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                    EmployeeSyncReport result = new EmployeeSyncReport();
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute(CREATE_STAGING);
+                    }
+
+                    long copyStart = System.nanoTime();
+                    copy(connection, in, result);
+                    result.setCopyMillis(millisSince(copyStart));
+                    if (result.getRowsStaged() == 0) {
+                        throw new IllegalArgumentException("Employee extract contains no valid rows");
+                    }
+
+                    long mergeStart = System.nanoTime();
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("ANALYZE employeedetails_sync");
+                        if (deactivateMissing) {
+                            checkDeactivationLimit(statement);
+                        }
+                        try (ResultSet rs = statement.executeQuery(MERGE.replace(":deactivateMissing",
+                                Boolean.toString(deactivateMissing)))) {
+                            rs.next();
+                            result.setInserted(rs.getLong(1));
+                            result.setUpdated(rs.getLong(2));
+                            result.setDeactivated(rs.getLong(3));
+                        }
+                    }
+                    result.setMergeMillis(millisSince(mergeStart));
+                    result.setUnchanged(result.getRowsStaged() - result.getInserted() - result.getUpdated());
+
+                    if (result.getInserted() + result.getUpdated() + result.getDeactivated() > 0) {
+                        eventPublisher.publishEvent(new LookupChangedEvent(LookupTable.EMPLOYEE_DETAILS));
+                    }
+                    return result;
+                }));
+
+        report.setTotalMillis(millisSince(start));
+        if (report.getInserted() + report.getUpdated() + report.getDeactivated() > 0) {
+            employeeDetailsService.invalidateSearchIndex();
+        }
+        log.info("Employee sync: {} read, {} rejected, {} duplicates, {} inserted, {} updated, {} unchanged, "
+                        + "{} deactivated (copy {} ms, merge {} ms, total {} ms)",
+                report.getRowsRead(), report.getRowsRejected(), report.getDuplicates(), report.getInserted(),
+                report.getUpdated(), report.getUnchanged(), report.getDeactivated(),
+                report.getCopyMillis(), report.getMergeMillis(), report.getTotalMillis());
+        return report;
+    }
+
+    private void checkDeactivationLimit(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(COUNT_MISSING)) {
+            rs.next();
+            long missing = rs.getLong(1);
+            long active = rs.getLong(2);
+            if (missing > 0 && missing > active * maxDeactivationFraction) {
+                throw new IllegalArgumentException("Employee extract would deactivate " + missing + " of " + active
+                        + " active employees, more than the allowed " + Math.round(maxDeactivationFraction * 100) + "%");
+            }
+        }
+    }
+
+    // Streams the extract into the staging table, validating, de-duplicating and hashing each row
+    private void copy(Connection connection, InputStream in, EmployeeSyncReport report) throws SQLException {
+        MessageDigest md5 = md5();
+        Set<String> seen = new HashSet<>();
+        Set<String> held = new HashSet<>();
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     new PGCopyOutputStream(pgConnection, COPY_STAGING), StandardCharsets.UTF_8), 1 << 16)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Employee extract is empty");
+            }
+            Map<String, Integer> columns = columnIndexes(header);
+
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setRowsRead(report.getRowsRead() + 1);
+                List<String> fields = parseCsvLine(line);
+                String code = field(fields, columns.get("employeecode"));
+                String name = field(fields, columns.get("name"));
+                String designation = field(fields, columns.get("presentdesignationfullname"));
+                String centre = field(fields, columns.get("centre"));
+                String userId = columns.containsKey("userid") ? field(fields, columns.get("userid")) : code;
+                if (!StringUtils.hasText(userId)) {
+                    userId = code;
+                }
+
+                String problem = validate(code, name, designation, centre, userId);
+                if (problem != null) {
+                    report.setRowsRejected(report.getRowsRejected() + 1);
+                    if (report.getRowsRejected() <= 20) {
+                        log.warn("Employee extract line {} rejected: {}", lineNumber, problem);
+                    }
+                    // Still identifies an employee: stage the code so it is not deactivated as missing
+                    if (StringUtils.hasText(code) && code.length() <= 7 && held.add(code)) {
+                        out.write(csv(code));
+                        out.write(",,,,,,true\n");
+                    }
+                    continue;
+                }
+                if (!seen.add(code)) {
+                    report.setDuplicates(report.getDuplicates() + 1);
+                    continue;
+                }
+
+                String hash = HexFormat.of().formatHex(md5.digest(
+                        String.join(HASH_SEPARATOR, name, designation, centre, userId).getBytes(StandardCharsets.UTF_8)));
+                out.write(csv(code));
+                out.write(',');
+                out.write(csv(name));
+                out.write(',');
+                out.write(csv(designation));
+                out.write(',');
+                out.write(csv(centre));
+                out.write(',');
+                out.write(csv(userId));
+                out.write(',');
+                out.write(hash);
+                out.write(",false\n");
+                report.setRowsStaged(report.getRowsStaged() + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream employee extract", e);
+        }
+    }
+
+    private static Map<String, Integer> columnIndexes(String header) {
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = parseCsvLine(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Employee extract is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static String validate(String code, String name, String designation, String centre, String userId) {
+        if (!StringUtils.hasText(code) || code.length() > 7) {
+            return "employeecode must be 1-7 characters";
+        }
+        if (!StringUtils.hasText(name) || name.length() > 100) {
+            return "name must be 1-100 characters";
+        }
+        if (!StringUtils.hasText(designation) || designation.length() > 100) {
+            return "presentdesignationfullname must be 1-100 characters";
+        }
+        if (!StringUtils.hasText(centre) || centre.length() > 20) {
+            return "centre must be 1-20 characters";
+        }
+        if (userId.length() > 7) {
+            return "userid must be at most 7 characters";
+        }
+        return null;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    // Minimal RFC 4180 parsing of a single line: quoted fields, doubled quotes, no embedded newlines
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String csv(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -2,45 +2,161 @@ package com.pms.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Stores uploaded documents under file.upload.dir. Uploads are streamed through a channel into a
+ * temp file while their SHA-256 is computed, then filed in the {@link DocumentStoreService} under
+ * that hash, so heap use does not grow with the file size and repeated uploads share one blob.
+ *
+ * Writes are bounded by a per-file size limit, a cap on concurrent uploads and a budget of bytes
+ * being written at once; an upload over any of them fails with {@link UploadRejectedException}.
+ */
 @Service
 @Slf4j
 public class FileUploadService {
-    
-    @Value("${file.upload.dir:uploads}")
-    private String uploadDir;
+    // The copy never holds more than this much of a file in memory
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".part";
+
+    private final DocumentStoreService documentStoreService;
+    private final String uploadDir;
+    private final long maxFileBytes;
+    private final long maxInFlightBytes;
+    private final long acquireTimeoutMillis;
+    private final Semaphore uploadSlots;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+
+    public FileUploadService(DocumentStoreService documentStoreService,
+                             @Value("${file.upload.dir:uploads}") String uploadDir,
+                             @Value("${file.upload.max-file-size:50MB}") DataSize maxFileSize,
+                             @Value("${file.upload.max-in-flight:256MB}") DataSize maxInFlight,
+                             @Value("${file.upload.max-concurrent:4}") int maxConcurrent,
+                             @Value("${file.upload.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.documentStoreService = documentStoreService;
+        this.uploadDir = uploadDir;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxInFlightBytes = maxInFlight.toBytes();
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.uploadSlots = new Semaphore(maxConcurrent, true);
+    }
     
     public String saveFile(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
             return null;
         }
         
-        // Create uploads directory if it doesn't exist
-        File uploadFolder = new File(uploadDir);
-        if (!uploadFolder.exists()) {
-            uploadFolder.mkdirs();
+        long size = file.getSize();
+        if (size > maxFileBytes) {
+            throw tooLarge();
         }
-        
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = originalFilename != null ? originalFilename.substring(originalFilename.lastIndexOf(".")) : "";
-        String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-        
-        // Save file
-        Path filePath = Paths.get(uploadDir, uniqueFilename);
-        Files.write(filePath, file.getBytes());
-        
-        log.info("File uploaded successfully: {}", uniqueFilename);
-        return uniqueFilename; // Return just the filename, not the full path
+        acquire(size);
+        try (InputStream in = file.getInputStream()) {
+            String path = write(in, file.getOriginalFilename(), file.getContentType());
+            log.info("File uploaded successfully: {} ({} bytes)", path, size);
+            return path; // Relative to the upload directory
+        } finally {
+            release(size);
+        }
+    }
+    
+    // Streams into a temp file while hashing it, then hands it to the document store under its hash
+    private String write(InputStream in, String originalFilename, String contentType) throws IOException {
+        Path directory = Paths.get(uploadDir).toAbsolutePath();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, ".upload-", TEMP_SUFFIX);
+        boolean stored = false;
+        try {
+            MessageDigest digest = StoredFiles.sha256();
+            long position = 0;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    position += read;
+                    if (position > maxFileBytes) {
+                        throw tooLarge();
+                    }
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            String path = documentStoreService.store(temp, HexFormat.of().formatHex(digest.digest()), position,
+                    originalFilename, contentType);
+            stored = true;
+            return path;
+        } finally {
+            if (!stored) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+    
+    public long getMaxFileBytes() {
+        return maxFileBytes;
+    }
+
+    UploadRejectedException tooLarge() {
+        return new UploadRejectedException("File is larger than the " + DataSize.ofBytes(maxFileBytes).toMegabytes()
+                + " MB limit", HttpStatus.PAYLOAD_TOO_LARGE, 0);
+    }
+    
+    // Takes an upload slot and reserves the file's bytes against the in-flight budget; resumable
+    // uploads take the same for each chunk
+    void acquire(long size) {
+        boolean slot;
+        try {
+            slot = uploadSlots.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            slot = false;
+        }
+        if (!slot) {
+            throw new UploadRejectedException("Too many uploads in progress, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE, 1);
+        }
+        // A lone upload may use more than the budget, so a file under the per-file limit always fits eventually
+        while (true) {
+            long current = inFlightBytes.get();
+            if (current + size > maxInFlightBytes && current > 0) {
+                uploadSlots.release();
+                throw new UploadRejectedException("Upload capacity is in use, please retry shortly",
+                        HttpStatus.SERVICE_UNAVAILABLE, 1);
+            }
+            if (inFlightBytes.compareAndSet(current, current + size)) {
+                return;
+            }
+        }
+    }
+    
+    void release(long size) {
+        inFlightBytes.addAndGet(-size);
+        uploadSlots.release();
     }
     
     public File getFile(String filename) {
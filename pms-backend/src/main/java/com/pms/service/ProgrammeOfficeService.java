@@ -1,72 +1,50 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProgrammeOfficeRequest;
 import com.pms.dto.ProgrammeOfficeResponse;
 import com.pms.entity.ProgrammeOffice;
-import com.pms.repository.ProgrammeOfficeRepository;
+import com.pms.lookup.LookupEngine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProgrammeOfficeService {
     
-    private final ProgrammeOfficeRepository programmeOfficeRepository;
+    private final LookupEngine lookupEngine;
     
     // Get all programme offices
     public List<ProgrammeOfficeResponse> getAllProgrammeOffices() {
-        return programmeOfficeRepository.findAllByOrderByHierarchyOrderAsc()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROGRAMME_OFFICE);
     }
     
     // Get only active programme offices
     public List<ProgrammeOfficeResponse> getActiveProgrammeOffices() {
-        return programmeOfficeRepository.findAllActive()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROGRAMME_OFFICE);
     }
     
     // Get only inactive programme offices
     public List<ProgrammeOfficeResponse> getInactiveProgrammeOffices() {
-        return programmeOfficeRepository.findAllInactive()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROGRAMME_OFFICE);
     }
     
     // Get by code
     public ProgrammeOfficeResponse getProgrammeOfficeByCode(String code) {
-        ProgrammeOffice office = programmeOfficeRepository.findById(code)
+        return lookupEngine.<ProgrammeOfficeResponse>findByCode(LookupTable.PROGRAMME_OFFICE, code)
                 .orElseThrow(() -> new RuntimeException("Programme Office not found with code: " + code));
-        return convertToResponse(office);
     }
     
-    // Create new programme office
-    @Transactional
+    // Create new programme office (code and short name uniqueness checked by the engine)
     public ProgrammeOfficeResponse createProgrammeOffice(ProgrammeOfficeRequest request) {
         // Validation
         validateProgrammeOfficeRequest(request);
         
-        // Check if code already exists
-        if (programmeOfficeRepository.existsById(request.getProgrammeOfficeCode())) {
-            throw new RuntimeException("Programme Office with code " + request.getProgrammeOfficeCode() + " already exists");
-        }
-        
-        // Check if short name is unique
-        if (programmeOfficeRepository.findByProgrammeOfficeShortName(request.getProgrammeOfficeShortName()).isPresent()) {
-            throw new RuntimeException("Programme Office with short name " + request.getProgrammeOfficeShortName() + " already exists");
-        }
-        
         ProgrammeOffice office = ProgrammeOffice.builder()
                 .programmeOfficeCode(request.getProgrammeOfficeCode())
                 .programmeOfficeFullName(request.getProgrammeOfficeFullName())
@@ -79,64 +57,38 @@ public class ProgrammeOfficeService {
                 .regTime(LocalDate.now())
                 .build();
         
-        ProgrammeOffice savedOffice = programmeOfficeRepository.save(office);
-        log.info("Programme Office created successfully: {}", savedOffice.getProgrammeOfficeCode());
-        
-        return convertToResponse(savedOffice);
+        return lookupEngine.create(LookupTable.PROGRAMME_OFFICE, office);
     }
     
     // Update programme office
-    @Transactional
     public ProgrammeOfficeResponse updateProgrammeOffice(String code, ProgrammeOfficeRequest request) {
-        ProgrammeOffice office = programmeOfficeRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Programme Office not found with code: " + code));
-        
         // Validation
         validateProgrammeOfficeRequest(request);
         
-        // Check if short name is already used by another office
-        programmeOfficeRepository.findByProgrammeOfficeShortName(request.getProgrammeOfficeShortName())
-                .ifPresent(existing -> {
-                    if (!existing.getProgrammeOfficeCode().equals(code)) {
-                        throw new RuntimeException("Programme Office with short name " + request.getProgrammeOfficeShortName() + " already exists");
-                    }
-                });
-        
-        office.setProgrammeOfficeFullName(request.getProgrammeOfficeFullName());
-        office.setProgrammeOfficeShortName(request.getProgrammeOfficeShortName());
-        office.setHierarchyOrder(request.getHierarchyOrder());
-        office.setFromDate(request.getFromDate());
-        office.setToDate(request.getToDate());
-        office.setUserId(request.getUserId());
-        office.setRegStatus(request.getRegStatus());
-        
-        ProgrammeOffice updatedOffice = programmeOfficeRepository.save(office);
-        log.info("Programme Office updated successfully: {}", updatedOffice.getProgrammeOfficeCode());
-        
-        return convertToResponse(updatedOffice);
+        return lookupEngine.<ProgrammeOffice, ProgrammeOfficeResponse>update(LookupTable.PROGRAMME_OFFICE, code, office -> {
+            office.setProgrammeOfficeFullName(request.getProgrammeOfficeFullName());
+            office.setProgrammeOfficeShortName(request.getProgrammeOfficeShortName());
+            office.setHierarchyOrder(request.getHierarchyOrder());
+            office.setFromDate(request.getFromDate());
+            office.setToDate(request.getToDate());
+            office.setUserId(request.getUserId());
+            office.setRegStatus(request.getRegStatus());
+        });
     }
     
     // Deactivate programme office (set toDate)
-    @Transactional
     public ProgrammeOfficeResponse deactivateProgrammeOffice(String code) {
-        ProgrammeOffice office = programmeOfficeRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Programme Office not found with code: " + code));
-        
-        office.setToDate(LocalDate.now());
-        ProgrammeOffice deactivated = programmeOfficeRepository.save(office);
-        
-        log.info("Programme Office deactivated: {}", code);
-        return convertToResponse(deactivated);
+        return lookupEngine.deactivate(LookupTable.PROGRAMME_OFFICE, code);
     }
     
     // Delete programme office
-    @Transactional
     public void deleteProgrammeOffice(String code) {
-        ProgrammeOffice office = programmeOfficeRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Programme Office not found with code: " + code));
-        
-        programmeOfficeRepository.delete(office);
-        log.info("Programme Office deleted: {}", code);
+        lookupEngine.delete(LookupTable.PROGRAMME_OFFICE, code);
+    }
+    
+    // Reorder programme offices: codes in their new display order
+    public int reorderProgrammeOffices(List<String> orderedCodes) {
+        return lookupEngine.reorder(LookupTable.PROGRAMME_OFFICE, orderedCodes);
     }
     
     // Validation method
@@ -181,18 +133,4 @@ public class ProgrammeOfficeService {
             throw new RuntimeException("Programme Office Code cannot exceed 5 characters");
         }
     }
-    
-    private ProgrammeOfficeResponse convertToResponse(ProgrammeOffice office) {
-        return ProgrammeOfficeResponse.builder()
-                .programmeOfficeCode(office.getProgrammeOfficeCode())
-                .programmeOfficeFullName(office.getProgrammeOfficeFullName())
-                .programmeOfficeShortName(office.getProgrammeOfficeShortName())
-                .hierarchyOrder(office.getHierarchyOrder())
-                .fromDate(office.getFromDate())
-                .toDate(office.getToDate())
-                .userId(office.getUserId())
-                .regStatus(office.getRegStatus())
-                .active(office.isActive())
-                .build();
-    }
 }
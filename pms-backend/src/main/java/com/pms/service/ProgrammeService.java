@@ -0,0 +1,297 @@
+package com.pms.service;
+
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
+import com.pms.cache.ProgrammeTree;
+import com.pms.dto.ProgrammeDTO;
+import com.pms.dto.ProgrammeDetailsDTO;
+import com.pms.entity.Programme;
+import com.pms.entity.ProgrammeLevel;
+import com.pms.entity.ProgrammeOffice;
+import com.pms.entity.ProgrammeType;
+import com.pms.entity.ProjectCategory;
+import com.pms.repository.ProgrammeClosureRepository;
+import com.pms.repository.ProgrammeOfficeRepository;
+import com.pms.repository.ProgrammeRepository;
+import com.pms.repository.ProgrammeTypeRepository;
+import com.pms.repository.ProjectCategoryRepository;
+import com.pms.repository.ProjectDefinitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The programme hierarchy: programme offices, project categories under an office, and programmes
+ * (programme types) under their category.
+ *
+ * Nodes mirror the three lookup tables and are synced from them at startup and after every write to
+ * one of them. A programme's category comes from programmetypes.projectcategorycode; which office a
+ * category belongs to is not recorded anywhere else and is set here with {@link #moveCategory}.
+ * Every change keeps programme_closure complete, so roll-ups never walk the tree.
+ */
+@Service
+@Slf4j
+public class ProgrammeService {
+
+    private static final Set<LookupTable> SOURCE_TABLES =
+            EnumSet.of(LookupTable.PROGRAMME_OFFICE, LookupTable.PROJECT_CATEGORY, LookupTable.PROGRAMME_TYPE);
+
+    private final ProgrammeRepository programmeRepository;
+    private final ProgrammeClosureRepository programmeClosureRepository;
+    private final ProgrammeOfficeRepository programmeOfficeRepository;
+    private final ProjectCategoryRepository projectCategoryRepository;
+    private final ProgrammeTypeRepository programmeTypeRepository;
+    private final ProjectDefinitionRepository projectDefinitionRepository;
+    private final ProgrammeTree programmeTree;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProgrammeService(ProgrammeRepository programmeRepository,
+                            ProgrammeClosureRepository programmeClosureRepository,
+                            ProgrammeOfficeRepository programmeOfficeRepository,
+                            ProjectCategoryRepository projectCategoryRepository,
+                            ProgrammeTypeRepository programmeTypeRepository,
+                            ProjectDefinitionRepository projectDefinitionRepository,
+                            ProgrammeTree programmeTree,
+                            PlatformTransactionManager transactionManager) {
+        this.programmeRepository = programmeRepository;
+        this.programmeClosureRepository = programmeClosureRepository;
+        this.programmeOfficeRepository = programmeOfficeRepository;
+        this.projectCategoryRepository = projectCategoryRepository;
+        this.programmeTypeRepository = programmeTypeRepository;
+        this.projectDefinitionRepository = projectDefinitionRepository;
+        this.programmeTree = programmeTree;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Listeners run after the lookup write has committed, so the sync needs its own transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Active programmes for assignment dropdowns, in hierarchy order
+    public List<ProgrammeDTO> getAllProgrammes() {
+        return programmeTree.level(ProgrammeLevel.PROGRAMME).stream()
+                .filter(ProgrammeTree.Node::active)
+                .map(node -> new ProgrammeDTO(node.id(), node.name(), node.code()))
+                .collect(Collectors.toList());
+    }
+
+    public List<ProgrammeTree.Node> getTree() {
+        return programmeTree.roots();
+    }
+
+    public ProgrammeTree.Node getNode(Long id) {
+        return programmeTree.get(id)
+                .orElseThrow(() -> new IllegalArgumentException("Programme not found with ID: " + id));
+    }
+
+    // True when the id names an active programme a director or project can be attached to
+    public boolean isAssignableProgramme(Long id) {
+        return id != null && programmeTree.get(id)
+                .filter(node -> node.level() == ProgrammeLevel.PROGRAMME && node.active())
+                .isPresent();
+    }
+
+    /**
+     * The programme a project belongs to, from the id and programme name its request carries.
+     * Older clients send ids from a hard-coded list that do not match programmes.id, so an id only
+     * counts on its own or when it agrees with the name; otherwise the name decides, and a name no
+     * active programme has leaves the project without one.
+     */
+    public Long resolveProgrammeId(Long id, String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return isAssignableProgramme(id) ? id : null;
+        }
+        String wanted = name.trim();
+        if (isAssignableProgramme(id) && programmeTree.get(id).get().name().trim().equalsIgnoreCase(wanted)) {
+            return id;
+        }
+        return programmeTree.level(ProgrammeLevel.PROGRAMME).stream()
+                .filter(node -> node.active() && node.name().trim().equalsIgnoreCase(wanted))
+                .map(ProgrammeTree.Node::id)
+                .findFirst()
+                .orElse(null);
+    }
+
+    public String getProgrammeName(Long id) {
+        return id == null ? null : programmeTree.get(id).map(ProgrammeTree.Node::name).orElse(null);
+    }
+
+    /**
+     * Node details with project roll-ups over everything under it
+     */
+    @Transactional(readOnly = true)
+    public ProgrammeDetailsDTO getProgrammeDetails(Long id) {
+        ProgrammeTree.Node node = getNode(id);
+        List<Object[]> rows = projectDefinitionRepository.summariseUnderProgramme(id);
+        Object[] summary = rows.isEmpty() ? new Object[3] : rows.get(0);
+        return ProgrammeDetailsDTO.builder()
+                .id(node.id())
+                .programmeName(node.name())
+                .description(programmeTree.path(id).stream()
+                        .map(ProgrammeTree.Node::name)
+                        .collect(Collectors.joining(" / ")))
+                .budget(summary[2] != null ? ((Number) summary[2]).longValue() : 0L)
+                .status(node.active() ? "ACTIVE" : "INACTIVE")
+                .totalProjects(summary[0] != null ? ((Number) summary[0]).intValue() : 0)
+                .activeProjects(summary[1] != null ? ((Number) summary[1]).intValue() : 0)
+                .build();
+    }
+
+    /**
+     * Place a project category under a programme office, or make it a root with a null office
+     */
+    @Transactional
+    public void moveCategory(Long categoryId, Long officeId) {
+        Programme category = programmeRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Programme not found with ID: " + categoryId));
+        if (category.getLevel() != ProgrammeLevel.CATEGORY) {
+            throw new IllegalArgumentException("Only project categories can be moved; programmes follow their category");
+        }
+        if (officeId != null) {
+            Programme office = programmeRepository.findById(officeId)
+                    .orElseThrow(() -> new IllegalArgumentException("Programme office not found with ID: " + officeId));
+            if (office.getLevel() != ProgrammeLevel.OFFICE) {
+                throw new IllegalArgumentException("A project category can only be placed under a programme office");
+            }
+        }
+        if (!Objects.equals(category.getParentId(), officeId)) {
+            reparent(category, officeId);
+            programmeTree.invalidate();
+            log.info("Project category {} moved under programme node {}", category.getCode(), officeId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        sync();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLookupChanged(LookupChangedEvent event) {
+        if (SOURCE_TABLES.contains(event.getTable())) {
+            sync();
+        }
+    }
+
+    // Bring the nodes in line with the three lookup tables; failures are logged, not thrown at the writer
+    public void sync() {
+        try {
+            Integer changed = transactionTemplate.execute(status -> syncNodes());
+            if (changed != null && changed > 0) {
+                log.info("Programme hierarchy synced, {} nodes changed", changed);
+            }
+        } catch (RuntimeException e) {
+            log.error("Programme hierarchy sync failed: {}", e.getMessage());
+        }
+    }
+
+    private int syncNodes() {
+        Map<ProgrammeLevel, Map<String, Programme>> existing = new EnumMap<>(ProgrammeLevel.class);
+        for (ProgrammeLevel level : ProgrammeLevel.values()) {
+            existing.put(level, new HashMap<>());
+        }
+        for (Programme node : programmeRepository.findAll()) {
+            existing.get(node.getLevel()).put(node.getCode(), node);
+        }
+
+        int changed = 0;
+        Set<Long> seen = new HashSet<>();
+        for (ProgrammeOffice office : programmeOfficeRepository.findAll()) {
+            Programme node = existing.get(ProgrammeLevel.OFFICE).get(office.getProgrammeOfficeCode());
+            changed += upsert(node, ProgrammeLevel.OFFICE, office.getProgrammeOfficeCode(),
+                    office.getProgrammeOfficeFullName(), office.getHierarchyOrder(), office.getActiveFlag(),
+                    node != null ? node.getParentId() : null, existing, seen);
+        }
+        for (ProjectCategory category : projectCategoryRepository.findAll()) {
+            Programme node = existing.get(ProgrammeLevel.CATEGORY).get(category.getProjectCategoryCode());
+            changed += upsert(node, ProgrammeLevel.CATEGORY, category.getProjectCategoryCode(),
+                    category.getProjectCategoryFullName(), category.getHierarchyOrder(), category.getActiveFlag(),
+                    node != null ? node.getParentId() : null, existing, seen);
+        }
+        for (ProgrammeType type : programmeTypeRepository.findAll()) {
+            Programme node = existing.get(ProgrammeLevel.PROGRAMME).get(type.getProgrammeTypeCode());
+            Programme category = existing.get(ProgrammeLevel.CATEGORY).get(type.getProjectCategoryCode());
+            changed += upsert(node, ProgrammeLevel.PROGRAMME, type.getProgrammeTypeCode(),
+                    type.getProgrammeTypeFullName(), type.getHierarchyOrder(), type.getActiveFlag(),
+                    category != null ? category.getId() : null, existing, seen);
+        }
+
+        // Rows gone from the lookup table: kept, since users and projects may point at them
+        for (Map<String, Programme> nodes : existing.values()) {
+            for (Programme node : nodes.values()) {
+                if (!seen.contains(node.getId()) && Boolean.TRUE.equals(node.getActive())) {
+                    node.setActive(false);
+                    programmeRepository.save(node);
+                    changed++;
+                }
+            }
+        }
+        if (changed > 0) {
+            programmeTree.invalidate();
+        }
+        return changed;
+    }
+
+    private int upsert(Programme node, ProgrammeLevel level, String code, String name, Integer hierarchyOrder,
+                       Boolean activeFlag, Long parentId, Map<ProgrammeLevel, Map<String, Programme>> existing,
+                       Set<Long> seen) {
+        boolean active = !Boolean.FALSE.equals(activeFlag);
+        if (node == null) {
+            node = programmeRepository.saveAndFlush(Programme.builder()
+                    .level(level)
+                    .code(code)
+                    .name(name)
+                    .parentId(parentId)
+                    .hierarchyOrder(hierarchyOrder)
+                    .active(active)
+                    .build());
+            if (parentId == null) {
+                programmeClosureRepository.insertRoot(node.getId());
+            } else {
+                programmeClosureRepository.insertNode(node.getId(), parentId);
+            }
+            existing.get(level).put(code, node);
+            seen.add(node.getId());
+            return 1;
+        }
+        seen.add(node.getId());
+        int changed = 0;
+        if (!Objects.equals(node.getName(), name) || !Objects.equals(node.getHierarchyOrder(), hierarchyOrder)
+                || !Objects.equals(node.getActive(), active)) {
+            node.setName(name);
+            node.setHierarchyOrder(hierarchyOrder);
+            node.setActive(active);
+            programmeRepository.save(node);
+            changed = 1;
+        }
+        if (!Objects.equals(node.getParentId(), parentId)) {
+            reparent(node, parentId);
+            changed = 1;
+        }
+        return changed;
+    }
+
+    // Re-link the node's subtree in the closure table, then record the new parent
+    private void reparent(Programme node, Long parentId) {
+        programmeClosureRepository.detachSubtree(node.getId());
+        if (parentId != null) {
+            programmeClosureRepository.attachSubtree(node.getId(), parentId);
+        }
+        node.setParentId(parentId);
+        programmeRepository.save(node);
+    }
+}
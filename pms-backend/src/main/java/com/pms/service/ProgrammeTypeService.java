@@ -1,43 +1,36 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProgrammeTypeRequest;
 import com.pms.dto.ProgrammeTypeResponse;
 import com.pms.entity.ProgrammeType;
-import com.pms.repository.ProgrammeTypeRepository;
+import com.pms.lookup.LookupEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProgrammeTypeService {
     
     @Autowired
-    private ProgrammeTypeRepository programmeTypeRepository;
+    private LookupEngine lookupEngine;
     
     public List<ProgrammeTypeResponse> getAllProgrammeTypes() {
-        return programmeTypeRepository.findAllByOrderByHierarchyOrderAsc().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROGRAMME_TYPE);
     }
     
     public List<ProgrammeTypeResponse> getActiveProgrammeTypes() {
-        return programmeTypeRepository.findAllActive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROGRAMME_TYPE);
     }
     
     public List<ProgrammeTypeResponse> getInactiveProgrammeTypes() {
-        return programmeTypeRepository.findAllInactive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROGRAMME_TYPE);
     }
     
     public ProgrammeTypeResponse getProgrammeTypeByCode(String code) {
-        return programmeTypeRepository.findById(code)
-                .map(this::convertToResponse)
+        return lookupEngine.<ProgrammeTypeResponse>findByCode(LookupTable.PROGRAMME_TYPE, code)
                 .orElse(null);
     }
     
@@ -56,42 +49,34 @@ public class ProgrammeTypeService {
         programmeType.setRegStatus(request.getRegStatus());
         programmeType.setRegTime(LocalDate.now());
         
-        programmeType = programmeTypeRepository.save(programmeType);
-        return convertToResponse(programmeType);
+        return lookupEngine.create(LookupTable.PROGRAMME_TYPE, programmeType);
     }
     
     public ProgrammeTypeResponse updateProgrammeType(String code, ProgrammeTypeRequest request) {
-        ProgrammeType programmeType = programmeTypeRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Programme Type not found with code: " + code));
-        
         validateRequest(request);
         
-        programmeType.setProjectCategoryCode(request.getProjectCategoryCode());
-        programmeType.setProgrammeTypeFullName(request.getProgrammeTypeFullName());
-        programmeType.setProgrammeTypeShortName(request.getProgrammeTypeShortName());
-        programmeType.setHierarchyOrder(request.getHierarchyOrder());
-        programmeType.setFromDate(request.getFromDate());
-        programmeType.setToDate(request.getToDate());
-        programmeType.setUserId(request.getUserId());
-        programmeType.setRegStatus(request.getRegStatus());
-        
-        programmeType = programmeTypeRepository.save(programmeType);
-        return convertToResponse(programmeType);
+        return lookupEngine.<ProgrammeType, ProgrammeTypeResponse>update(LookupTable.PROGRAMME_TYPE, code, programmeType -> {
+            programmeType.setProjectCategoryCode(request.getProjectCategoryCode());
+            programmeType.setProgrammeTypeFullName(request.getProgrammeTypeFullName());
+            programmeType.setProgrammeTypeShortName(request.getProgrammeTypeShortName());
+            programmeType.setHierarchyOrder(request.getHierarchyOrder());
+            programmeType.setFromDate(request.getFromDate());
+            programmeType.setToDate(request.getToDate());
+            programmeType.setUserId(request.getUserId());
+            programmeType.setRegStatus(request.getRegStatus());
+        });
     }
     
     public void deactivateProgrammeType(String code) {
-        ProgrammeType programmeType = programmeTypeRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Programme Type not found with code: " + code));
-        
-        programmeType.setToDate(LocalDate.now());
-        programmeTypeRepository.save(programmeType);
+        lookupEngine.deactivate(LookupTable.PROGRAMME_TYPE, code);
     }
     
     public void deleteProgrammeType(String code) {
-        if (!programmeTypeRepository.existsById(code)) {
-            throw new RuntimeException("Programme Type not found with code: " + code);
-        }
-        programmeTypeRepository.deleteById(code);
+        lookupEngine.delete(LookupTable.PROGRAMME_TYPE, code);
+    }
+    
+    public int reorderProgrammeTypes(List<String> orderedCodes) {
+        return lookupEngine.reorder(LookupTable.PROGRAMME_TYPE, orderedCodes);
     }
     
     private void validateRequest(ProgrammeTypeRequest request) {
@@ -147,19 +132,4 @@ public class ProgrammeTypeService {
             throw new RuntimeException("Registration Status must be a single character");
         }
     }
-    
-    private ProgrammeTypeResponse convertToResponse(ProgrammeType programmeType) {
-        return new ProgrammeTypeResponse(
-                programmeType.getProgrammeTypeCode(),
-                programmeType.getProjectCategoryCode(),
-                programmeType.getProgrammeTypeFullName(),
-                programmeType.getProgrammeTypeShortName(),
-                programmeType.getHierarchyOrder(),
-                programmeType.getFromDate(),
-                programmeType.getToDate(),
-                programmeType.getUserId(),
-                programmeType.getRegStatus(),
-                programmeType.isActive()
-        );
-    }
 }
@@ -1,43 +1,36 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProjectActivityRequest;
 import com.pms.dto.ProjectActivityResponse;
 import com.pms.entity.ProjectActivity;
-import com.pms.repository.ProjectActivityRepository;
+import com.pms.lookup.LookupEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectActivityService {
     
     @Autowired
-    private ProjectActivityRepository projectActivityRepository;
+    private LookupEngine lookupEngine;
     
     public List<ProjectActivityResponse> getAllProjectActivities() {
-        return projectActivityRepository.findAllByOrderByHierarchyOrderAsc().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROJECT_ACTIVITY);
     }
     
     public List<ProjectActivityResponse> getActiveProjectActivities() {
-        return projectActivityRepository.findAllActive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROJECT_ACTIVITY);
     }
     
     public List<ProjectActivityResponse> getInactiveProjectActivities() {
-        return projectActivityRepository.findAllInactive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROJECT_ACTIVITY);
     }
     
     public ProjectActivityResponse getProjectActivityByCode(String code) {
-        return projectActivityRepository.findById(code)
-                .map(this::convertToResponse)
+        return lookupEngine.<ProjectActivityResponse>findByCode(LookupTable.PROJECT_ACTIVITY, code)
                 .orElse(null);
     }
     
@@ -55,41 +48,33 @@ public class ProjectActivityService {
         activity.setRegStatus(request.getRegStatus());
         activity.setRegTime(LocalDate.now());
         
-        activity = projectActivityRepository.save(activity);
-        return convertToResponse(activity);
+        return lookupEngine.create(LookupTable.PROJECT_ACTIVITY, activity);
     }
     
     public ProjectActivityResponse updateProjectActivity(String code, ProjectActivityRequest request) {
-        ProjectActivity activity = projectActivityRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Project Activity not found with code: " + code));
-        
         validateRequest(request);
         
-        activity.setProjectActivityFullName(request.getProjectActivityFullName());
-        activity.setProjectActivityShortName(request.getProjectActivityShortName());
-        activity.setHierarchyOrder(request.getHierarchyOrder());
-        activity.setFromDate(request.getFromDate());
-        activity.setToDate(request.getToDate());
-        activity.setUserId(request.getUserId());
-        activity.setRegStatus(request.getRegStatus());
-        
-        activity = projectActivityRepository.save(activity);
-        return convertToResponse(activity);
+        return lookupEngine.<ProjectActivity, ProjectActivityResponse>update(LookupTable.PROJECT_ACTIVITY, code, activity -> {
+            activity.setProjectActivityFullName(request.getProjectActivityFullName());
+            activity.setProjectActivityShortName(request.getProjectActivityShortName());
+            activity.setHierarchyOrder(request.getHierarchyOrder());
+            activity.setFromDate(request.getFromDate());
+            activity.setToDate(request.getToDate());
+            activity.setUserId(request.getUserId());
+            activity.setRegStatus(request.getRegStatus());
+        });
     }
     
     public void deactivateProjectActivity(String code) {
-        ProjectActivity activity = projectActivityRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Project Activity not found with code: " + code));
-        
-        activity.setToDate(LocalDate.now());
-        projectActivityRepository.save(activity);
+        lookupEngine.deactivate(LookupTable.PROJECT_ACTIVITY, code);
     }
     
     public void deleteProjectActivity(String code) {
-        if (!projectActivityRepository.existsById(code)) {
-            throw new RuntimeException("Project Activity not found with code: " + code);
-        }
-        projectActivityRepository.deleteById(code);
+        lookupEngine.delete(LookupTable.PROJECT_ACTIVITY, code);
+    }
+    
+    public int reorderProjectActivities(List<String> orderedCodes) {
+        return lookupEngine.reorder(LookupTable.PROJECT_ACTIVITY, orderedCodes);
     }
     
     private void validateRequest(ProjectActivityRequest request) {
@@ -141,18 +126,4 @@ public class ProjectActivityService {
             throw new RuntimeException("Registration Status must be a single character");
         }
     }
-    
-    private ProjectActivityResponse convertToResponse(ProjectActivity activity) {
-        return new ProjectActivityResponse(
-                activity.getProjectActivityCode(),
-                activity.getProjectActivityFullName(),
-                activity.getProjectActivityShortName(),
-                activity.getHierarchyOrder(),
-                activity.getFromDate(),
-                activity.getToDate(),
-                activity.getUserId(),
-                activity.getRegStatus(),
-                activity.isActive()
-        );
-    }
 }
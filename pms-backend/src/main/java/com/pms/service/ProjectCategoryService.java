@@ -1,50 +1,42 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProjectCategoryRequest;
 import com.pms.dto.ProjectCategoryResponse;
 import com.pms.entity.ProjectCategory;
-import com.pms.repository.ProjectCategoryRepository;
+import com.pms.lookup.LookupEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectCategoryService {
     
     @Autowired
-    private ProjectCategoryRepository projectCategoryRepository;
+    private LookupEngine lookupEngine;
     
     public List<ProjectCategoryResponse> getAllProjectCategories() {
-        return projectCategoryRepository.findAllByOrderByHierarchyOrderAsc().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROJECT_CATEGORY);
     }
     
     public List<ProjectCategoryResponse> getActiveProjectCategories() {
-        return projectCategoryRepository.findAllActive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROJECT_CATEGORY);
     }
     
     public List<ProjectCategoryResponse> getInactiveProjectCategories() {
-        return projectCategoryRepository.findAllInactive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROJECT_CATEGORY);
     }
     
     public ProjectCategoryResponse getProjectCategoryByCode(String code) {
-        return projectCategoryRepository.findById(code)
-                .map(this::convertToResponse)
+        return lookupEngine.<ProjectCategoryResponse>findByCode(LookupTable.PROJECT_CATEGORY, code)
                 .orElse(null);
     }
     
     public List<ProjectCategoryResponse> getDashboardCategories() {
-        return projectCategoryRepository.findByShowOnDashboard("Yes").stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.<ProjectCategory, ProjectCategoryResponse>findMatching(LookupTable.PROJECT_CATEGORY,
+                category -> "Yes".equals(category.getShowOnDashboard()));
     }
     
     public ProjectCategoryResponse createProjectCategory(ProjectCategoryRequest request) {
@@ -62,42 +54,34 @@ public class ProjectCategoryService {
         category.setRegStatus(request.getRegStatus());
         category.setRegTime(LocalDate.now());
         
-        category = projectCategoryRepository.save(category);
-        return convertToResponse(category);
+        return lookupEngine.create(LookupTable.PROJECT_CATEGORY, category);
     }
     
     public ProjectCategoryResponse updateProjectCategory(String code, ProjectCategoryRequest request) {
-        ProjectCategory category = projectCategoryRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Project Category not found with code: " + code));
-        
         validateRequest(request);
         
-        category.setProjectCategoryFullName(request.getProjectCategoryFullName());
-        category.setProjectCategoryShortName(request.getProjectCategoryShortName());
-        category.setShowOnDashboard(request.getShowOnDashboard());
-        category.setHierarchyOrder(request.getHierarchyOrder());
-        category.setFromDate(request.getFromDate());
-        category.setToDate(request.getToDate());
-        category.setUserId(request.getUserId());
-        category.setRegStatus(request.getRegStatus());
-        
-        category = projectCategoryRepository.save(category);
-        return convertToResponse(category);
+        return lookupEngine.<ProjectCategory, ProjectCategoryResponse>update(LookupTable.PROJECT_CATEGORY, code, category -> {
+            category.setProjectCategoryFullName(request.getProjectCategoryFullName());
+            category.setProjectCategoryShortName(request.getProjectCategoryShortName());
+            category.setShowOnDashboard(request.getShowOnDashboard());
+            category.setHierarchyOrder(request.getHierarchyOrder());
+            category.setFromDate(request.getFromDate());
+            category.setToDate(request.getToDate());
+            category.setUserId(request.getUserId());
+            category.setRegStatus(request.getRegStatus());
+        });
     }
     
     public void deactivateProjectCategory(String code) {
-        ProjectCategory category = projectCategoryRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Project Category not found with code: " + code));
-        
-        category.setToDate(LocalDate.now());
-        projectCategoryRepository.save(category);
+        lookupEngine.deactivate(LookupTable.PROJECT_CATEGORY, code);
     }
     
     public void deleteProjectCategory(String code) {
-        if (!projectCategoryRepository.existsById(code)) {
-            throw new RuntimeException("Project Category not found with code: " + code);
-        }
-        projectCategoryRepository.deleteById(code);
+        lookupEngine.delete(LookupTable.PROJECT_CATEGORY, code);
+    }
+    
+    public int reorderProjectCategories(List<String> orderedCodes) {
+        return lookupEngine.reorder(LookupTable.PROJECT_CATEGORY, orderedCodes);
     }
     
     private void validateRequest(ProjectCategoryRequest request) {
@@ -157,19 +141,4 @@ public class ProjectCategoryService {
             throw new RuntimeException("Registration Status must be a single character");
         }
     }
-    
-    private ProjectCategoryResponse convertToResponse(ProjectCategory category) {
-        return new ProjectCategoryResponse(
-                category.getProjectCategoryCode(),
-                category.getProjectCategoryFullName(),
-                category.getProjectCategoryShortName(),
-                category.getShowOnDashboard(),
-                category.getHierarchyOrder(),
-                category.getFromDate(),
-                category.getToDate(),
-                category.getUserId(),
-                category.getRegStatus(),
-                category.isActive()
-        );
-    }
 }
@@ -27,6 +27,8 @@ import java.util.stream.Collectors;
 public class ProjectDefinitionService {
     private final ProjectDefinitionRepository projectDefinitionRepository;
     private final UserRepository userRepository;
+    private final DocumentStoreService documentStoreService;
+    private final ProgrammeService programmeService;
 
     public List<ProjectDefinitionResponse> getAllProjects() {
         return projectDefinitionRepository.findAll()
@@ -56,6 +58,14 @@ public class ProjectDefinitionService {
                 .collect(Collectors.toList());
     }
 
+    // Projects attached to the programme node or anything below it
+    public List<ProjectDefinitionResponse> getProjectsUnderProgramme(Long programmeId) {
+        return projectDefinitionRepository.findUnderProgramme(programmeId)
+                .stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
     public Map<String, Object> getProjectsByCategory(String category) {
         List<ProjectDefinition> projects = projectDefinitionRepository.findByCategory(category);
         
@@ -115,7 +125,8 @@ public class ProjectDefinitionService {
                 .projectName(request.getProjectName())
                 .shortName(request.getShortName())
                 .programmeName(request.getProgrammeName())
-                .programmeId(request.getProgrammeId())
+                .programmeId(programmeService.resolveProgrammeId(request.getProgrammeId(),
+                        request.getProgrammeName()))
                 .projectType(request.getProjectType())
                 .category(request.getCategory())
                 .budgetCode(request.getBudgetCode())
@@ -130,6 +141,7 @@ public class ProjectDefinitionService {
                 .createdDate(LocalDateTime.now())
                 .build();
 
+        documentStoreService.retain(project.getProjectDocumentPath());
         ProjectDefinition savedProject = projectDefinitionRepository.save(project);
         log.info("Project created successfully: {}", savedProject.getShortName());
         
@@ -144,12 +156,14 @@ public class ProjectDefinitionService {
         project.setProjectName(request.getProjectName());
         project.setShortName(request.getShortName());
         project.setProgrammeName(request.getProgrammeName());
-        project.setProgrammeId(request.getProgrammeId());
+        project.setProgrammeId(programmeService.resolveProgrammeId(request.getProgrammeId(),
+                request.getProgrammeName()));
         project.setProjectType(request.getProjectType());
         project.setCategory(request.getCategory());
         project.setBudgetCode(request.getBudgetCode());
         project.setLeadCentre(request.getLeadCentre());
         project.setSanctionedAmount(request.getSanctionedAmount());
+        documentStoreService.replace(project.getProjectDocumentPath(), request.getProjectDocumentPath());
         project.setProjectDocumentPath(request.getProjectDocumentPath());
         
         // Update directors from request without validation (employee directory not migrated yet)
@@ -178,6 +192,7 @@ public class ProjectDefinitionService {
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         
         projectDefinitionRepository.delete(project);
+        documentStoreService.release(project.getProjectDocumentPath());
         log.info("Project deleted successfully: {}", project.getShortName());
     }
 
@@ -1,5 +1,6 @@
 package com.pms.service;
 
+import com.pms.cache.BudgetCentreProjectCodeIndex;
 import com.pms.dto.CategoryStatDTO;
 import com.pms.dto.ProjectDetailRequest;
 import com.pms.dto.ProjectDetailResponse;
@@ -9,11 +10,15 @@ import com.pms.entity.ProjectCategory;
 import com.pms.repository.ProjectDetailRepository;
 import com.pms.repository.ProgrammeTypeRepository;
 import com.pms.repository.ProjectCategoryRepository;
+import com.pms.security.ProjectScope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.List;
@@ -25,9 +30,14 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProjectDetailService {
     
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "missionProjectCode");
+    
     private final ProjectDetailRepository projectDetailRepository;
     private final ProgrammeTypeRepository programmeTypeRepository;
     private final ProjectCategoryRepository projectCategoryRepository;
+    private final BudgetCentreProjectCodeIndex budgetCentreProjectCodeIndex;
+    private final ChunkedUploadService chunkedUploadService;
+    private final DocumentStoreService documentStoreService;
     
     // Generate project code in format: YEARP001, YEARP002, etc.
     private String generateProjectCode() {
@@ -42,58 +52,65 @@ public class ProjectDetailService {
         return String.format("%sP%03d", currentYear, nextSequence);
     }
     
-    // Get all projects
-    public List<ProjectDetailResponse> getAllProjectDetails() {
-        return projectDetailRepository.findAllOrderByCodeDesc()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // Get all projects the caller may see
+    public List<ProjectDetailResponse> getAllProjectDetails(ProjectScope scope) {
+        return findInScope(scope, null);
     }
     
     // Get active projects only
-    public List<ProjectDetailResponse> getActiveProjectDetails() {
-        return projectDetailRepository.findAllActive()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<ProjectDetailResponse> getActiveProjectDetails(ProjectScope scope) {
+        return findInScope(scope, (root, query, cb) -> cb.equal(root.get("regStatus"), "R"));
     }
     
     // Get projects by Project Director OR Programme Director (for logged-in director)
     public List<ProjectDetailResponse> getProjectDetailsByDirectorOrProgrammeDirector(String employeeCode) {
-        return projectDetailRepository.findByMissionProjectDirectorOrProgrammeDirector(employeeCode, employeeCode)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return findInScope(ProjectScope.own(employeeCode), null);
     }
     
     // Get projects by Project Director
-    public List<ProjectDetailResponse> getProjectDetailsByDirector(String directorId) {
-        return projectDetailRepository.findByMissionProjectDirector(directorId)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<ProjectDetailResponse> getProjectDetailsByDirector(String directorId, ProjectScope scope) {
+        return findInScope(scope, (root, query, cb) -> cb.equal(root.get("missionProjectDirector"), directorId));
     }
     
     // Get projects by Programme Director
-    public List<ProjectDetailResponse> getProjectDetailsByProgrammeDirector(String programmeDirectorId) {
-        return projectDetailRepository.findByProgrammeDirector(programmeDirectorId)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<ProjectDetailResponse> getProjectDetailsByProgrammeDirector(String programmeDirectorId, ProjectScope scope) {
+        return findInScope(scope, (root, query, cb) -> cb.equal(root.get("programmeDirector"), programmeDirectorId));
     }
     
-    // Get by code
-    public ProjectDetailResponse getProjectDetailByCode(String code) {
-        ProjectDetail project = projectDetailRepository.findById(code)
+    // Get projects whose programme type is under a programme hierarchy node
+    public List<ProjectDetailResponse> getProjectDetailsUnderProgramme(Long programmeId, ProjectScope scope) {
+        return findInScope(scope, ProjectScope.underProgramme(programmeId));
+    }
+    
+    // Get by code; a project outside the caller's scope is reported as not found
+    public ProjectDetailResponse getProjectDetailByCode(String code, ProjectScope scope) {
+        Specification<ProjectDetail> byCode = (root, query, cb) -> cb.equal(root.get("missionProjectCode"), code);
+        ProjectDetail project = projectDetailRepository.findOne(scope.toSpecification().and(byCode))
                 .orElseThrow(() -> new RuntimeException("Project Detail not found with code: " + code));
         return convertToResponse(project);
     }
     
+    // The scope predicate and the filter go into one WHERE clause
+    private List<ProjectDetail> findAll(ProjectScope scope, Specification<ProjectDetail> filter) {
+        Specification<ProjectDetail> where = scope.toSpecification();
+        if (filter != null) {
+            where = where.and(filter);
+        }
+        return projectDetailRepository.findAll(where, NEWEST_FIRST);
+    }
+    
+    private List<ProjectDetailResponse> findInScope(ProjectScope scope, Specification<ProjectDetail> filter) {
+        return findAll(scope, filter)
+                .stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+    
     // Create new project - auto-populate userId, regStatus, regTime
     @Transactional
     public ProjectDetailResponse createProjectDetail(ProjectDetailRequest request, String userId) {
         // Validation
-        validateProjectDetailRequest(request);
+        validateProjectDetailRequest(request, null);
         
         // Check if short name is unique
         if (projectDetailRepository.findByMissionProjectShortName(request.getMissionProjectShortName()).isPresent()) {
@@ -118,7 +135,7 @@ public class ProjectDetailService {
                 .dateOffs(request.getDateOffs())
                 .durationInMonths(request.getDurationInMonths())
                 .originalSchedule(request.getOriginalSchedule())
-                .fsCopy(request.getFsCopy())
+                .fsCopy(attachUpload(request.getFsCopy(), userId))
                 .missionProjectDirector(request.getMissionProjectDirector())
                 .programmeDirector(request.getProgrammeDirector())
                 .userId(userId)  // Auto-populate with current user
@@ -126,6 +143,7 @@ public class ProjectDetailService {
                 .regTime(LocalDateTime.now())  // Auto-populate with current time
                 .build();
         
+        documentStoreService.retain(project.getFsCopy());
         ProjectDetail savedProject = projectDetailRepository.save(project);
         log.info("Project Detail created successfully: {} by user: {}", savedProject.getMissionProjectCode(), userId);
         
@@ -139,7 +157,7 @@ public class ProjectDetailService {
                 .orElseThrow(() -> new RuntimeException("Project Detail not found with code: " + code));
         
         // Validation
-        validateProjectDetailRequest(request);
+        validateProjectDetailRequest(request, project);
         
         // Check if short name is already used by another project
         projectDetailRepository.findByMissionProjectShortName(request.getMissionProjectShortName())
@@ -160,7 +178,9 @@ public class ProjectDetailService {
         project.setDateOffs(request.getDateOffs());
         project.setDurationInMonths(request.getDurationInMonths());
         project.setOriginalSchedule(request.getOriginalSchedule());
-        project.setFsCopy(request.getFsCopy());
+        String fsCopy = attachUpload(request.getFsCopy(), userId);
+        documentStoreService.replace(project.getFsCopy(), fsCopy);
+        project.setFsCopy(fsCopy);
         project.setMissionProjectDirector(request.getMissionProjectDirector());
         project.setProgrammeDirector(request.getProgrammeDirector());
         
@@ -177,11 +197,24 @@ public class ProjectDetailService {
                 .orElseThrow(() -> new RuntimeException("Project Detail not found with code: " + code));
         
         projectDetailRepository.delete(project);
+        documentStoreService.release(project.getFsCopy());
+        documentStoreService.release(project.getCostOverrunApprovalCopy());
+        documentStoreService.release(project.getTimeOverrunApprovalCopy());
         log.info("Project Detail deleted: {}", code);
     }
     
+    // FS copy may name the id of a finished resumable upload, which is then claimed as the stored file
+    private String attachUpload(String value, String userId) {
+        try {
+            return chunkedUploadService.claimIfUpload(value, userId);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not attach upload " + value + ": " + e.getMessage());
+        }
+    }
+    
     // Validation method
-    private void validateProjectDetailRequest(ProjectDetailRequest request) {
+    // existing is null on create; on update, codes the project already holds are not re-checked
+    private void validateProjectDetailRequest(ProjectDetailRequest request, ProjectDetail existing) {
         if (request.getMissionProjectFullName() == null || request.getMissionProjectFullName().trim().isEmpty()) {
             throw new RuntimeException("Project Full Name is required");
         }
@@ -194,6 +227,19 @@ public class ProjectDetailService {
             throw new RuntimeException("Budget Code is required");
         }
         
+        // Budget and lead centre codes are checked against the in-memory budget centre index
+        String budgetCode = request.getBudgetCode().trim();
+        if ((existing == null || !budgetCode.equals(existing.getBudgetCode())) && !isActiveBudgetCode(budgetCode)) {
+            throw new RuntimeException("Budget Code " + request.getBudgetCode() + " is not an active budget centre project code");
+        }
+        
+        String leadCentreCode = request.getLeadCentreCode() != null ? request.getLeadCentreCode().trim() : "";
+        if (!leadCentreCode.isEmpty() && leadCentreCode.length() <= 2
+                && (existing == null || !leadCentreCode.equals(existing.getLeadCentreCode()))
+                && !budgetCentreProjectCodeIndex.isActiveCentre(leadCentreCode)) {
+            throw new RuntimeException("Lead Centre Code " + request.getLeadCentreCode() + " is not an active budget centre");
+        }
+        
         if (request.getProjectTypesCode() == null || request.getProjectTypesCode().trim().isEmpty()) {
             throw new RuntimeException("Project Types Code is required");
         }
@@ -227,51 +273,31 @@ public class ProjectDetailService {
         }
     }
     
-    public Object getCategoryStats() {
-        List<ProjectDetail> projects = projectDetailRepository.findAllOrderByCodeDesc();
-        
-        Map<String, CategoryStatDTO> categoryStats = projects.stream()
-                .collect(Collectors.groupingBy(
-                        project -> {
-                            // Get programme type for this project
-                            if (project.getProgrammeTypeCode() != null) {
-                                ProgrammeType programmeType = programmeTypeRepository.findById(project.getProgrammeTypeCode()).orElse(null);
-                                if (programmeType != null && programmeType.getProjectCategoryCode() != null) {
-                                    return programmeType.getProjectCategoryCode();
-                                }
-                            }
-                            return "UNKNOWN";
-                        },
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> {
-                            String categoryCode = entry.getKey();
-                            long count = entry.getValue();
-                            
-                            // Fetch category details
-                            ProjectCategory category = null;
-                            if (!categoryCode.equals("UNKNOWN")) {
-                                category = projectCategoryRepository.findById(categoryCode).orElse(null);
-                            }
-                            
-                            return new CategoryStatDTO(
-                                    categoryCode,
-                                    category != null ? category.getProjectCategoryFullName() : "Unknown",
-                                    category != null ? category.getProjectCategoryShortName() : "UNK",
-                                    (int) count
-                            );
-                        }
-                ));
-        
-        return Map.of("categories", categoryStats.values());
+    // A two-character code names a centre; a third character selects one of its centre projects.
+    // Longer free-form codes (e.g. "LV-2024-001") predate the index and are accepted as they are
+    private boolean isActiveBudgetCode(String budgetCode) {
+        if (budgetCode.length() != 2 && budgetCode.length() != 3) {
+            return true;
+        }
+        if (budgetCode.length() == 3) {
+            return budgetCentreProjectCodeIndex.find(budgetCode.substring(0, 2), budgetCode.substring(2))
+                    .map(code -> code.isActive())
+                    .orElse(false);
+        }
+        return budgetCentreProjectCodeIndex.isActiveCentre(budgetCode);
     }
     
-    public Object getCategoryStatsByDirector(String employeeCode) {
-        List<ProjectDetail> projects = projectDetailRepository.findByMissionProjectDirectorOrProgrammeDirector(employeeCode, employeeCode);
-        
+    public Object getCategoryStats(ProjectScope scope) {
+        return categoryStats(findAll(scope, null));
+    }
+    
+    public Object getCategoryStatsByDirector(String employeeCode, ProjectScope scope) {
+        Specification<ProjectDetail> directed = ProjectScope.own(employeeCode).toSpecification();
+        return categoryStats(findAll(scope, directed));
+    }
+    
+    // Project counts per category of the given projects' programme types
+    private Object categoryStats(List<ProjectDetail> projects) {
         Map<String, CategoryStatDTO> categoryStats = projects.stream()
                 .collect(Collectors.groupingBy(
                         project -> {
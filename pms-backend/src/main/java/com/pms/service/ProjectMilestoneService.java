@@ -1,39 +1,35 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProjectMilestoneRequest;
 import com.pms.dto.ProjectMilestoneResponse;
 import com.pms.entity.ProjectMilestone;
-import com.pms.repository.ProjectMilestoneRepository;
+import com.pms.lookup.LookupEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectMilestoneService {
     
     @Autowired
-    private ProjectMilestoneRepository projectMilestoneRepository;
+    private LookupEngine lookupEngine;
     
     public List<ProjectMilestoneResponse> getAllProjectMilestones() {
-        return projectMilestoneRepository.findAllByOrderByHierarchyOrderAsc().stream()
-                .map(this::convertToResponse).collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROJECT_MILESTONE);
     }
     
     public List<ProjectMilestoneResponse> getActiveProjectMilestones() {
-        return projectMilestoneRepository.findAllActive().stream()
-                .map(this::convertToResponse).collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROJECT_MILESTONE);
     }
     
     public List<ProjectMilestoneResponse> getInactiveProjectMilestones() {
-        return projectMilestoneRepository.findAllInactive().stream()
-                .map(this::convertToResponse).collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROJECT_MILESTONE);
     }
     
     public ProjectMilestoneResponse getProjectMilestoneByCode(String code) {
-        return projectMilestoneRepository.findById(code)
-                .map(this::convertToResponse).orElse(null);
+        return lookupEngine.<ProjectMilestoneResponse>findByCode(LookupTable.PROJECT_MILESTONE, code).orElse(null);
     }
     
     public ProjectMilestoneResponse createProjectMilestone(ProjectMilestoneRequest request) {
@@ -48,30 +44,28 @@ public class ProjectMilestoneService {
         milestone.setUserId(request.getUserId());
         milestone.setRegStatus(request.getRegStatus());
         milestone.setRegTime(LocalDate.now());
-        milestone = projectMilestoneRepository.save(milestone);
-        return convertToResponse(milestone);
+        return lookupEngine.create(LookupTable.PROJECT_MILESTONE, milestone);
     }
     
     public ProjectMilestoneResponse updateProjectMilestone(String code, ProjectMilestoneRequest request) {
-        ProjectMilestone milestone = projectMilestoneRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Project Milestone not found"));
         validateRequest(request);
-        milestone.setProjectMilestoneFullName(request.getProjectMilestoneFullName());
-        milestone.setProjectMilestoneShortName(request.getProjectMilestoneShortName());
-        milestone.setHierarchyOrder(request.getHierarchyOrder());
-        milestone.setFromDate(request.getFromDate());
-        milestone.setToDate(request.getToDate());
-        milestone.setUserId(request.getUserId());
-        milestone.setRegStatus(request.getRegStatus());
-        milestone = projectMilestoneRepository.save(milestone);
-        return convertToResponse(milestone);
+        return lookupEngine.<ProjectMilestone, ProjectMilestoneResponse>update(LookupTable.PROJECT_MILESTONE, code, milestone -> {
+            milestone.setProjectMilestoneFullName(request.getProjectMilestoneFullName());
+            milestone.setProjectMilestoneShortName(request.getProjectMilestoneShortName());
+            milestone.setHierarchyOrder(request.getHierarchyOrder());
+            milestone.setFromDate(request.getFromDate());
+            milestone.setToDate(request.getToDate());
+            milestone.setUserId(request.getUserId());
+            milestone.setRegStatus(request.getRegStatus());
+        });
     }
     
     public void deleteProjectMilestone(String code) {
-        if (!projectMilestoneRepository.existsById(code)) {
-            throw new RuntimeException("Project Milestone not found");
-        }
-        projectMilestoneRepository.deleteById(code);
+        lookupEngine.delete(LookupTable.PROJECT_MILESTONE, code);
+    }
+    
+    public int reorderProjectMilestones(List<String> orderedCodes) {
+        return lookupEngine.reorder(LookupTable.PROJECT_MILESTONE, orderedCodes);
     }
     
     private void validateRequest(ProjectMilestoneRequest request) {
@@ -88,18 +82,4 @@ public class ProjectMilestoneService {
             throw new RuntimeException("To Date must be after or equal to From Date");
         }
     }
-    
-    private ProjectMilestoneResponse convertToResponse(ProjectMilestone milestone) {
-        return new ProjectMilestoneResponse(
-                milestone.getProjectMilestoneCode(),
-                milestone.getProjectMilestoneFullName(),
-                milestone.getProjectMilestoneShortName(),
-                milestone.getHierarchyOrder(),
-                milestone.getFromDate(),
-                milestone.getToDate(),
-                milestone.getUserId(),
-                milestone.getRegStatus(),
-                milestone.isActive()
-        );
-    }
 }
@@ -1,39 +1,35 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProjectPhaseGenericRequest;
 import com.pms.dto.ProjectPhaseGenericResponse;
 import com.pms.entity.ProjectPhaseGeneric;
-import com.pms.repository.ProjectPhaseGenericRepository;
+import com.pms.lookup.LookupEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectPhaseGenericService {
     
     @Autowired
-    private ProjectPhaseGenericRepository projectPhaseGenericRepository;
+    private LookupEngine lookupEngine;
     
     public List<ProjectPhaseGenericResponse> getAllProjectPhases() {
-        return projectPhaseGenericRepository.findAllByOrderByHierarchyOrderAsc().stream()
-                .map(this::convertToResponse).collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROJECT_PHASE_GENERIC);
     }
     
     public List<ProjectPhaseGenericResponse> getActiveProjectPhases() {
-        return projectPhaseGenericRepository.findAllActive().stream()
-                .map(this::convertToResponse).collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROJECT_PHASE_GENERIC);
     }
     
     public List<ProjectPhaseGenericResponse> getInactiveProjectPhases() {
-        return projectPhaseGenericRepository.findAllInactive().stream()
-                .map(this::convertToResponse).collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROJECT_PHASE_GENERIC);
     }
     
     public ProjectPhaseGenericResponse getProjectPhaseByCode(String code) {
-        return projectPhaseGenericRepository.findById(code)
-                .map(this::convertToResponse).orElse(null);
+        return lookupEngine.<ProjectPhaseGenericResponse>findByCode(LookupTable.PROJECT_PHASE_GENERIC, code).orElse(null);
     }
     
     public ProjectPhaseGenericResponse createProjectPhase(ProjectPhaseGenericRequest request) {
@@ -48,30 +44,28 @@ public class ProjectPhaseGenericService {
         phase.setUserId(request.getUserId());
         phase.setRegStatus(request.getRegStatus());
         phase.setRegTime(LocalDate.now());
-        phase = projectPhaseGenericRepository.save(phase);
-        return convertToResponse(phase);
+        return lookupEngine.create(LookupTable.PROJECT_PHASE_GENERIC, phase);
     }
     
     public ProjectPhaseGenericResponse updateProjectPhase(String code, ProjectPhaseGenericRequest request) {
-        ProjectPhaseGeneric phase = projectPhaseGenericRepository.findById(code)
-                .orElseThrow(() -> new RuntimeException("Project Phase not found"));
         validateRequest(request);
-        phase.setProjectPhaseFullName(request.getProjectPhaseFullName());
-        phase.setProjectPhaseShortName(request.getProjectPhaseShortName());
-        phase.setHierarchyOrder(request.getHierarchyOrder());
-        phase.setFromDate(request.getFromDate());
-        phase.setToDate(request.getToDate());
-        phase.setUserId(request.getUserId());
-        phase.setRegStatus(request.getRegStatus());
-        phase = projectPhaseGenericRepository.save(phase);
-        return convertToResponse(phase);
+        return lookupEngine.<ProjectPhaseGeneric, ProjectPhaseGenericResponse>update(LookupTable.PROJECT_PHASE_GENERIC, code, phase -> {
+            phase.setProjectPhaseFullName(request.getProjectPhaseFullName());
+            phase.setProjectPhaseShortName(request.getProjectPhaseShortName());
+            phase.setHierarchyOrder(request.getHierarchyOrder());
+            phase.setFromDate(request.getFromDate());
+            phase.setToDate(request.getToDate());
+            phase.setUserId(request.getUserId());
+            phase.setRegStatus(request.getRegStatus());
+        });
     }
     
     public void deleteProjectPhase(String code) {
-        if (!projectPhaseGenericRepository.existsById(code)) {
-            throw new RuntimeException("Project Phase not found");
-        }
-        projectPhaseGenericRepository.deleteById(code);
+        lookupEngine.delete(LookupTable.PROJECT_PHASE_GENERIC, code);
+    }
+    
+    public int reorderProjectPhases(List<String> orderedCodes) {
+        return lookupEngine.reorder(LookupTable.PROJECT_PHASE_GENERIC, orderedCodes);
     }
     
     private void validateRequest(ProjectPhaseGenericRequest request) {
@@ -88,18 +82,4 @@ public class ProjectPhaseGenericService {
             throw new RuntimeException("To Date must be after or equal to From Date");
         }
     }
-    
-    private ProjectPhaseGenericResponse convertToResponse(ProjectPhaseGeneric phase) {
-        return new ProjectPhaseGenericResponse(
-                phase.getProjectPhaseCode(),
-                phase.getProjectPhaseFullName(),
-                phase.getProjectPhaseShortName(),
-                phase.getHierarchyOrder(),
-                phase.getFromDate(),
-                phase.getToDate(),
-                phase.getUserId(),
-                phase.getRegStatus(),
-                phase.isActive()
-        );
-    }
 }
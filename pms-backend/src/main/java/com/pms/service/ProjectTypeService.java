@@ -1,57 +1,42 @@
 package com.pms.service;
 
+import com.pms.cache.LookupTable;
 import com.pms.dto.ProjectTypeRequest;
 import com.pms.dto.ProjectTypeResponse;
 import com.pms.entity.ProjectType;
-import com.pms.repository.ProjectTypeRepository;
+import com.pms.lookup.LookupEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectTypeService {
     
-    private static final Logger log = LoggerFactory.getLogger(ProjectTypeService.class);
-    
     @Autowired
-    private ProjectTypeRepository projectTypeRepository;
+    private LookupEngine lookupEngine;
     
     public List<ProjectTypeResponse> getAllProjectTypes() {
-        return projectTypeRepository.findAllByOrderByHierarchyOrderAsc().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findAll(LookupTable.PROJECT_TYPE);
     }
     
     public List<ProjectTypeResponse> getActiveProjectTypes() {
-        return projectTypeRepository.findAllActive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findActive(LookupTable.PROJECT_TYPE);
     }
     
     public List<ProjectTypeResponse> getInactiveProjectTypes() {
-        return projectTypeRepository.findAllInactive().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return lookupEngine.findInactive(LookupTable.PROJECT_TYPE);
     }
     
     public ProjectTypeResponse getProjectTypeByCode(String code) {
-        return projectTypeRepository.findById(code)
-                .map(this::convertToResponse)
+        return lookupEngine.<ProjectTypeResponse>findByCode(LookupTable.PROJECT_TYPE, code)
                 .orElse(null);
     }
     
     public ProjectTypeResponse createProjectType(ProjectTypeRequest request, String userId) {
         validateRequest(request);
         
-        if (projectTypeRepository.existsById(request.getProjectTypesCode())) {
-            throw new IllegalArgumentException("Project Type with code " + request.getProjectTypesCode() + " already exists");
-        }
-        
         ProjectType projectType = ProjectType.builder()
                 .projectTypesCode(request.getProjectTypesCode())
                 .projectTypesFullName(request.getProjectTypesFullName())
@@ -64,37 +49,25 @@ public class ProjectTypeService {
                 .regTime(LocalDate.now())
                 .build();
         
-        projectType = projectTypeRepository.save(projectType);
-        log.info("Project Type created successfully: {}", request.getProjectTypesCode());
-        return convertToResponse(projectType);
+        return lookupEngine.create(LookupTable.PROJECT_TYPE, projectType);
     }
     
     public ProjectTypeResponse updateProjectType(String code, ProjectTypeRequest request, String userId) {
         validateRequest(request);
         
-        ProjectType projectType = projectTypeRepository.findById(code)
-                .orElseThrow(() -> new IllegalArgumentException("Project Type not found: " + code));
-        
-        projectType.setProjectTypesFullName(request.getProjectTypesFullName());
-        projectType.setProjectTypesShortName(request.getProjectTypesShortName());
-        projectType.setHierarchyOrder(request.getHierarchyOrder());
-        projectType.setFromDate(request.getFromDate());
-        projectType.setToDate(request.getToDate());
-        projectType.setUserId(userId);
-        projectType.setRegTime(LocalDate.now());
-        
-        projectType = projectTypeRepository.save(projectType);
-        log.info("Project Type updated successfully: {}", code);
-        return convertToResponse(projectType);
+        return lookupEngine.<ProjectType, ProjectTypeResponse>update(LookupTable.PROJECT_TYPE, code, projectType -> {
+            projectType.setProjectTypesFullName(request.getProjectTypesFullName());
+            projectType.setProjectTypesShortName(request.getProjectTypesShortName());
+            projectType.setHierarchyOrder(request.getHierarchyOrder());
+            projectType.setFromDate(request.getFromDate());
+            projectType.setToDate(request.getToDate());
+            projectType.setUserId(userId);
+            projectType.setRegTime(LocalDate.now());
+        });
     }
     
     public void deleteProjectType(String code) {
-        if (!projectTypeRepository.existsById(code)) {
-            throw new IllegalArgumentException("Project Type not found: " + code);
-        }
-        
-        projectTypeRepository.deleteById(code);
-        log.info("Project Type deleted successfully: {}", code);
+        lookupEngine.delete(LookupTable.PROJECT_TYPE, code);
     }
     
     private void validateRequest(ProjectTypeRequest request) {
@@ -122,18 +95,4 @@ public class ProjectTypeService {
             throw new IllegalArgumentException("To Date cannot be before From Date");
         }
     }
-    
-    private ProjectTypeResponse convertToResponse(ProjectType projectType) {
-        return new ProjectTypeResponse(
-                projectType.getProjectTypesCode(),
-                projectType.getProjectTypesFullName(),
-                projectType.getProjectTypesShortName(),
-                projectType.getHierarchyOrder(),
-                projectType.getFromDate(),
-                projectType.getToDate(),
-                projectType.getUserId(),
-                projectType.getRegStatus(),
-                projectType.getRegTime()
-        );
-    }
 }
@@ -0,0 +1,95 @@
+package com.pms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.cache.LookupChangedEvent;
+import com.pms.cache.LookupTable;
+import com.pms.cache.SerializedPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataService {
+
+    // Tables that feed the bundle; changes to any other lookup leave it untouched
+    private static final Set<LookupTable> BUNDLE_TABLES = EnumSet.of(
+            LookupTable.PROGRAMME_TYPE,
+            LookupTable.PROJECT_TYPE,
+            LookupTable.PROJECT_CATEGORY,
+            LookupTable.SANCTIONING_AUTHORITY,
+            LookupTable.BUDGET_CENTRE_PROJECT_CODE,
+            LookupTable.PROJECT_STATUS_CODE,
+            LookupTable.EMPLOYEE_DETAILS
+    );
+
+    private final ProgrammeTypeService programmeTypeService;
+    private final ProjectTypeService projectTypeService;
+    private final ProjectCategoryService projectCategoryService;
+    private final SanctioningAuthorityService sanctioningAuthorityService;
+    private final BudgetCentreProjectCodeService budgetCentreProjectCodeService;
+    private final ProjectStatusCodeService projectStatusCodeService;
+    private final EmployeeDetailsService employeeDetailsService;
+    private final ObjectMapper objectMapper;
+
+    // Bumped on every relevant change so a rebuild racing with a write is never installed
+    private final AtomicLong version = new AtomicLong();
+    private volatile SerializedPayload bundle;
+
+    // Get the form reference-data bundle, building it on first use after a change
+    public SerializedPayload getBundle() {
+        SerializedPayload current = bundle;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (bundle == null) {
+                long startVersion = version.get();
+                SerializedPayload built = buildBundle();
+                if (version.get() != startVersion) {
+                    return built;
+                }
+                bundle = built;
+            }
+            return bundle;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLookupChanged(LookupChangedEvent event) {
+        if (BUNDLE_TABLES.contains(event.getTable())) {
+            version.incrementAndGet();
+            bundle = null;
+            log.debug("Reference data bundle invalidated by {}", event.getTable());
+        }
+    }
+
+    private SerializedPayload buildBundle() {
+        long start = System.nanoTime();
+        Map<String, Object> sets = new LinkedHashMap<>();
+        sets.put("programmeTypes", programmeTypeService.getActiveProgrammeTypes());
+        sets.put("projectTypes", projectTypeService.getActiveProjectTypes());
+        sets.put("projectCategories", projectCategoryService.getActiveProjectCategories());
+        sets.put("sanctioningAuthorities", sanctioningAuthorityService.getAllActiveSanctioningAuthorities());
+        sets.put("budgetCentreProjectCodes", budgetCentreProjectCodeService.getActiveBudgetCentreProjectCodes());
+        sets.put("projectStatusCodes", projectStatusCodeService.getAllProjectStatusCodes());
+        sets.put("employees", employeeDetailsService.getAllEmployeeDetails());
+        try {
+            SerializedPayload payload = SerializedPayload.of(objectMapper.writeValueAsBytes(sets));
+            log.info("Reference data bundle rebuilt: {} bytes ({} gzipped) in {} ms",
+                    payload.getJson().length, payload.getGzip().length, (System.nanoTime() - start) / 1_000_000);
+            return payload;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serialising reference data bundle: " + e.getMessage(), e);
+        }
+    }
+}
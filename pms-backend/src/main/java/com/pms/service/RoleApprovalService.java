@@ -3,49 +3,96 @@ package com.pms.service;
 import com.pms.dto.PendingRoleRequestDTO;
 import com.pms.dto.RegisteredEmployeeDTO;
 import com.pms.dto.ApproveRoleRequest;
+import com.pms.dto.BulkRoleDecisionRequest;
+import com.pms.dto.BulkRoleDecisionResult;
 import com.pms.dto.RejectRoleRequest;
 import com.pms.dto.ProgrammeDTO;
+import com.pms.dto.KeysetPage;
+import com.pms.dto.UserListSort;
 import com.pms.entity.User;
 import com.pms.entity.Role;
 import com.pms.repository.UserRepository;
 import com.pms.repository.RoleRepository;
+import com.pms.security.PrincipalCache;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @Transactional
+@Slf4j
 public class RoleApprovalService {
 
+    private static final int MAX_BULK_DECISIONS = 1000;
+    private static final int MAX_REJECTION_REASON = 255;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ProgrammeService programmeService;
+
     /**
-     * Get all pending role requests from users who have registered but not yet approved
+     * Get a page of pending role requests from users who have registered but not yet approved
      */
-    public List<PendingRoleRequestDTO> getPendingRoleRequests() {
-        return userRepository.findAll().stream()
-            .filter(user -> !user.getActive())
-            .map(this::convertToPendingDTO)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<PendingRoleRequestDTO> getPendingRoleRequests(Long afterId, Integer size, UserListSort sort) {
+        int pageSize = KeysetPage.normalizeSize(size);
+        Pageable limit = KeysetPage.limitFor(pageSize);
+        List<PendingRoleRequestDTO> rows = switch (sort) {
+            case OLDEST -> userRepository.findPendingRequestPage(KeysetPage.startAfter(afterId), limit);
+            case NEWEST -> userRepository.findPendingRequestPageNewest(startBefore(afterId), limit);
+            case NAME -> userRepository.findPendingRequestPageByName(nameAt(afterId), KeysetPage.startAfter(afterId), limit);
+        };
+        return KeysetPage.of(rows, pageSize, PendingRoleRequestDTO::getId);
     }
 
     /**
-     * Get all approved employees
+     * Get a page of approved employees
      */
-    public List<RegisteredEmployeeDTO> getApprovedEmployees() {
-        return userRepository.findAll().stream()
-            .filter(User::getActive)
-            .map(this::convertToApprovedDTO)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<RegisteredEmployeeDTO> getApprovedEmployees(Long afterId, Integer size, UserListSort sort) {
+        int pageSize = KeysetPage.normalizeSize(size);
+        Pageable limit = KeysetPage.limitFor(pageSize);
+        List<RegisteredEmployeeDTO> rows = switch (sort) {
+            case OLDEST -> userRepository.findEmployeePageByActive(true, KeysetPage.startAfter(afterId), limit);
+            case NEWEST -> userRepository.findEmployeePageByActiveNewest(true, startBefore(afterId), limit);
+            case NAME -> userRepository.findEmployeePageByActiveAndName(true, nameAt(afterId), KeysetPage.startAfter(afterId), limit);
+        };
+        return KeysetPage.of(rows, pageSize, RegisteredEmployeeDTO::getId);
+    }
+
+    // Walking newest first, no cursor means "before every id"
+    private static long startBefore(Long afterId) {
+        return afterId == null ? Long.MAX_VALUE : afterId;
+    }
+
+    // The name half of a (full_name, id) cursor, looked up from the id the client passed back
+    private String nameAt(Long afterId) {
+        if (afterId == null) {
+            return "";
+        }
+        return userRepository.findFullNameById(afterId)
+            .orElseThrow(() -> new IllegalArgumentException("Page cursor no longer exists, reload the first page"));
     }
 
     /**
@@ -61,21 +108,25 @@ public class RoleApprovalService {
         if (user.getActive()) {
             throw new IllegalArgumentException("User is already approved");
         }
+        if (user.getRejectedAt() != null) {
+            throw new IllegalArgumentException("User has already been rejected");
+        }
 
         // Validation 3: If Programme Director, programme must be assigned
         if (user.getRole().getName().equalsIgnoreCase("PROGRAMME_DIRECTOR")) {
             if (request == null || request.getProgrammeId() == null || request.getProgrammeId() <= 0) {
                 throw new IllegalArgumentException("Programme ID is required for Programme Director role");
             }
-            // TODO: Validate programme exists and assign it
-            // programme = programmeRepository.findById(request.getProgrammeId())
-            //     .orElseThrow(() -> new IllegalArgumentException("Programme not found"));
-            // user.setProgramme(programme);
+            if (!programmeService.isAssignableProgramme(request.getProgrammeId())) {
+                throw new IllegalArgumentException("Programme not found with ID: " + request.getProgrammeId());
+            }
+            user.setAssignedProgrammeId(request.getProgrammeId());
         }
 
         // Approve the user
         user.setActive(true);
         user = userRepository.save(user);
+        principalCache.invalidate(user.getEmployeeCode());
 
         return convertToPendingDTO(user);
     }
@@ -92,33 +143,190 @@ public class RoleApprovalService {
         if (user.getActive()) {
             throw new IllegalArgumentException("User is already approved and cannot be rejected");
         }
+        if (user.getRejectedAt() != null) {
+            throw new IllegalArgumentException("User has already been rejected");
+        }
 
         // Validation 3: Rejection reason must be provided
         if (request == null || request.getRejectionReason() == null || request.getRejectionReason().trim().isEmpty()) {
             throw new IllegalArgumentException("Rejection reason is required");
         }
+        if (request.getRejectionReason().trim().length() > MAX_REJECTION_REASON) {
+            throw new IllegalArgumentException("Rejection reason must be at most " + MAX_REJECTION_REASON + " characters");
+        }
 
-        // Mark user as inactive and store rejection reason
+        // Record the rejection, which takes the user out of the pending list
         user.setActive(false);
-        // TODO: Add rejectionReason field to User entity
-        // user.setRejectionReason(request.getRejectionReason());
-        
+        user.setRejectionReason(request.getRejectionReason().trim());
+        user.setRejectedAt(LocalDateTime.now());
+
         userRepository.save(user);
+        principalCache.invalidate(user.getEmployeeCode());
+    }
+
+    /**
+     * Approve and reject many pending requests at once.
+     * Every user gets an outcome; valid approvals are applied with one UPDATE per target role and
+     * all rejections with one more, and the principal cache is invalidated once for the batch.
+     */
+    public List<BulkRoleDecisionResult> bulkDecide(BulkRoleDecisionRequest request) {
+        List<BulkRoleDecisionRequest.Approval> approvals =
+            request.getApprovals() != null ? request.getApprovals() : Collections.emptyList();
+        List<Long> rejections = request.getRejections() != null ? request.getRejections() : Collections.emptyList();
+
+        // Validation 1: Something to do, but not unbounded
+        int total = approvals.size() + rejections.size();
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one approval or rejection is required");
+        }
+        if (total > MAX_BULK_DECISIONS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DECISIONS + " decisions can be made at once");
+        }
+
+        // Validation 2: Rejections need a reason, as for a single rejection
+        if (!rejections.isEmpty() && (request.getRejectionReason() == null || request.getRejectionReason().trim().isEmpty())) {
+            throw new IllegalArgumentException("Rejection reason is required");
+        }
+        if (!rejections.isEmpty() && request.getRejectionReason().trim().length() > MAX_REJECTION_REASON) {
+            throw new IllegalArgumentException("Rejection reason must be at most " + MAX_REJECTION_REASON + " characters");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        Set<Long> repeated = new HashSet<>();
+        approvals.forEach(approval -> {
+            if (approval != null && approval.getUserId() != null && !ids.add(approval.getUserId())) {
+                repeated.add(approval.getUserId());
+            }
+        });
+        rejections.forEach(userId -> {
+            if (userId != null && !ids.add(userId)) {
+                repeated.add(userId);
+            }
+        });
+
+        Map<Long, PendingRoleRequestDTO> states = new HashMap<>();
+        for (PendingRoleRequestDTO state : userRepository.findRequestStates(ids)) {
+            states.put(state.getId(), state);
+        }
+        Map<String, Role> roles = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            roles.put(role.getName().toUpperCase(), role);
+        }
+
+        List<BulkRoleDecisionResult> results = new ArrayList<>(total);
+        Map<Long, List<BulkRoleDecisionResult>> approvedByRole = new LinkedHashMap<>();
+        Map<Long, Role> rolesById = new HashMap<>();
+        Map<Long, List<Long>> directorsByProgramme = new LinkedHashMap<>();
+        for (BulkRoleDecisionRequest.Approval approval : approvals) {
+            Long userId = approval != null ? approval.getUserId() : null;
+            PendingRoleRequestDTO state = userId != null ? states.get(userId) : null;
+            String failure = checkPending(userId, state, repeated);
+            Role role = null;
+            if (failure == null) {
+                String roleName = approval.getRole() != null && !approval.getRole().trim().isEmpty()
+                    ? approval.getRole().trim() : state.getRequestedRole();
+                role = roles.get(roleName.toUpperCase());
+                if (role == null) {
+                    failure = "Role not found: " + roleName;
+                } else if (role.getName().equalsIgnoreCase("PROGRAMME_DIRECTOR")
+                        && (approval.getProgrammeId() == null || approval.getProgrammeId() <= 0)) {
+                    failure = "Programme ID is required for Programme Director role";
+                } else if (role.getName().equalsIgnoreCase("PROGRAMME_DIRECTOR")
+                        && !programmeService.isAssignableProgramme(approval.getProgrammeId())) {
+                    failure = "Programme not found with ID: " + approval.getProgrammeId();
+                }
+            }
+            if (failure != null) {
+                results.add(failed(userId, state, failure));
+                continue;
+            }
+            if (role.getName().equalsIgnoreCase("PROGRAMME_DIRECTOR")) {
+                directorsByProgramme.computeIfAbsent(approval.getProgrammeId(), k -> new ArrayList<>()).add(userId);
+            }
+            BulkRoleDecisionResult result = new BulkRoleDecisionResult(
+                userId, state.getEmployeeCode(), role.getName(), "APPROVED", null);
+            results.add(result);
+            rolesById.put(role.getId(), role);
+            approvedByRole.computeIfAbsent(role.getId(), k -> new ArrayList<>()).add(result);
+        }
+
+        List<BulkRoleDecisionResult> rejected = new ArrayList<>();
+        for (Long userId : rejections) {
+            PendingRoleRequestDTO state = userId != null ? states.get(userId) : null;
+            String failure = checkPending(userId, state, repeated);
+            if (failure != null) {
+                results.add(failed(userId, state, failure));
+                continue;
+            }
+            BulkRoleDecisionResult result = new BulkRoleDecisionResult(
+                userId, state.getEmployeeCode(), state.getRequestedRole(), "REJECTED", null);
+            results.add(result);
+            rejected.add(result);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> changedCodes = new ArrayList<>();
+        for (Map.Entry<Long, List<BulkRoleDecisionResult>> group : approvedByRole.entrySet()) {
+            int updated = userRepository.approvePending(rolesById.get(group.getKey()), ids(group.getValue()), now);
+            applyBatch(group.getValue(), updated, changedCodes);
+        }
+        directorsByProgramme.forEach((programmeId, userIds) -> userRepository.assignProgramme(programmeId, userIds));
+        if (!rejected.isEmpty()) {
+            applyBatch(rejected, userRepository.rejectPending(ids(rejected), request.getRejectionReason().trim(), now),
+                changedCodes);
+        }
+        principalCache.invalidateAll(changedCodes);
+
+        log.info("Bulk role decision: {} approved in {} role batches, {} rejected, {} failed",
+            approvedByRole.values().stream().mapToInt(List::size).sum(), approvedByRole.size(),
+            rejected.size(), total - changedCodes.size());
+        return results;
+    }
+
+    // Null when the user can still be decided on, otherwise why not
+    private String checkPending(Long userId, PendingRoleRequestDTO state, Set<Long> repeated) {
+        if (userId == null || userId <= 0) {
+            return "Invalid user ID";
+        }
+        if (repeated.contains(userId)) {
+            return "User appears more than once in the request";
+        }
+        if (state == null) {
+            return "User not found with ID: " + userId;
+        }
+        if ("APPROVED".equals(state.getStatus())) {
+            return "User is already approved";
+        }
+        if ("REJECTED".equals(state.getStatus())) {
+            return "User has already been rejected";
+        }
+        return null;
+    }
+
+    private BulkRoleDecisionResult failed(Long userId, PendingRoleRequestDTO state, String message) {
+        return new BulkRoleDecisionResult(userId, state != null ? state.getEmployeeCode() : null,
+            state != null ? state.getRequestedRole() : null, "FAILED", message);
+    }
+
+    private List<Long> ids(List<BulkRoleDecisionResult> results) {
+        List<Long> ids = new ArrayList<>(results.size());
+        results.forEach(result -> ids.add(result.getUserId()));
+        return ids;
+    }
+
+    // A short count means another admin decided on some of these users since they were read
+    private void applyBatch(List<BulkRoleDecisionResult> batch, int updated, List<String> changedCodes) {
+        if (updated != batch.size()) {
+            throw new IllegalStateException("Some of these requests were changed by someone else, please reload and retry");
+        }
+        batch.forEach(result -> changedCodes.add(result.getEmployeeCode()));
     }
 
     /**
      * Get all available programmes
      */
     public List<ProgrammeDTO> getAllProgrammes() {
-        // Mock data for now
-        List<ProgrammeDTO> programmes = new java.util.ArrayList<>();
-        programmes.add(new ProgrammeDTO(1L, "GSLV"));
-        programmes.add(new ProgrammeDTO(2L, "PSLV"));
-        programmes.add(new ProgrammeDTO(3L, "Chandrayaan"));
-        programmes.add(new ProgrammeDTO(4L, "Mangalyaan"));
-        programmes.add(new ProgrammeDTO(5L, "Aditya"));
-        programmes.add(new ProgrammeDTO(6L, "Artemis"));
-        return programmes;
+        return programmeService.getAllProgrammes();
     }
 
     /**
@@ -131,22 +339,7 @@ public class RoleApprovalService {
             user.getEmployeeCode(),
             user.getRole() != null ? user.getRole().getName() : "UNKNOWN",
             user.getCreatedAt(),
-            user.getActive() ? "APPROVED" : "PENDING"
+            user.getActive() ? "APPROVED" : user.getRejectedAt() != null ? "REJECTED" : "PENDING"
         );
     }
-
-    /**
-     * Convert User to RegisteredEmployeeDTO for approved employees
-     */
-    private RegisteredEmployeeDTO convertToApprovedDTO(User user) {
-        RegisteredEmployeeDTO dto = new RegisteredEmployeeDTO();
-        dto.setId(user.getId());
-        dto.setEmployeeName(user.getFullName());
-        dto.setEmployeeCode(user.getEmployeeCode());
-        dto.setAssignedRole(user.getRole() != null ? user.getRole().getName() : "UNKNOWN");
-        dto.setApprovalStatus("APPROVED");
-        dto.setSubmissionDate(user.getCreatedAt());
-        // TODO: Set programme name once Programme entity is mapped
-        return dto;
-    }
 }
@@ -3,17 +3,18 @@ package com.pms.service;
 import com.pms.dto.RegisteredEmployeeDTO;
 import com.pms.dto.AssignProgrammeRequest;
 import com.pms.dto.ProgrammeDTO;
+import com.pms.dto.KeysetPage;
 import com.pms.entity.User;
 import com.pms.entity.Role;
 import com.pms.repository.UserRepository;
 import com.pms.repository.RoleRepository;
+import com.pms.security.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -25,52 +26,64 @@ public class RoleManagementService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ProgrammeService programmeService;
+
     /**
-     * Get all registered employees with their roles and programme assignments
+     * Get a page of registered employees with their roles and programme assignments, in id order
      */
-    public List<RegisteredEmployeeDTO> getAllRegisteredEmployees() {
-        return userRepository.findAll().stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<RegisteredEmployeeDTO> getAllRegisteredEmployees(Long afterId, Integer size) {
+        int pageSize = KeysetPage.normalizeSize(size);
+        return KeysetPage.of(
+            userRepository.findEmployeePage(KeysetPage.startAfter(afterId), KeysetPage.limitFor(pageSize)),
+            pageSize, RegisteredEmployeeDTO::getId);
     }
 
     /**
-     * Get all registered and approved employees
+     * Get a page of registered and approved employees
      */
-    public List<RegisteredEmployeeDTO> getApprovedEmployees() {
-        return userRepository.findAll().stream()
-            .filter(user -> user.getActive())
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<RegisteredEmployeeDTO> getApprovedEmployees(Long afterId, Integer size) {
+        int pageSize = KeysetPage.normalizeSize(size);
+        return KeysetPage.of(
+            userRepository.findEmployeePageByActive(true, KeysetPage.startAfter(afterId), KeysetPage.limitFor(pageSize)),
+            pageSize, RegisteredEmployeeDTO::getId);
     }
 
     /**
-     * Get employees by specific role
+     * Get a page of employees with a specific role
      */
-    public List<RegisteredEmployeeDTO> getEmployeesByRole(String roleName) {
+    @Transactional(readOnly = true)
+    public KeysetPage<RegisteredEmployeeDTO> getEmployeesByRole(String roleName, Long afterId, Integer size) {
         Optional<Role> role = roleRepository.findByName(roleName);
         if (role.isEmpty()) {
             throw new IllegalArgumentException("Role not found: " + roleName);
         }
 
-        return userRepository.findAll().stream()
-            .filter(user -> user.getRole().getName().equalsIgnoreCase(roleName))
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        int pageSize = KeysetPage.normalizeSize(size);
+        return KeysetPage.of(
+            userRepository.findEmployeePageByRole(role.get().getId(), KeysetPage.startAfter(afterId), KeysetPage.limitFor(pageSize)),
+            pageSize, RegisteredEmployeeDTO::getId);
     }
 
     /**
-     * Get all Programme Directors
+     * Get a page of Programme Directors
      */
-    public List<RegisteredEmployeeDTO> getProgrammeDirectors() {
-        return getEmployeesByRole("PROGRAMME_DIRECTOR");
+    @Transactional(readOnly = true)
+    public KeysetPage<RegisteredEmployeeDTO> getProgrammeDirectors(Long afterId, Integer size) {
+        return getEmployeesByRole("PROGRAMME_DIRECTOR", afterId, size);
     }
 
     /**
-     * Get all Project Directors
+     * Get a page of Project Directors
      */
-    public List<RegisteredEmployeeDTO> getProjectDirectors() {
-        return getEmployeesByRole("PROJECT_DIRECTOR");
+    @Transactional(readOnly = true)
+    public KeysetPage<RegisteredEmployeeDTO> getProjectDirectors(Long afterId, Integer size) {
+        return getEmployeesByRole("PROJECT_DIRECTOR", afterId, size);
     }
 
     /**
@@ -101,6 +114,7 @@ public class RoleManagementService {
         // Soft delete - mark as inactive
         user.setActive(false);
         userRepository.save(user);
+        principalCache.invalidate(user.getEmployeeCode());
     }
 
     /**
@@ -126,11 +140,14 @@ public class RoleManagementService {
             throw new IllegalArgumentException("Valid programme ID is required");
         }
 
-        // TODO: Fetch programme from database and set it
-        // For now, we store the programme ID
-        // user.setProgrammeId(request.getProgrammeId());
-        
+        // Validation 5: Programme exists and is active
+        if (!programmeService.isAssignableProgramme(request.getProgrammeId())) {
+            throw new IllegalArgumentException("Programme not found with ID: " + request.getProgrammeId());
+        }
+        user.setAssignedProgrammeId(request.getProgrammeId());
+
         user = userRepository.save(user);
+        principalCache.invalidate(user.getEmployeeCode());
         return convertToDTO(user);
     }
 
@@ -138,14 +155,7 @@ public class RoleManagementService {
      * Get all available programmes
      */
     public List<ProgrammeDTO> getAllProgrammes() {
-        // TODO: Implement once Programme entity is created
-        // Mock data for now
-        List<ProgrammeDTO> programmes = new java.util.ArrayList<>();
-        programmes.add(new ProgrammeDTO(1L, "GSLV"));
-        programmes.add(new ProgrammeDTO(2L, "PSLV"));
-        programmes.add(new ProgrammeDTO(3L, "Chandrayaan"));
-        programmes.add(new ProgrammeDTO(4L, "Mangalyaan"));
-        return programmes;
+        return programmeService.getAllProgrammes();
     }
 
     /**
@@ -212,9 +222,9 @@ public class RoleManagementService {
         dto.setEmployeeName(user.getFullName());
         dto.setEmployeeCode(user.getEmployeeCode());
         dto.setAssignedRole(user.getRole() != null ? user.getRole().getName() : "UNKNOWN");
-        dto.setApprovalStatus(user.getActive() ? "APPROVED" : "PENDING");
+        dto.setApprovalStatus(user.getActive() ? "APPROVED" : user.getRejectedAt() != null ? "REJECTED" : "PENDING");
         dto.setSubmissionDate(user.getCreatedAt());
-        // TODO: Set programme name once Programme entity is mapped
+        dto.setAssignedProgramme(programmeService.getProgrammeName(user.getAssignedProgrammeId()));
         return dto;
     }
 }
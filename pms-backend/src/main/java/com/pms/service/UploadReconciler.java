@@ -0,0 +1,303 @@
+package com.pms.service;
+
+import com.pms.cache.BloomFilter;
+import com.pms.repository.ProjectDefinitionRepository;
+import com.pms.repository.ProjectDetailRepository;
+import com.pms.repository.StoredDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Finds files under file.upload.dir that no record names any more (documents from before the
+ * content-addressed store, leftovers of interrupted uploads, blobs whose row was lost) and removes
+ * them in two steps.
+ *
+ * Each run fills a Bloom filter from a streamed scan of every referenced path, then walks the
+ * directory one DirectoryStream at a time, so neither side is ever held in memory as a list. A
+ * file the filter has never seen cannot be referenced; files the filter might know are kept
+ * without a query. Only the misses, in batches, are checked exactly against the database before
+ * being moved to .quarantine. Quarantined files are deleted once file.upload.reconcile.retention
+ * has passed, or put back if a record has come to name them meanwhile. Files younger than
+ * file.upload.reconcile.min-age are never touched, which covers uploads not yet saved to a record.
+ *
+ * Resumable uploads in .incoming expire on their own. Like the document store, this assumes a
+ * single application instance owns the upload directory.
+ */
+@Service
+@Slf4j
+public class UploadReconciler {
+    private static final String INCOMING_DIR = ".incoming";
+    private static final String QUARANTINE_DIR = ".quarantine";
+    private static final int BATCH = 500;
+    private static final int MIN_FILTER_ENTRIES = 1024;
+
+    private final ProjectDefinitionRepository projectDefinitionRepository;
+    private final ProjectDetailRepository projectDetailRepository;
+    private final StoredDocumentRepository storedDocumentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path root;
+    private final Path quarantine;
+    private final Duration minAge;
+    private final Duration retention;
+
+    public UploadReconciler(ProjectDefinitionRepository projectDefinitionRepository,
+                            ProjectDetailRepository projectDetailRepository,
+                            StoredDocumentRepository storedDocumentRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${file.upload.dir:uploads}") String uploadDir,
+                            @Value("${file.upload.reconcile.min-age:PT24H}") Duration minAge,
+                            @Value("${file.upload.reconcile.retention:PT168H}") Duration retention) {
+        this.projectDefinitionRepository = projectDefinitionRepository;
+        this.projectDetailRepository = projectDetailRepository;
+        this.storedDocumentRepository = storedDocumentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.root = Path.of(uploadDir).toAbsolutePath();
+        this.quarantine = root.resolve(QUARANTINE_DIR);
+        this.minAge = minAge;
+        this.retention = retention;
+    }
+
+    @Scheduled(cron = "${file.upload.reconcile.cron:0 30 2 * * *}")
+    public void reconcile() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        long start = System.nanoTime();
+        Run run = new Run();
+        try {
+            BloomFilter referenced = readOnlyTransaction.execute(status -> referencedPaths());
+            Instant cutoff = Instant.now().minus(minAge);
+            List<String> batch = new ArrayList<>(BATCH);
+            walk(root, root, file -> !isReserved(file), (key, attributes) -> {
+                run.scanned++;
+                return attributes.lastModifiedTime().toInstant().isBefore(cutoff) && !referenced.mightContain(key);
+            }, batch, keys -> quarantine(keys, run));
+            quarantine(batch, run);
+
+            if (Files.isDirectory(quarantine)) {
+                Instant expired = Instant.now().minus(retention);
+                batch.clear();
+                walk(quarantine, quarantine, file -> true, (key, attributes) -> true, batch,
+                        keys -> purge(keys, expired, run));
+                purge(batch, expired, run);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Upload reconciliation stopped early", e);
+        }
+        log.info("Upload reconciliation scanned {} files in {} ms: {} quarantined, {} kept after an exact check, "
+                        + "{} restored, {} deleted", run.scanned, (System.nanoTime() - start) / 1_000_000,
+                run.quarantined, run.kept, run.restored, run.deleted);
+    }
+
+    // Every path a record could name. A fresh seed each run means a false positive is not kept forever
+    private BloomFilter referencedPaths() {
+        long expected = projectDefinitionRepository.count() + 3 * projectDetailRepository.count()
+                + 2 * storedDocumentRepository.count();
+        BloomFilter filter = new BloomFilter((int) Math.min(Integer.MAX_VALUE / 10, Math.max(MIN_FILTER_ENTRIES, expected)),
+                ThreadLocalRandom.current().nextLong());
+        try (Stream<String> paths = projectDefinitionRepository.streamDocumentPaths()) {
+            paths.forEach(filter::add);
+        }
+        try (Stream<Object[]> rows = projectDetailRepository.streamDocumentPaths()) {
+            rows.forEach(row -> {
+                for (Object path : row) {
+                    if (path != null) {
+                        filter.add((String) path);
+                    }
+                }
+            });
+        }
+        try (Stream<String> hashes = storedDocumentRepository.streamHashes()) {
+            hashes.forEach(sha256 -> {
+                filter.add(DocumentStoreService.pathFor(sha256));
+                filter.add(DocumentStoreService.thumbnailPathFor(sha256));
+            });
+        }
+        return filter;
+    }
+
+    // The exact answer for a batch of relative paths: those some record names right now
+    private Set<String> referencedAmong(List<String> keys) {
+        Set<String> referenced = new HashSet<>(projectDefinitionRepository.findDocumentPathsIn(keys));
+        for (Object[] row : projectDetailRepository.findDocumentPathsIn(keys)) {
+            for (Object path : row) {
+                if (path != null) {
+                    referenced.add((String) path);
+                }
+            }
+        }
+        Map<String, List<String>> keysByHash = new HashMap<>();
+        for (String key : keys) {
+            String sha256 = DocumentStoreService.hashFor(key);
+            if (sha256 == null) {
+                sha256 = DocumentStoreService.hashForThumbnail(key);
+            }
+            if (sha256 != null) {
+                keysByHash.computeIfAbsent(sha256, k -> new ArrayList<>()).add(key);
+            }
+        }
+        if (!keysByHash.isEmpty()) {
+            for (String sha256 : storedDocumentRepository.findHashesIn(keysByHash.keySet())) {
+                referenced.addAll(keysByHash.get(sha256));
+            }
+        }
+        return referenced;
+    }
+
+    private void quarantine(List<String> keys, Run run) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = referencedAmong(keys);
+        for (String key : keys) {
+            if (referenced.contains(key)) {
+                run.kept++;
+                continue;
+            }
+            Path target = quarantine.resolve(key);
+            try {
+                Files.createDirectories(target.getParent());
+                StoredFiles.moveIntoPlace(root.resolve(key), target);
+                // Retention counts from here, not from the upload
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                run.quarantined++;
+                log.info("Quarantined unreferenced upload {}", key);
+            } catch (NoSuchFileException e) {
+                log.debug("Upload {} went away before it could be quarantined", key);
+            } catch (IOException e) {
+                log.error("Could not quarantine unreferenced upload {}", key, e);
+            }
+        }
+        keys.clear();
+    }
+
+    private void purge(List<String> keys, Instant expired, Run run) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = referencedAmong(keys);
+        for (String key : keys) {
+            Path file = quarantine.resolve(key);
+            try {
+                if (referenced.contains(key)) {
+                    Path original = root.resolve(key);
+                    if (Files.exists(original)) {
+                        Files.delete(file);
+                    } else {
+                        Files.createDirectories(original.getParent());
+                        StoredFiles.moveIntoPlace(file, original);
+                        log.warn("Restored quarantined upload {}, a record names it again", key);
+                    }
+                    run.restored++;
+                } else if (Files.getLastModifiedTime(file).toInstant().isBefore(expired)) {
+                    Files.delete(file);
+                    run.deleted++;
+                    log.info("Deleted quarantined upload {}", key);
+                }
+            } catch (NoSuchFileException e) {
+                log.debug("Quarantined upload {} is already gone", key);
+            } catch (IOException e) {
+                log.error("Could not purge quarantined upload {}", key, e);
+            }
+        }
+        keys.clear();
+    }
+
+    /**
+     * Depth first, holding one open DirectoryStream per level. Selected regular files are collected
+     * as paths relative to base, with '/' separators as records store them, and handed to flush
+     * whenever a batch fills. Quarantine subdirectories already emptied are removed on the way out.
+     */
+    private void walk(Path base, Path directory, Predicate<Path> descend, FileSelector select,
+                      List<String> batch, BatchAction flush) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    if (descend.test(entry)) {
+                        walk(base, entry, descend, select, batch, flush);
+                    }
+                } else if (attributes.isRegularFile()) {
+                    String key = keyOf(base.relativize(entry));
+                    if (select.test(key, attributes)) {
+                        batch.add(key);
+                        if (batch.size() >= BATCH) {
+                            flush.apply(batch);
+                        }
+                    }
+                }
+            }
+        }
+        if (base.equals(quarantine) && !directory.equals(quarantine)) {
+            try {
+                Files.delete(directory);
+            } catch (DirectoryNotEmptyException | NoSuchFileException e) {
+                // Still holds files waiting out their retention
+            }
+        }
+    }
+
+    private boolean isReserved(Path directory) {
+        return directory.equals(root.resolve(INCOMING_DIR)) || directory.equals(quarantine);
+    }
+
+    private static String keyOf(Path relative) {
+        StringBuilder key = new StringBuilder();
+        for (Path name : relative) {
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            key.append(name);
+        }
+        return key.toString();
+    }
+
+    @FunctionalInterface
+    private interface FileSelector {
+        boolean test(String key, BasicFileAttributes attributes);
+    }
+
+    @FunctionalInterface
+    private interface BatchAction {
+        void apply(List<String> batch);
+    }
+
+    private static final class Run {
+        long scanned;
+        long quarantined;
+        long kept;
+        long restored;
+        long deleted;
+    }
+}
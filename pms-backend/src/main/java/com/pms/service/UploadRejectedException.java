@@ -0,0 +1,27 @@
+package com.pms.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an upload or upload chunk is turned away, carrying the status to answer with: 413
+ * when it is over a size limit, 503 with a Retry-After when the upload slots or in-flight byte
+ * budget are taken, 409 or 404 when a chunk does not fit the upload it names.
+ */
+public class UploadRejectedException extends RuntimeException {
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public UploadRejectedException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
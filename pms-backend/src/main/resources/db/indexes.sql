@@ -0,0 +1,14 @@
+-- Indexes Hibernate's ddl-auto cannot create, applied on every startup by SchemaIndexInitializer.
+-- Each statement must be idempotent. Keep the originating migration next to each group.
+
+-- V009: active budget centre project codes, read by BudgetCentreProjectCodeRepository.findAllActive
+CREATE INDEX IF NOT EXISTS idx_budgetcentreprojectcodes_active ON bmsgeneric.budgetcentreprojectcodes (centreprojectcode, centreproject) WHERE isactive;
+
+-- V018: role-management lists sorted by name
+CREATE INDEX IF NOT EXISTS idx_users_active_full_name_id ON users (active, full_name, id);
+
+-- V015: full-text search over extracted document text; must match DocumentTextRepository.search
+CREATE INDEX IF NOT EXISTS idx_document_texts_search ON document_texts USING gin (to_tsvector('english', coalesce(text, '')));
+-- V015: project lookups by document path, for search results and download authorisation
+CREATE INDEX IF NOT EXISTS idx_project_definitions_document_path ON project_definitions (project_document_path);
+CREATE INDEX IF NOT EXISTS idx_projectdetails_fscopy ON pmsmaintables.projectdetails (fscopy);
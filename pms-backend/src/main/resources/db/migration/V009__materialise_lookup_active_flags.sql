@@ -0,0 +1,27 @@
+-- Materialised active flag for the effective-dated lookup tables.
+-- Kept current by the entities on write and by the nightly ActiveFlagRefreshJob,
+-- so active / inactive lists no longer evaluate todate against CURRENT_DATE per row.
+
+ALTER TABLE pmsgeneric.programmeoffice ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE pmsgeneric.programmetypes ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE pmsgeneric.projectcategory ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE pmsgeneric.projectactivities ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE pmsgeneric.projectmilestones ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE pmsgeneric.projectphases ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE pmsgeneric.projecttypes ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+ALTER TABLE bmsgeneric.budgetcentreprojectcodes ADD COLUMN IF NOT EXISTS isactive BOOLEAN;
+
+-- Backfill
+UPDATE pmsgeneric.programmeoffice SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+UPDATE pmsgeneric.programmetypes SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+UPDATE pmsgeneric.projectcategory SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+UPDATE pmsgeneric.projectactivities SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+UPDATE pmsgeneric.projectmilestones SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+UPDATE pmsgeneric.projectphases SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+UPDATE pmsgeneric.projecttypes SET isactive = (regstatus = 'A' AND (todate IS NULL OR todate >= CURRENT_DATE));
+UPDATE bmsgeneric.budgetcentreprojectcodes SET isactive = (todate IS NULL OR todate > CURRENT_DATE);
+
+-- Partial index for the one query that still filters on the flag; the other tables are
+-- served from LookupEngine's in-memory snapshot, so an index on their active rows has no reader.
+-- Applied at startup from db/indexes.sql.
+CREATE INDEX IF NOT EXISTS idx_budgetcentreprojectcodes_active ON bmsgeneric.budgetcentreprojectcodes (centreprojectcode, centreproject) WHERE isactive;
@@ -0,0 +1,6 @@
+-- Keyset paging for the role-management lists: each list filters on one column and walks by id.
+-- The (role_id, id) index also serves every lookup the single-column role index did.
+
+CREATE INDEX IF NOT EXISTS idx_users_active_id ON users (active, id);
+CREATE INDEX IF NOT EXISTS idx_users_role_id_id ON users (role_id, id);
+DROP INDEX IF EXISTS idx_users_role_id;
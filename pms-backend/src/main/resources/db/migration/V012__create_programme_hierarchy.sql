@@ -0,0 +1,33 @@
+-- Programme hierarchy: programme offices > project categories > programmes (programme types).
+-- Nodes mirror the lookup tables and are synced from them by ProgrammeService; users.assigned_programme_id
+-- and project_definitions.programme_id refer to programmes.id.
+
+CREATE TABLE IF NOT EXISTS programmes (
+    id BIGSERIAL PRIMARY KEY,
+    level VARCHAR(16) NOT NULL,
+    code VARCHAR(5) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    parent_id BIGINT REFERENCES programmes(id),
+    hierarchy_order INTEGER,
+    active BOOLEAN DEFAULT true,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_programmes_level_code UNIQUE (level, code)
+);
+
+CREATE INDEX IF NOT EXISTS idx_programmes_parent_id ON programmes (parent_id);
+
+-- Every (ancestor, descendant) pair, each node paired with itself at depth 0.
+-- The primary key serves "everything under X"; the second index serves "everything above X".
+CREATE TABLE IF NOT EXISTS programme_closure (
+    ancestor_id BIGINT NOT NULL REFERENCES programmes(id),
+    descendant_id BIGINT NOT NULL REFERENCES programmes(id),
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_programme_closure_descendant ON programme_closure (descendant_id, ancestor_id);
+
+-- Join columns of the roll-up queries
+CREATE INDEX IF NOT EXISTS idx_project_definitions_programme_id ON project_definitions (programme_id);
+CREATE INDEX IF NOT EXISTS idx_projectdetails_programmetypescode ON pmsmaintables.projectdetails (programmetypescode);
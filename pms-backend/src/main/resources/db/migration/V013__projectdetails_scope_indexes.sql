@@ -0,0 +1,9 @@
+-- Project detail reads are filtered by the caller's scope: own projects (as mission project or
+-- programme director) or the lead centre. Each index ends in the code so the newest-first sort
+-- is served from the index as well.
+CREATE INDEX IF NOT EXISTS idx_projectdetails_director_code
+    ON pmsmaintables.projectdetails (missionprojectdirector, missionprojectcode);
+CREATE INDEX IF NOT EXISTS idx_projectdetails_programmedirector_code
+    ON pmsmaintables.projectdetails (programmedirector, missionprojectcode);
+CREATE INDEX IF NOT EXISTS idx_projectdetails_leadcentre_code
+    ON pmsmaintables.projectdetails (leadcentrecode, missionprojectcode);
@@ -0,0 +1,15 @@
+-- Content-addressed document blobs, stored at <upload dir>/documents/<2>/<2>/<sha256>.
+-- ref_count counts the project records naming the blob; blobs at zero are collected once
+-- last_used_at is older than file.upload.gc.grace.
+
+CREATE TABLE IF NOT EXISTS stored_documents (
+    sha256 VARCHAR(64) PRIMARY KEY,
+    size BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    content_type VARCHAR(100),
+    ref_count INTEGER NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_used_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stored_documents_unreferenced ON stored_documents (ref_count, last_used_at);
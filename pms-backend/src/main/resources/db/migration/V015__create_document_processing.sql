@@ -0,0 +1,33 @@
+-- Background processing of stored documents: one job per document, claimed by workers with
+-- FOR UPDATE SKIP LOCKED, and the extracted text with a full-text index for project search.
+
+CREATE TABLE IF NOT EXISTS document_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    sha256 VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_at TIMESTAMP WITH TIME ZONE,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_document_jobs_sha256 UNIQUE (sha256)
+);
+
+CREATE INDEX IF NOT EXISTS idx_document_jobs_due ON document_jobs (status, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS document_texts (
+    sha256 VARCHAR(64) PRIMARY KEY,
+    page_count INTEGER,
+    text TEXT,
+    has_thumbnail BOOLEAN,
+    extracted_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Must match the expression used by DocumentTextRepository.search
+CREATE INDEX IF NOT EXISTS idx_document_texts_search
+    ON document_texts USING gin (to_tsvector('english', coalesce(text, '')));
+
+-- Project lookups by document path for search results
+CREATE INDEX IF NOT EXISTS idx_project_definitions_document_path ON project_definitions (project_document_path);
+CREATE INDEX IF NOT EXISTS idx_projectdetails_fscopy ON pmsmaintables.projectdetails (fscopy);
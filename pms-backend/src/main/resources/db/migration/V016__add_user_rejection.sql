@@ -0,0 +1,4 @@
+-- A rejected registration keeps its row but leaves the pending queue: rejected_at marks it,
+-- rejection_reason records why. Both stay null for pending and approved users.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS rejection_reason VARCHAR(255);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS rejected_at TIMESTAMP;
@@ -0,0 +1,19 @@
+-- Before the programme hierarchy (V012), users.assigned_programme_id and project_definitions.programme_id
+-- held ids from hard-coded client lists (1 = GSLV, 2 = PSLV, ...). The lists disagreed with each other
+-- and none of them matches programmes.id, so those values now point at the wrong programmes.
+--
+-- Run once, after the application has started on V012 and synced the programmes table.
+--
+-- Projects also store the programme by name, so every project's id is re-derived from programme_name;
+-- a name no active programme has leaves programme_id null until the project is edited.
+UPDATE project_definitions pd
+SET programme_id = (
+    SELECT MIN(p.id) FROM programmes p
+    WHERE p.level = 'PROGRAMME' AND p.active = true
+      AND UPPER(TRIM(p.name)) = UPPER(TRIM(pd.programme_name))
+);
+
+-- Users kept only the id, so there is nothing to remap from: assignments are cleared and
+-- Programme Directors are re-assigned through role management (PUT /admin/role-management/employees/{id}/assign-programme).
+UPDATE users SET assigned_programme_id = NULL, updated_at = NOW()
+WHERE assigned_programme_id IS NOT NULL;
@@ -0,0 +1,4 @@
+-- Keyset paging of the role-management lists by name: pending and approved users are filtered on
+-- active and walked by (full_name, id). Newest-first paging walks the existing (active, id) index backwards.
+
+CREATE INDEX IF NOT EXISTS idx_users_active_full_name_id ON users (active, full_name, id);
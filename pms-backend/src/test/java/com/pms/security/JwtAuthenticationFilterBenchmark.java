@@ -0,0 +1,112 @@
+package com.pms.security;
+
+import com.pms.entity.Role;
+import com.pms.entity.User;
+import com.pms.repository.EmployeeDetailsRepository;
+import com.pms.repository.RevokedTokenRepository;
+import com.pms.repository.UserRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} for an authenticated GET: token verification,
+ * revocation check, principal lookup and setting the security context. The principal cache is
+ * warm, as it is in steady state, so no database access is measured.
+ *
+ * verifiedCacheSize=0 pays the HMAC check on every request; the default size answers repeat
+ * tokens from the verified-token cache. The contended variant runs the same request from eight
+ * threads sharing one filter, as concurrent requests do, so a lock on the cache's read path
+ * shows up there. Run with {@code mvn -Pjmh test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String EMPLOYEE_CODE = "E1001";
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    @Param({"0", "1024"})
+    public int verifiedCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+
+        User user = User.builder()
+                .id(1L)
+                .employeeCode(EMPLOYEE_CODE)
+                .fullName("Benchmark User")
+                .password("")
+                .role(Role.builder().id(1L).name("PROJECT_DIRECTOR").build())
+                .build();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmployeeCode(EMPLOYEE_CODE)).thenReturn(Optional.of(user));
+        PrincipalCache principalCache = new PrincipalCache(userRepository,
+                Mockito.mock(EmployeeDetailsRepository.class), 10_000, 3600);
+        principalCache.get(EMPLOYEE_CODE);
+
+        RevokedTokenRepository revokedTokenRepository = Mockito.mock(RevokedTokenRepository.class);
+        Mockito.when(revokedTokenRepository.findByExpiresAtAfter(Mockito.any())).thenReturn(List.of());
+        TokenRevocationStore revocationStore = new TokenRevocationStore(revokedTokenRepository, 10_000);
+        revocationStore.load();
+
+        PublicEndpoints publicEndpoints = PublicEndpoints.builder().permit("/auth/**").build();
+        filter = new JwtAuthenticationFilter(jwtUtil, principalCache, publicEndpoints, revocationStore);
+        authorization = "Bearer " + jwtUtil.generateTokenFromEmployeeCode(EMPLOYEE_CODE);
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        authenticate(blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void authenticatedRequestContended(Blackhole blackhole) throws Exception {
+        authenticate(blackhole);
+    }
+
+    private void authenticate(Blackhole blackhole) throws Exception {
+        // A fresh request each time: OncePerRequestFilter marks the ones it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/project-details");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -25,6 +25,32 @@ interface Programme {
   programmeName: string;
 }
 
+// The role-management lists are keyset-paged: each request returns one page, and X-Next-Cursor,
+// when present, is the afterId of the page that follows
+const PAGE_SIZE = 50;
+
+type SortKey = 'oldest' | 'newest' | 'name';
+
+// Cursors of the pages visited so far (null for the first), plus the cursor of the next page
+interface PageState {
+  cursors: (string | null)[];
+  next: string | null;
+}
+
+const FIRST_PAGE: PageState = { cursors: [null], next: null };
+
+const fetchPage = async <T,>(url: string, label: string, sort: SortKey, cursor: string | null) => {
+  const response = await fetch(`${url}?size=${PAGE_SIZE}&sort=${sort}${cursor ? `&afterId=${cursor}` : ''}`);
+  if (!response.ok) {
+    const text = await response.text();
+    console.error(`${label} response:`, text);
+    throw new Error(`Failed to load ${label}: ${response.status}`);
+  }
+  const text = await response.text();
+  const data = text ? JSON.parse(text) : { data: [] };
+  return { items: (data.data || []) as T[], next: response.headers.get('X-Next-Cursor') };
+};
+
 export const RoleManagementPage: React.FC = () => {
   const [activeTab, setActiveTab] = useState<'pending' | 'approved'>('pending');
   const [pendingRequests, setPendingRequests] = useState<PendingRoleRequest[]>([]);
@@ -40,39 +66,49 @@ export const RoleManagementPage: React.FC = () => {
   const [rejectReason, setRejectReason] = useState('');
   const [isRejectModalOpen, setIsRejectModalOpen] = useState(false);
   const [rejectingRequestId, setRejectingRequestId] = useState<number | null>(null);
+  const [sort, setSort] = useState<SortKey>('oldest');
+  const [pendingPage, setPendingPage] = useState<PageState>(FIRST_PAGE);
+  const [approvedPage, setApprovedPage] = useState<PageState>(FIRST_PAGE);
 
   useEffect(() => {
-    loadData();
-  }, []);
+    loadData(FIRST_PAGE, FIRST_PAGE);
+  }, [sort]);
+
+  const loadPending = async (page: PageState) => {
+    const result = await fetchPage<PendingRoleRequest>(
+      '/api/admin/role-management/pending-requests', 'pending requests', sort, page.cursors[page.cursors.length - 1]);
+    setPendingRequests(result.items);
+    setPendingPage({ cursors: page.cursors, next: result.next });
+  };
+
+  const loadApproved = async (page: PageState) => {
+    const result = await fetchPage<ApprovedEmployee>(
+      '/api/admin/role-management/approved-employees', 'approved employees', sort, page.cursors[page.cursors.length - 1]);
+    setApprovedEmployees(result.items);
+    setApprovedPage({ cursors: page.cursors, next: result.next });
+  };
+
+  // Loads one list page without touching the other list
+  const changePage = async (load: (page: PageState) => Promise<void>, page: PageState) => {
+    try {
+      setLoading(true);
+      setError(null);
+      await load(page);
+    } catch (err) {
+      setError(`Failed to load data: ${err instanceof Error ? err.message : 'Unknown error'}`);
+    } finally {
+      setLoading(false);
+    }
+  };
 
-  const loadData = async () => {
+  const loadData = async (pending: PageState = pendingPage, approved: PageState = approvedPage) => {
     try {
       setLoading(true);
       setError(null);
       
-      // Load pending requests
-      const pendingResponse = await fetch('/api/admin/role-management/pending-requests');
-      if (!pendingResponse.ok) {
-        const text = await pendingResponse.text();
-        console.error('Pending requests response:', text);
-        throw new Error(`Failed to load pending requests: ${pendingResponse.status}`);
-      }
-      const pendingText = await pendingResponse.text();
-      console.log('Pending requests response text:', pendingText);
-      const pendingData = pendingText ? JSON.parse(pendingText) : { data: [] };
-      setPendingRequests(pendingData.data || []);
-
-      // Load approved employees
-      const approvedResponse = await fetch('/api/admin/role-management/approved-employees');
-      if (!approvedResponse.ok) {
-        const text = await approvedResponse.text();
-        console.error('Approved employees response:', text);
-        throw new Error(`Failed to load approved employees: ${approvedResponse.status}`);
-      }
-      const approvedText = await approvedResponse.text();
-      console.log('Approved employees response text:', approvedText);
-      const approvedData = approvedText ? JSON.parse(approvedText) : { data: [] };
-      setApprovedEmployees(approvedData.data || []);
+      // Load the current page of pending requests and of approved employees
+      await loadPending(pending);
+      await loadApproved(approved);
 
       // Load programmes
       const programmesResponse = await fetch('/api/admin/role-management/programmes');
@@ -260,6 +296,28 @@ export const RoleManagementPage: React.FC = () => {
     emp.employeeCode.toLowerCase().includes(searchTerm.toLowerCase())
   );
 
+  const renderPager = (page: PageState, load: (page: PageState) => Promise<void>) => (
+    <div className="flex items-center justify-between px-6 py-3 border-t border-gray-200 text-sm text-gray-600">
+      <span>Page {page.cursors.length}</span>
+      <div className="space-x-2">
+        <button
+          onClick={() => changePage(load, { cursors: page.cursors.slice(0, -1), next: null })}
+          disabled={loading || page.cursors.length <= 1}
+          className="px-3 py-1 border border-gray-300 rounded hover:bg-gray-50 transition-colors disabled:opacity-50"
+        >
+          Previous
+        </button>
+        <button
+          onClick={() => page.next && changePage(load, { cursors: [...page.cursors, page.next], next: null })}
+          disabled={loading || !page.next}
+          className="px-3 py-1 border border-gray-300 rounded hover:bg-gray-50 transition-colors disabled:opacity-50"
+        >
+          Next
+        </button>
+      </div>
+    </div>
+  );
+
   return (
     <div className="space-y-6">
       {/* Header */}
@@ -269,7 +327,7 @@ export const RoleManagementPage: React.FC = () => {
           <p className="text-gray-600 mt-2">Approve or reject pending role requests from new registrations</p>
         </div>
         <button
-          onClick={loadData}
+          onClick={() => loadData()}
           disabled={loading}
           className="flex items-center gap-2 px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 disabled:opacity-50 transition-colors"
         >
@@ -294,18 +352,28 @@ export const RoleManagementPage: React.FC = () => {
         </div>
       )}
 
-      {/* Search */}
-      <div className="bg-white rounded-lg border border-gray-200 p-4">
-        <div className="relative">
+      {/* Search and sort */}
+      <div className="bg-white rounded-lg border border-gray-200 p-4 flex gap-3">
+        <div className="relative flex-1">
           <Search className="absolute left-3 top-1/2 -translate-y-1/2 w-5 h-5 text-gray-400" />
           <input
             type="text"
-            placeholder="Search by name or employee code..."
+            placeholder="Filter this page by name or employee code..."
             value={searchTerm}
             onChange={(e) => setSearchTerm(e.target.value)}
             className="w-full pl-10 pr-4 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-500"
           />
         </div>
+        <select
+          value={sort}
+          onChange={(e) => setSort(e.target.value as SortKey)}
+          disabled={loading}
+          className="px-4 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-500"
+        >
+          <option value="oldest">Oldest first</option>
+          <option value="newest">Newest first</option>
+          <option value="name">Name (A-Z)</option>
+        </select>
       </div>
 
       {/* Tabs */}
@@ -319,7 +387,7 @@ export const RoleManagementPage: React.FC = () => {
           }`}
         >
           <AlertCircle className="w-4 h-4" />
-          Pending Requests ({pendingRequests.length})
+          Pending Requests
         </button>
         <button
           onClick={() => setActiveTab('approved')}
@@ -330,7 +398,7 @@ export const RoleManagementPage: React.FC = () => {
           }`}
         >
           <CheckCircle className="w-4 h-4" />
-          Approved ({approvedEmployees.length})
+          Approved
         </button>
       </div>
 
@@ -400,6 +468,7 @@ export const RoleManagementPage: React.FC = () => {
               </tbody>
             </table>
           </div>
+          {renderPager(pendingPage, loadPending)}
         </div>
       ) : (
         <div className="bg-white rounded-lg border border-gray-200 overflow-hidden">
@@ -449,6 +518,7 @@ export const RoleManagementPage: React.FC = () => {
               </tbody>
             </table>
           </div>
+          {renderPager(approvedPage, loadApproved)}
         </div>
       )}
 